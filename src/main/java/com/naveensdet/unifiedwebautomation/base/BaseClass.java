@@ -21,16 +21,15 @@ import org.testng.annotations.AfterClass;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeClass;
 import org.apache.commons.io.FileUtils;
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.time.Duration;
 import java.util.Date;
@@ -43,13 +42,21 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.naveensdet.unifiedwebautomation.utils.ConfigManager;
+import com.naveensdet.unifiedwebautomation.utils.CsvParser;
 import com.naveensdet.unifiedwebautomation.utils.DriverManager;
 import com.naveensdet.unifiedwebautomation.utils.ExtentReportManager;
+import com.naveensdet.unifiedwebautomation.utils.FailureEvidence;
 import com.naveensdet.unifiedwebautomation.utils.FrameworkException;
+import com.naveensdet.unifiedwebautomation.utils.JsonDataService;
+import com.naveensdet.unifiedwebautomation.utils.LogContext;
+import com.naveensdet.unifiedwebautomation.utils.ScreenshotService;
+import com.naveensdet.unifiedwebautomation.utils.ScreenshotStore;
+import com.naveensdet.unifiedwebautomation.utils.StepEvent;
+import com.naveensdet.unifiedwebautomation.utils.StepEventBus;
+import com.naveensdet.unifiedwebautomation.utils.TestIdentityGenerator;
 import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.annotations.BeforeMethod;
@@ -266,20 +273,18 @@ public class BaseClass {
 
 	/**
 	 * Takes a screenshot of the current browser window, saves it under the configured screenshots folder.
+	 * The file is written in the background by {@link ScreenshotService}.
 	 *
 	 * @param fileName the name of the screenshot file (without extension).
-	 * @return the path to the saved screenshot file.
+	 * @return the path to the screenshot file.
 	 */
 	public static String takeScreenshot(String fileName) {
-		// Ensure folder exists before saving
-		ensureScreenshotsFolderExists();
-		File src = ((TakesScreenshot) DriverManager.getDriver()).getScreenshotAs(OutputType.FILE);
 		String screenshotDir = getStringProperty("screenshotFolder", "screenshots");
-		String path = screenshotDir + "/" + fileName + ".png";
+		String path = ScreenshotService.fileFor(Paths.get(screenshotDir, fileName + ".png")).toString();
 		try {
-			FileUtils.copyFile(src, new File(path));
+			ScreenshotService.captureTo(DriverManager.getDriver(), Paths.get(path));
 			logger.info("Screenshot captured: {}", path);
-		} catch (IOException e) {
+		} catch (Exception e) {
 			logger.error("Failed to save screenshot: {}", path, e);
 		}
 		return path;
@@ -308,19 +313,14 @@ public class BaseClass {
 		Map<String, String> testData = new HashMap<>();
 		String dataFile = "src/test/resources/testdata/data.csv"; // Adjust path as needed
 
-		try (BufferedReader br = new BufferedReader(new FileReader(dataFile))) {
-			String headerLine = br.readLine(); // Read CSV header
-			if (headerLine == null) return testData;
-
-			String[] headers = headerLine.split(",");
-			String line;
-			while ((line = br.readLine()) != null) {
-				String[] values = line.split(",");
-				if (values.length > 0 && values[0].equalsIgnoreCase(testCaseName)) {
-					for (int i = 1; i < headers.length && i < values.length; i++) {
-						testData.put(headers[i].trim(), values[i].trim());
-					}
-					break; // Stop after finding the matching test case row
+		try {
+			// RFC-4180 aware: quoted commas and escaped quotes are handled; stops at the first match
+			Map<String, String> row = CsvParser.findRow(Paths.get(dataFile), ',', 0, testCaseName);
+			if (row != null) {
+				int column = 0;
+				for (Map.Entry<String, String> entry : row.entrySet()) {
+					if (column++ == 0) continue; // First column holds the test case name
+					testData.put(entry.getKey(), entry.getValue().trim());
 				}
 			}
 		} catch (IOException e) {
@@ -351,54 +351,25 @@ public class BaseClass {
 				message += " - " + errorDetails;
 			}
 
-			// ✅ ONLY capture screenshot on failure
-			String screenshotPath = captureFailureScreenshot(stepDescription);
-			if (screenshotPath != null) {
-				ExtentReportManager.logFailureWithScreenshot(message, screenshotPath);
-			} else {
-				logFail(message);
+			// ✅ ONLY capture screenshot on failure - taken once and shared by the report sinks
+			StepEvent event = StepEvent.message(BaseClass.class, StepEvent.Kind.FAIL, message);
+			if (DriverManager.isDriverInitialized()) {
+				event.withScreenshot(BaseClass::captureFailureScreenshot);
 			}
+			StepEventBus.publish(event);
 		} catch (Exception e) {
-			logger.error("Error in step failure logging: {}", e.getMessage());
-			logFail("❌ " + stepDescription); // Fallback without screenshot
+			logger.warn("Error in step fail logging: {}", e.getMessage());
 		}
 	}
 
 	/**
-	 * Enhanced screenshot capture with detailed debugging
+	 * Screenshot for a failure step, shared with the test-failure listener through
+	 * {@link FailureEvidence}; null when the browser cannot be captured. The step sinks mark it as
+	 * reported once they have attached it.
 	 */
-	private String captureFailureScreenshot(String stepName) {
-		try {
-			if (DriverManager.getDriver() != null) {
-				String sanitizedStepName = stepName.replaceAll("[^a-zA-Z0-9_-]", "_");
-				String timestamp = new SimpleDateFormat("HH-mm-ss-SSS").format(new Date());
-				String screenshotName = "FAILURE_" + sanitizedStepName + "_" + timestamp + ".png";
-
-				// ✅ FIXED: Save screenshots in reports/screenshots folder
-				String reportsDir = System.getProperty("user.dir") + File.separator + "reports";
-				String screenshotsDir = reportsDir + File.separator + "screenshots";
-
-				// Ensure screenshots directory exists
-				File screenshotFolder = new File(screenshotsDir);
-				if (!screenshotFolder.exists()) {
-					screenshotFolder.mkdirs();
-					logger.info("📁 Created screenshots directory: {}", screenshotsDir);
-				}
-
-				// Take and save screenshot
-				File screenshot = ((TakesScreenshot) DriverManager.getDriver()).getScreenshotAs(OutputType.FILE);
-				String fullPath = screenshotsDir + File.separator + screenshotName;
-				FileUtils.copyFile(screenshot, new File(fullPath));
-
-				logger.info("✅ Screenshot saved to: {}", fullPath);
-
-				// ✅ CRITICAL: Return RELATIVE path for ExtentReports
-				return "./screenshots/" + screenshotName;
-			}
-		} catch (Exception e) {
-			logger.warn("Could not capture failure screenshot: {}", e.getMessage());
-		}
-		return null;
+	private static byte[] captureFailureScreenshot() {
+		FailureEvidence.Evidence evidence = FailureEvidence.capture();
+		return evidence != null ? evidence.getPng() : null;
 	}
 
 
@@ -514,28 +485,16 @@ public class BaseClass {
 	 * @return a map containing key-value pairs representing JSON fields and corresponding values
 	 * @throws FrameworkException if reading the JSON file fails
 	 */
-	@SuppressWarnings("deprecation")
 	public static Map<String, String> loadTestDataFromJson(String testCaseName) {
-		Map<String, String> testData = new HashMap<>();
 		// Read JSON data file path from configuration with a default fallback
 		String dataFile = ConfigManager.getProperty("jsonDataFile", "src/test/resources/testdata/data.json");
 
-		ObjectMapper mapper = new ObjectMapper();
-
 		try {
-			JsonNode root = mapper.readTree(new File(dataFile));
-			JsonNode testCaseNode = root.get(testCaseName);
-
-			if (testCaseNode != null && testCaseNode.isObject()) {
-				// Iterate over fields (key-value pairs) in the test case JSON object
-				testCaseNode.fields().forEachRemaining(entry -> {
-					testData.put(entry.getKey(), entry.getValue().asText(""));
-				});
-			}
-		} catch (IOException e) {
+			// Streams only the requested test case object; results are cached per file
+			return new HashMap<>(JsonDataService.getTestCaseData(dataFile, testCaseName));
+		} catch (Exception e) {
 			throw new FrameworkException("Test data JSON file read failed", e);
 		}
-		return testData;
 	}
 
 	/** Masks an input string by revealing only the first two characters and replacing the rest with asterisks. */
@@ -582,6 +541,19 @@ public class BaseClass {
 		}
 	}
 
+	/**
+	 * Initializes a WebDriver for the current thread when none exists yet.
+	 * Parallel data providers run invocations on pooled threads, each needing its own session.
+	 */
+	private void ensureDriverForCurrentThread() {
+		if (!DriverManager.isDriverInitialized()) {
+			logger.info("No WebDriver bound to Thread-{} - initializing one", Thread.currentThread().getName());
+			validateConfigurationLoaded();
+			initializeDriverWithValidation();
+			navigateToBaseUrlWithValidation();
+		}
+	}
+
 	/**
 	 * VALIDATION 1: Ensure configuration is properly loaded
 	 */
@@ -688,7 +660,8 @@ public class BaseClass {
 
 
 	/**
-	 * Captures screenshot of current browser state for test documentation
+	 * Captures screenshot of current browser state for test documentation.
+	 * Only the capture runs here; decoding and the file write happen on the screenshot writer.
 	 * 
 	 * @param driver WebDriver instance for screenshot capture
 	 * @param testName Name of the test for screenshot naming
@@ -705,60 +678,29 @@ public class BaseClass {
 
 			if (testName == null || testName.trim().isEmpty()) {
 				testName = "UnknownTest";
-				logger.warn("Test name is null or empty, using default name: " + testName);
+				logger.warn("Test name is null or empty, using default name: {}", testName);
 			}
 
-			// Create and validate screenshots directory
-			String screenshotPath = createScreenshotDirectory();
-
 			// Generate unique screenshot filename
-			String screenshotFilePath = generateScreenshotFilePath(screenshotPath, testName);
-
-			// Capture screenshot
-			byte[] screenshotData = captureScreenshotData(driver);
+			String screenshotPath = System.getProperty("user.dir") + File.separator + "screenshots";
+			String screenshotFilePath = ScreenshotService.fileFor(
+					Paths.get(generateScreenshotFilePath(screenshotPath, testName))).toString();
 
-			// Save screenshot to file
-			saveScreenshotToFile(screenshotData, screenshotFilePath);
+			// Capture screenshot; the writer creates the directory and saves the file
+			ScreenshotService.write(captureScreenshotData(driver), Paths.get(screenshotFilePath));
 
-			logger.info("Screenshot captured successfully: " + screenshotFilePath);
+			logger.info("Screenshot captured successfully: {}", screenshotFilePath);
 			return screenshotFilePath;
 
 		} catch (FrameworkException e) {
-			logger.error("Framework exception during screenshot capture: " + e.getMessage(), e);
+			logger.error("Framework exception during screenshot capture: {}", e.getMessage(), e);
 			throw e;
 		} catch (Exception e) {
-			logger.error("Unexpected error during screenshot capture: " + e.getMessage(), e);
+			logger.error("Unexpected error during screenshot capture: {}", e.getMessage(), e);
 			throw new FrameworkException("Screenshot capture failed for test: " + testName, e);
 		}
 	}
 
-	/**
-	 * Creates screenshots directory if it doesn't exist
-	 * 
-	 * @return String path to screenshots directory
-	 * @throws FrameworkException if directory creation fails
-	 */
-	private String createScreenshotDirectory() {
-		try {
-			String screenshotsDir = System.getProperty("user.dir") + File.separator + "screenshots";
-			File directory = new File(screenshotsDir);
-
-			if (!directory.exists()) {
-				boolean created = directory.mkdirs();
-				if (!created) {
-					throw new FrameworkException("Failed to create screenshots directory: " + screenshotsDir);
-				}
-				logger.info("Created screenshots directory: " + screenshotsDir);
-			}
-
-			return screenshotsDir;
-
-		} catch (Exception e) {
-			logger.error("Error creating screenshots directory: " + e.getMessage(), e);
-			throw new FrameworkException("Screenshots directory creation failed", e);
-		}
-	}
-
 	/**
 	 * Generates unique screenshot file path with timestamp
 	 * 
@@ -775,7 +717,7 @@ public class BaseClass {
 			return screenshotsDir + File.separator + screenshotName;
 
 		} catch (Exception e) {
-			logger.error("Error generating screenshot file path: " + e.getMessage(), e);
+			logger.error("Error generating screenshot file path: {}", e.getMessage(), e);
 			throw new FrameworkException("Screenshot file path generation failed", e);
 		}
 	}
@@ -784,41 +726,19 @@ public class BaseClass {
 	 * Captures screenshot data from WebDriver
 	 * 
 	 * @param driver WebDriver instance
-	 * @return byte array containing screenshot data
+	 * @return Base64 string containing screenshot data (decoded by the screenshot writer)
 	 * @throws FrameworkException if screenshot data capture fails
 	 */
-	private byte[] captureScreenshotData(WebDriver driver) {
+	private String captureScreenshotData(WebDriver driver) {
 		try {
-			TakesScreenshot takesScreenshot = (TakesScreenshot) driver;
-			return takesScreenshot.getScreenshotAs(OutputType.BYTES);
+			return ScreenshotService.capture(driver);
 
 		} catch (Exception e) {
-			logger.error("Error capturing screenshot data: " + e.getMessage(), e);
+			logger.error("Error capturing screenshot data: {}", e.getMessage(), e);
 			throw new FrameworkException("Screenshot data capture failed", e);
 		}
 	}
 
-	/**
-	 * Saves screenshot data to specified file path
-	 * 
-	 * @param screenshotData Screenshot data as byte array
-	 * @param filePath Target file path for saving screenshot
-	 * @throws FrameworkException if file save operation fails
-	 */
-	private void saveScreenshotToFile(byte[] screenshotData, String filePath) {
-		try {
-			if (screenshotData == null || screenshotData.length == 0) {
-				throw new FrameworkException("Screenshot data is null or empty");
-			}
-
-			FileUtils.writeByteArrayToFile(new File(filePath), screenshotData);
-
-		} catch (Exception e) {
-			logger.error("Error saving screenshot to file: " + e.getMessage(), e);
-			throw new FrameworkException("Screenshot file save failed", e);
-		}
-	}
-
 	/**
 	 * Logs action start to both logger and Extent Report
 	 * 
@@ -826,13 +746,9 @@ public class BaseClass {
 	 * @param elementName Name of the element being acted upon
 	 */
 	public static void logActionStart(String action, String elementName) {
-		try {
-			String message = "🔄 " + action + " on " + elementName;
-			logger.info(message);
-			ExtentReportManager.logInfo(message);
-		} catch (Exception e) {
-			logger.info("🔄 {} on {}", action, elementName);
-		}
+		// The page is about to change - a later failure needs a fresh screenshot
+		FailureEvidence.invalidate();
+		StepEventBus.publish(StepEvent.actionStarted(BaseClass.class, action, elementName));
 	}
 
 	/**
@@ -842,13 +758,7 @@ public class BaseClass {
 	 * @param elementName Name of the element that was acted upon
 	 */
 	public static void logActionSuccess(String action, String elementName) {
-		try {
-			String message = "✅ Successfully " + action.toLowerCase() + " on " + elementName;
-			logger.info(message);
-			ExtentReportManager.logPass(message);
-		} catch (Exception e) {
-			logger.info("✅ Successfully {} on {}", action.toLowerCase(), elementName);
-		}
+		StepEventBus.publish(StepEvent.actionPassed(BaseClass.class, action, elementName));
 	}
 
 	/**
@@ -859,13 +769,7 @@ public class BaseClass {
 	 * @param error Error message or exception details
 	 */
 	public static void logActionFailure(String action, String elementName, String error) {
-		try {
-			String message = "❌ Failed to " + action.toLowerCase() + " on " + elementName + ": " + error;
-			logger.error(message);
-			ExtentReportManager.logFail(message);
-		} catch (Exception e) {
-			logger.error("❌ Failed to {} on {}: {}", action.toLowerCase(), elementName, error);
-		}
+		StepEventBus.publish(StepEvent.actionFailed(BaseClass.class, action, elementName, error));
 	}
 
 	// Add to your BaseClass.java
@@ -903,26 +807,7 @@ public class BaseClass {
 	 * @param throwable The exception/throwable that caused the failure
 	 */
 	public static void logActionFailure(String action, String elementName, Throwable throwable) {
-		try {
-			String message = "Failed to " + action.toLowerCase() + " on " + elementName;
-
-			// Log to console/file with throwable details
-			if (throwable != null) {
-				logger.error("{} - Error: {}", message, throwable.getMessage(), throwable);
-			} else {
-				logger.error(message);
-			}
-
-			// Log to ExtentReports with detailed failure message
-			String extentMessage = throwable != null ? 
-					message + " - Error: " + throwable.getMessage() : 
-						message;
-
-			ExtentReportManager.logFail(extentMessage);
-
-		} catch (Exception e) {
-			logger.warn("Failed to log action failure: " + e.getMessage());
-		}
+		StepEventBus.publish(StepEvent.actionFailed(BaseClass.class, action, elementName, throwable));
 	}
 
 	/** 
@@ -1009,9 +894,14 @@ public class BaseClass {
 			String className = this.getClass().getSimpleName();
 			String methodName = method.getName();
 			String testName = className + "." + methodName;
+			LogContext.bind(testName);
+			FailureEvidence.invalidate();
 
 			String testDescription = getTestDescription(method);
 
+			// Data provider worker threads do not run @BeforeClass - give them their own browser
+			ensureDriverForCurrentThread();
+
 			ExtentTest test = ExtentReportManager.createTest(testName, testDescription);
 
 			// Start performance tracking
@@ -1065,8 +955,12 @@ public class BaseClass {
 			logger.error("❌ Error during test cleanup on Thread-{}: {}", threadId, e.getMessage(), e);
 		} finally {
 			try {
+				ExtentReportManager.completeTest();
 				ExtentReportManager.removeTest();
 				logger.debug("ThreadLocal ExtentTest removed for Thread-{}", threadId);
+				TestIdentityGenerator.clearIdentity();
+				LogContext.clear();
+				FailureEvidence.invalidate();
 			} catch (Exception cleanupException) {
 				logger.warn("Warning during ThreadLocal cleanup on Thread-{}: {}", 
 						threadId, cleanupException.getMessage());
@@ -1143,48 +1037,23 @@ public class BaseClass {
 	// ================================
 
 	public void logInfo(String message) {
-		try {
-			ExtentReportManager.logInfo(message);
-			logger.info(message);
-		} catch (Exception e) {
-			logger.info(message);
-		}
+		StepEventBus.publish(StepEvent.message(BaseClass.class, StepEvent.Kind.INFO, message));
 	}
 
 	public void logPass(String message) {
-		try {
-			ExtentReportManager.logPass(message);
-			logger.info("PASS: {}", message);
-		} catch (Exception e) {
-			logger.info("PASS: {}", message);
-		}
+		StepEventBus.publish(StepEvent.message(BaseClass.class, StepEvent.Kind.PASS, message));
 	}
 
 	public void logFail(String message) {
-		try {
-			ExtentReportManager.logFail(message);
-			logger.error("FAIL: {}", message);
-		} catch (Exception e) {
-			logger.error("FAIL: {}", message);
-		}
+		StepEventBus.publish(StepEvent.message(BaseClass.class, StepEvent.Kind.FAIL, message));
 	}
 
 	public void logWarning(String message) {
-		try {
-			ExtentReportManager.logWarning(message);
-			logger.warn("WARNING: {}", message);
-		} catch (Exception e) {
-			logger.warn("WARNING: {}", message);
-		}
+		StepEventBus.publish(StepEvent.message(BaseClass.class, StepEvent.Kind.WARNING, message));
 	}
 
 	public void logSkip(String message) {
-		try {
-			ExtentReportManager.logSkip(message);
-			logger.info("SKIP: {}", message);
-		} catch (Exception e) {
-			logger.info("SKIP: {}", message);
-		}
+		StepEventBus.publish(StepEvent.message(BaseClass.class, StepEvent.Kind.SKIP, message));
 	}
 
 	public void logTestStep(String stepDescription) {
@@ -7,13 +7,13 @@ import org.openqa.selenium.support.ui.FluentWait;
 import com.naveensdet.unifiedwebautomation.base.BaseClass;
 import com.naveensdet.unifiedwebautomation.utils.DriverManager;
 import com.naveensdet.unifiedwebautomation.utils.FrameworkException;
+import com.naveensdet.unifiedwebautomation.utils.ScreenshotService;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.Set;
 import java.util.List;
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -560,16 +560,13 @@ public class BrowserKeywords {
 		try {
 			BaseClass.logActionStart("Taking screenshot and saving to '" + filePath + "'", "Browser Screenshot");
 
-			TakesScreenshot ts = (TakesScreenshot) driver;
-			File srcFile = ts.getScreenshotAs(OutputType.FILE);
-			Path dest = Paths.get(filePath);
-			Files.createDirectories(dest.getParent());
-			Files.copy(srcFile.toPath(), dest);
+			// Capture only - the screenshot writer decodes and saves the file
+			ScreenshotService.captureTo(driver, Paths.get(filePath));
 			logger.info("Screenshot saved to {}", filePath);
 
 			BaseClass.logActionSuccess("Screenshot saved to '" + filePath + "'", "Browser Screenshot");
 
-		} catch (IOException | WebDriverException e) {
+		} catch (WebDriverException e) {
 			logger.error("Failed to save screenshot to {}", filePath, e);
 			BaseClass.logActionFailure("Take screenshot", "Browser Screenshot", "Failed to save screenshot to '" + filePath + "': " + e.getMessage());
 			throw new FrameworkException("Failed to save screenshot to " + filePath, e);
@@ -633,7 +633,7 @@ public class ClickKeywords {
 
 		} catch (IndexOutOfBoundsException e) {
 			String errorMsg = "Index " + index + " is out of bounds for elements list size.";
-			logger.error(errorMsg + " Element: [{}]", elementName, e);
+			logger.error("{} Element: [{}]", errorMsg, elementName, e);
 			BaseClass.logActionFailure("Click by index", elementName, errorMsg);
 			throw new FrameworkException(errorMsg + " Element: " + elementName, e);
 		} catch (Exception e) {
@@ -1,10 +1,15 @@
 package com.naveensdet.unifiedwebautomation.keywords;
 
 import com.naveensdet.unifiedwebautomation.base.BaseClass;
+import com.naveensdet.unifiedwebautomation.utils.CsvParser;
 import com.naveensdet.unifiedwebautomation.utils.FrameworkException;
+import com.naveensdet.unifiedwebautomation.utils.JsonDataService;
+import com.naveensdet.unifiedwebautomation.utils.StreamingExcelWriter;
+import com.naveensdet.unifiedwebautomation.utils.TestIdentityGenerator;
 import java.io.*;
 import java.nio.file.*;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -87,7 +92,7 @@ public class DataHandlingKeywords {
 			}
 
 		} catch (IOException e) {
-			logger.error("Failed to read Excel file: " + filePath, e);
+			logger.error("Failed to read Excel file: {}", filePath, e);
 			BaseClass.logActionFailure("Read Excel sheet", "Excel Data", "IO error reading file '" + filePath + "': " + e.getMessage());
 			throw new FrameworkException("Failed to read Excel file: " + filePath, e);
 		} catch (Exception e) {
@@ -115,47 +120,83 @@ public class DataHandlingKeywords {
 		try {
 			BaseClass.logActionStart("Writing " + data.size() + " rows to Excel sheet '" + sheetName + "' in file '" + filePath + "'", "Excel Data");
 
-			try (Workbook workbook = new XSSFWorkbook()) {
+			// Streamed through SXSSF so large result matrices do not hold every row in memory
+			List<String> headers = new ArrayList<>(data.get(0).keySet());
+			try (StreamingExcelWriter writer = new StreamingExcelWriter(filePath, sheetName, headers, StreamingExcelWriter.DEFAULT_ROW_WINDOW)) {
+				writer.appendRows(data.iterator());
+			}
 
-				Sheet sheet = workbook.createSheet(sheetName);
+			logger.info("Wrote {} rows to Excel sheet '{}' in file {}", data.size(), sheetName, filePath);
+			BaseClass.logActionSuccess("Wrote " + data.size() + " rows to Excel sheet '" + sheetName + "'", "Excel Data");
 
-				// Create header row
-				Row headerRow = sheet.createRow(0);
-				List<String> headers = new ArrayList<>(data.get(0).keySet());
-				for (int i = 0; i < headers.size(); i++) {
-					Cell cell = headerRow.createCell(i);
-					cell.setCellValue(headers.get(i));
-				}
+		} catch (IOException e) {
+			logger.error("Failed to write Excel file: {}", filePath, e);
+			BaseClass.logActionFailure("Write Excel sheet", "Excel Data", "IO error writing file '" + filePath + "': " + e.getMessage());
+			throw new FrameworkException("Failed to write Excel file: " + filePath, e);
+		} catch (Exception e) {
+			BaseClass.logActionFailure("Write Excel sheet", "Excel Data", "Failed to write Excel sheet: " + e.getMessage());
+			throw new FrameworkException("Failed to write Excel sheet", e);
+		}
+	}
 
-				// Create data rows
-				for (int i = 0; i < data.size(); i++) {
-					Row row = sheet.createRow(i + 1);
-					Map<String, String> rowData = data.get(i);
-					for (int j = 0; j < headers.size(); j++) {
-						Cell cell = row.createCell(j);
-						cell.setCellValue(rowData.get(headers.get(j)));
-					}
-				}
+	/**
+	 * Streams rows into an Excel sheet keeping only a bounded window of rows in memory.
+	 *
+	 * @param filePath  Absolute path to Excel (.xlsx) file.
+	 * @param sheetName Name of the sheet to write (file is overwritten).
+	 * @param headers   Column headers, in output order.
+	 * @param rows      Rows to write; consumed lazily.
+	 * @param rowWindow Rows kept in memory before flushing to disk.
+	 * @return Number of rows written.
+	 */
+	public long writeExcelSheetStreaming(String filePath, String sheetName, List<String> headers,
+			Iterator<Map<String, String>> rows, int rowWindow) {
+		validateInput(filePath, "Excel File Path");
+		validateInput(sheetName, "Sheet Name");
+		if (rows == null) {
+			BaseClass.logActionFailure("Write Excel sheet", "Excel Data", "Row iterator for Excel writing is null");
+			throw new FrameworkException("Row iterator for Excel writing is null");
+		}
 
-				// Write to file
-				try (FileOutputStream fos = new FileOutputStream(filePath)) {
-					workbook.write(fos);
-				}
+		try {
+			BaseClass.logActionStart("Streaming rows to Excel sheet '" + sheetName + "' in file '" + filePath + "'", "Excel Data");
 
-				logger.info("Wrote {} rows to Excel sheet '{}' in file {}", data.size(), sheetName, filePath);
-				BaseClass.logActionSuccess("Wrote " + data.size() + " rows to Excel sheet '" + sheetName + "'", "Excel Data");
+			long count;
+			try (StreamingExcelWriter writer = new StreamingExcelWriter(filePath, sheetName, headers, rowWindow)) {
+				count = writer.appendRows(rows);
 			}
 
+			logger.info("Streamed {} rows to Excel sheet '{}' in file {}", count, sheetName, filePath);
+			BaseClass.logActionSuccess("Streamed " + count + " rows to Excel sheet '" + sheetName + "'", "Excel Data");
+			return count;
+
 		} catch (IOException e) {
-			logger.error("Failed to write Excel file: " + filePath, e);
+			logger.error("Failed to write Excel file: {}", filePath, e);
 			BaseClass.logActionFailure("Write Excel sheet", "Excel Data", "IO error writing file '" + filePath + "': " + e.getMessage());
 			throw new FrameworkException("Failed to write Excel file: " + filePath, e);
 		} catch (Exception e) {
-			BaseClass.logActionFailure("Write Excel sheet", "Excel Data", "Failed to write Excel sheet: " + e.getMessage());
-			throw new FrameworkException("Failed to write Excel sheet", e);
+			BaseClass.logActionFailure("Write Excel sheet", "Excel Data", "Failed to stream Excel sheet: " + e.getMessage());
+			throw new FrameworkException("Failed to stream Excel sheet", e);
 		}
 	}
 
+	/**
+	 * Opens an Excel writer for appending rows incrementally (e.g. as tests finish).
+	 * The caller must close it; the file is written on close.
+	 *
+	 * @param filePath  Absolute path to Excel (.xlsx) file.
+	 * @param sheetName Name of the sheet to write.
+	 * @param headers   Column headers, in output order.
+	 * @param rowWindow Rows kept in memory before flushing to disk.
+	 * @return Thread-safe streaming writer.
+	 */
+	public StreamingExcelWriter openExcelWriter(String filePath, String sheetName, List<String> headers, int rowWindow) {
+		validateInput(filePath, "Excel File Path");
+		validateInput(sheetName, "Sheet Name");
+		logger.info("Opened streaming Excel writer for sheet '{}' in file {}", sheetName, filePath);
+		return new StreamingExcelWriter(filePath, sheetName, headers, rowWindow);
+	}
+
 	// === CSV Handling ===
 
 	/**
@@ -171,25 +212,15 @@ public class DataHandlingKeywords {
 		try {
 			BaseClass.logActionStart("Reading CSV file '" + filePath + "' with delimiter '" + delimiter + "'", "CSV Data");
 
-			try (BufferedReader br = Files.newBufferedReader(Paths.get(filePath))) {
-				String headerLine = br.readLine();
-				if (headerLine == null) {
+			try (CsvParser parser = CsvParser.open(Paths.get(filePath), delimiter)) {
+				String[] headers = parser.readHeader();
+				if (headers.length == 0) {
 					BaseClass.logActionFailure("Read CSV file", "CSV Data", "Empty CSV file: " + filePath);
 					throw new FrameworkException("Empty CSV file: " + filePath);
 				}
 
-				String[] headers = headerLine.split(Character.toString(delimiter));
 				List<Map<String, String>> data = new ArrayList<>();
-				String line;
-
-				while ((line = br.readLine()) != null) {
-					String[] values = line.split(Character.toString(delimiter), -1);
-					Map<String, String> row = new LinkedHashMap<>();
-					for (int i = 0; i < headers.length; i++) {
-						row.put(headers[i], i < values.length ? values[i] : "");
-					}
-					data.add(row);
-				}
+				parser.rows().forEachRemaining(data::add);
 
 				logger.info("Read {} rows from CSV file {}", data.size(), filePath);
 				BaseClass.logActionSuccess("Read " + data.size() + " rows from CSV file", "CSV Data");
@@ -197,7 +228,7 @@ public class DataHandlingKeywords {
 			}
 
 		} catch (IOException e) {
-			logger.error("Failed to read CSV file: " + filePath, e);
+			logger.error("Failed to read CSV file: {}", filePath, e);
 			BaseClass.logActionFailure("Read CSV file", "CSV Data", "IO error reading file '" + filePath + "': " + e.getMessage());
 			throw new FrameworkException("Failed to read CSV file: " + filePath, e);
 		} catch (Exception e) {
@@ -206,6 +237,72 @@ public class DataHandlingKeywords {
 		}
 	}
 
+	/**
+	 * Streams a CSV file row by row to the given callback without holding the file in memory.
+	 *
+	 * @param filePath    Absolute path to CSV file.
+	 * @param delimiter   The delimiter used in CSV (e.g., ',').
+	 * @param rowCallback Receives each row as a Map (header to value).
+	 * @return Number of data rows processed.
+	 */
+	public long streamCSV(String filePath, char delimiter, Consumer<Map<String, String>> rowCallback) {
+		validateInput(filePath, "CSV File Path");
+		if (rowCallback == null) {
+			throw new FrameworkException("CSV row callback cannot be null");
+		}
+
+		try {
+			BaseClass.logActionStart("Streaming CSV file '" + filePath + "' with delimiter '" + delimiter + "'", "CSV Data");
+
+			long start = System.nanoTime();
+			long count = CsvParser.forEachRow(Paths.get(filePath), delimiter, rowCallback);
+			long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+			logger.info("Streamed {} rows from CSV file {} in {} ms", count, filePath, elapsedMs);
+			BaseClass.logActionSuccess("Streamed " + count + " rows from CSV file", "CSV Data");
+			return count;
+
+		} catch (IOException e) {
+			logger.error("Failed to stream CSV file: {}", filePath, e);
+			BaseClass.logActionFailure("Stream CSV file", "CSV Data", "IO error reading file '" + filePath + "': " + e.getMessage());
+			throw new FrameworkException("Failed to stream CSV file: " + filePath, e);
+		} catch (Exception e) {
+			BaseClass.logActionFailure("Stream CSV file", "CSV Data", "Failed to stream CSV file: " + e.getMessage());
+			throw new FrameworkException("Failed to stream CSV file", e);
+		}
+	}
+
+	/**
+	 * Loads a CSV file into an index for repeated lookups by a key column.
+	 *
+	 * @param filePath  Absolute path to CSV file.
+	 * @param delimiter The delimiter used in CSV (e.g., ',').
+	 * @param keyColumn Header of the column used as lookup key.
+	 * @return Index supporting get(key) lookups.
+	 */
+	public CsvParser.Index indexCSV(String filePath, char delimiter, String keyColumn) {
+		validateInput(filePath, "CSV File Path");
+		validateInput(keyColumn, "Key Column");
+
+		try {
+			BaseClass.logActionStart("Indexing CSV file '" + filePath + "' by column '" + keyColumn + "'", "CSV Data");
+
+			CsvParser.Index index = CsvParser.index(Paths.get(filePath), delimiter, keyColumn);
+
+			logger.info("Indexed {} rows from CSV file {} by '{}'", index.size(), filePath, keyColumn);
+			BaseClass.logActionSuccess("Indexed " + index.size() + " rows from CSV file", "CSV Data");
+			return index;
+
+		} catch (IOException e) {
+			logger.error("Failed to index CSV file: {}", filePath, e);
+			BaseClass.logActionFailure("Index CSV file", "CSV Data", "IO error reading file '" + filePath + "': " + e.getMessage());
+			throw new FrameworkException("Failed to index CSV file: " + filePath, e);
+		} catch (Exception e) {
+			BaseClass.logActionFailure("Index CSV file", "CSV Data", "Failed to index CSV file: " + e.getMessage());
+			throw new FrameworkException("Failed to index CSV file", e);
+		}
+	}
+
 	/**
 	 * Writes data to a CSV file from a List of Maps.
 	 *
@@ -226,14 +323,14 @@ public class DataHandlingKeywords {
 
 			try (BufferedWriter bw = Files.newBufferedWriter(Paths.get(filePath))) {
 				List<String> headers = new ArrayList<>(data.get(0).keySet());
-				bw.write(headers.stream().collect(Collectors.joining(Character.toString(delimiter))));
+				bw.write(CsvParser.formatRecord(headers, delimiter));
 				bw.newLine();
 
 				for (Map<String, String> row : data) {
-					String line = headers.stream()
+					List<String> values = headers.stream()
 							.map(h -> Optional.ofNullable(row.get(h)).orElse(""))
-							.collect(Collectors.joining(Character.toString(delimiter)));
-					bw.write(line);
+							.collect(Collectors.toList());
+					bw.write(CsvParser.formatRecord(values, delimiter));
 					bw.newLine();
 				}
 
@@ -242,7 +339,7 @@ public class DataHandlingKeywords {
 			}
 
 		} catch (IOException e) {
-			logger.error("Failed to write CSV file: " + filePath, e);
+			logger.error("Failed to write CSV file: {}", filePath, e);
 			BaseClass.logActionFailure("Write CSV file", "CSV Data", "IO error writing file '" + filePath + "': " + e.getMessage());
 			throw new FrameworkException("Failed to write CSV file: " + filePath, e);
 		} catch (Exception e) {
@@ -253,7 +350,7 @@ public class DataHandlingKeywords {
 
 	// === JSON Handling ===
 
-	private static final ObjectMapper objectMapper = new ObjectMapper();
+	private static final ObjectMapper objectMapper = JsonDataService.getMapper();
 
 	/**
 	 * Reads a JSON file and returns it as a JsonNode tree.
@@ -267,14 +364,14 @@ public class DataHandlingKeywords {
 		try {
 			BaseClass.logActionStart("Reading JSON file '" + filePath + "'", "JSON Data");
 
-			JsonNode root = objectMapper.readTree(new File(filePath));
+			JsonNode root = JsonDataService.readTree(filePath);
 			logger.info("Read JSON file {}", filePath);
 
 			BaseClass.logActionSuccess("Read JSON file successfully", "JSON Data");
 			return root;
 
 		} catch (IOException e) {
-			logger.error("Failed to read JSON file: " + filePath, e);
+			logger.error("Failed to read JSON file: {}", filePath, e);
 			BaseClass.logActionFailure("Read JSON file", "JSON Data", "IO error reading file '" + filePath + "': " + e.getMessage());
 			throw new FrameworkException("Failed to read JSON file: " + filePath, e);
 		} catch (Exception e) {
@@ -305,7 +402,7 @@ public class DataHandlingKeywords {
 			BaseClass.logActionSuccess("Wrote JSON file successfully", "JSON Data");
 
 		} catch (IOException e) {
-			logger.error("Failed to write JSON file: " + filePath, e);
+			logger.error("Failed to write JSON file: {}", filePath, e);
 			BaseClass.logActionFailure("Write JSON file", "JSON Data", "IO error writing file '" + filePath + "': " + e.getMessage());
 			throw new FrameworkException("Failed to write JSON file: " + filePath, e);
 		} catch (Exception e) {
@@ -317,7 +414,8 @@ public class DataHandlingKeywords {
 	// === Utility Methods ===
 
 	/**
-	 * Parses a JSON file and returns a value for the given JSON Pointer expression.
+	 * Returns a value for the given JSON Pointer expression.
+	 * The file is streamed up to the matching node and the result is cached per file.
 	 *
 	 * @param filePath      Absolute path to JSON file.
 	 * @param jsonPointer   JSON Pointer expression (e.g., "/data/user/name").
@@ -330,8 +428,7 @@ public class DataHandlingKeywords {
 		try {
 			BaseClass.logActionStart("Reading JSON Pointer value '" + jsonPointer + "' from file '" + filePath + "'", "JSON Data");
 
-			JsonNode root = readJSON(filePath);
-			JsonNode node = root.at(jsonPointer);
+			JsonNode node = JsonDataService.readPointer(filePath, jsonPointer);
 
 			if (node.isMissingNode() || node.isNull()) {
 				logger.info("JSON Pointer '{}' not found in file {}", jsonPointer, filePath);
@@ -369,7 +466,7 @@ public class DataHandlingKeywords {
 			return lines;
 
 		} catch (IOException e) {
-			logger.error("Failed to read text file: " + filePath, e);
+			logger.error("Failed to read text file: {}", filePath, e);
 			BaseClass.logActionFailure("Read text file lines", "Text File Data", "IO error reading file '" + filePath + "': " + e.getMessage());
 			throw new FrameworkException("Failed to read text file: " + filePath, e);
 		} catch (Exception e) {
@@ -400,7 +497,7 @@ public class DataHandlingKeywords {
 			BaseClass.logActionSuccess("Wrote " + lines.size() + " lines to text file", "Text File Data");
 
 		} catch (IOException e) {
-			logger.error("Failed to write text file: " + filePath, e);
+			logger.error("Failed to write text file: {}", filePath, e);
 			BaseClass.logActionFailure("Write text file lines", "Text File Data", "IO error writing file '" + filePath + "': " + e.getMessage());
 			throw new FrameworkException("Failed to write text file: " + filePath, e);
 		} catch (Exception e) {
@@ -408,4 +505,50 @@ public class DataHandlingKeywords {
 			throw new FrameworkException("Failed to write text file", e);
 		}
 	}
+
+	// === Test Identity ===
+
+	/**
+	 * Returns the unique identity (email, name, phone) of the test running on this thread.
+	 * The same identity is returned until the test finishes, so values entered at signup can be verified later.
+	 *
+	 * @return Current test identity.
+	 */
+	public TestIdentityGenerator.Identity getTestIdentity() {
+		TestIdentityGenerator.Identity identity = TestIdentityGenerator.currentIdentity();
+		logger.info("Using test identity: {}", identity.getEmail());
+		return identity;
+	}
+
+	/**
+	 * Generates a fresh unique email address (independent of the current test identity).
+	 *
+	 * @return Unique email address.
+	 */
+	public String generateUniqueEmail() {
+		String email = TestIdentityGenerator.uniqueEmail();
+		logger.info("Generated unique email: {}", email);
+		return email;
+	}
+
+	/**
+	 * Generates a fresh unique 10-digit phone number.
+	 *
+	 * @return Unique phone number.
+	 */
+	public String generateUniquePhone() {
+		String phone = TestIdentityGenerator.uniquePhone();
+		logger.info("Generated unique phone: {}", phone);
+		return phone;
+	}
+
+	/**
+	 * Resolves identity placeholders such as {{email}}, {{name}}, {{phone}} or {{seq}} in a value.
+	 *
+	 * @param template Value possibly containing placeholders.
+	 * @return Resolved value.
+	 */
+	public String resolveTestData(String template) {
+		return TestIdentityGenerator.resolve(template);
+	}
 }
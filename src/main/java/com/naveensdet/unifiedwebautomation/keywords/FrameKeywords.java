@@ -4,6 +4,7 @@ import com.naveensdet.unifiedwebautomation.base.BaseClass;
 import com.naveensdet.unifiedwebautomation.utils.DriverManager;
 import com.naveensdet.unifiedwebautomation.utils.ExcelUtilities;
 import com.naveensdet.unifiedwebautomation.utils.FrameworkException;
+import com.naveensdet.unifiedwebautomation.utils.TestIdentityGenerator;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.FluentWait;
 import org.slf4j.Logger;
@@ -58,7 +59,7 @@ public class FrameKeywords {
 	 */
 	private String getInputValue(String testName, String inputValueOrKey, String elementName, boolean excelData) {
 		if (!excelData) {
-			return inputValueOrKey;
+			return TestIdentityGenerator.resolve(inputValueOrKey);
 		}
 		String excelValue = ExcelUtilities.getData(testName, inputValueOrKey);
 		if (excelValue == null || excelValue.trim().isEmpty()) {
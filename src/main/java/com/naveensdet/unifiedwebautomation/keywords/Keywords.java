@@ -7,13 +7,19 @@ import org.openqa.selenium.Cookie;
 import org.openqa.selenium.Keys;
 import org.openqa.selenium.WebDriver;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.naveensdet.unifiedwebautomation.utils.CsvParser;
 import com.naveensdet.unifiedwebautomation.utils.ScreenshotUtility;
+import com.naveensdet.unifiedwebautomation.utils.StreamingExcelWriter;
+import com.naveensdet.unifiedwebautomation.utils.TestIdentityGenerator;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.nio.file.Path;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 
@@ -40,6 +46,7 @@ public class Keywords {
 	private final WaitKeywords waitKeywords;
 	private final MouseKeyboardKeywords mouseKeyboardKeywords;
 	private final SelectKeywords selectKeywords;
+	private final VisualKeywords visualKeywords;
 
 	/** Constructor initializes all keyword class instances. */
 	public Keywords() {
@@ -59,6 +66,7 @@ public class Keywords {
 		this.waitKeywords = new WaitKeywords();
 		this.mouseKeyboardKeywords = new MouseKeyboardKeywords();
 		this.selectKeywords = new SelectKeywords();
+		this.visualKeywords = new VisualKeywords();
 
 		logger.info("ALL keyword classes initialized in unified facade - COMPLETE IMPLEMENTATION");
 	}
@@ -1346,6 +1354,18 @@ public class Keywords {
 		screenshotKeywords.takeElementScreenshot(xpath, filePath, timeoutSeconds);
 	}
 
+	/**
+	 * Takes screenshots of several elements from one page capture, cropped locally in parallel.
+	 *
+	 * @param xpathToFilePath XPath of each element and the absolute file path for its screenshot.
+	 * @param timeoutSeconds Time to wait for all elements to be present.
+	 * @return Written file path by XPath.
+	 * @throws FrameworkException if an element is not found or the capture fails.
+	 */
+	public Map<String, String> takeElementScreenshots(Map<String, String> xpathToFilePath, int timeoutSeconds) {
+		return screenshotKeywords.takeElementScreenshots(xpathToFilePath, timeoutSeconds);
+	}
+
 	/**
 	 * Takes a screenshot of the visible viewport (browser window).
 	 *
@@ -1411,6 +1431,18 @@ public class Keywords {
 		return screenshotKeywords.getElementScreenshotAsBase64(xpath, timeoutSeconds);
 	}
 
+	/**
+	 * Takes screenshots of several elements from one page capture and returns them as Base64 PNGs.
+	 *
+	 * @param xpaths XPath locators of the elements.
+	 * @param timeoutSeconds Time to wait for all elements to be present.
+	 * @return Base64 PNG by XPath.
+	 * @throws FrameworkException if an element is not found or the capture fails.
+	 */
+	public Map<String, String> getElementScreenshotsAsBase64(List<String> xpaths, int timeoutSeconds) {
+		return screenshotKeywords.getElementScreenshotsAsBase64(xpaths, timeoutSeconds);
+	}
+
 	/**
 	 * Takes a screenshot of the visible viewport and returns as byte array.
 	 *
@@ -1421,6 +1453,30 @@ public class Keywords {
 		return screenshotKeywords.getViewportScreenshotAsBytes();
 	}
 
+	// ========================================
+	// VISUAL VERIFICATION OPERATIONS
+	// ========================================
+
+	/** Verifies the visible page matches its stored baseline (created on first run). */
+	public void verifyPageMatchesBaseline(String baselineName) {
+		visualKeywords.verifyPageMatchesBaseline(baselineName);
+	}
+
+	/** Verifies the visible page matches its baseline, leaving out the given regions (screenshot pixels). */
+	public void verifyPageMatchesBaseline(String baselineName, List<Rectangle> ignoreRegions) {
+		visualKeywords.verifyPageMatchesBaseline(baselineName, ignoreRegions);
+	}
+
+	/** Verifies the visible page matches its baseline, leaving out the elements found by the XPaths. */
+	public void verifyPageMatchesBaselineIgnoring(String baselineName, String... ignoreXpaths) {
+		visualKeywords.verifyPageMatchesBaselineIgnoring(baselineName, ignoreXpaths);
+	}
+
+	/** Verifies an element matches its stored baseline (created on first run). */
+	public void verifyElementMatchesBaseline(String xpath, String elementName, String baselineName, int timeoutSeconds) {
+		visualKeywords.verifyElementMatchesBaseline(xpath, elementName, baselineName, timeoutSeconds);
+	}
+
 
 	// ========================================
 	// DATA HANDLING KEYWORDS - ALL METHODS
@@ -1452,6 +1508,34 @@ public class Keywords {
 		dataHandlingKeywords.writeExcelSheet(filePath, sheetName, data);
 	}
 
+	/**
+	 * Streams rows into an Excel sheet keeping only a bounded window of rows in memory.
+	 *
+	 * @param filePath  Absolute path to Excel (.xlsx) file.
+	 * @param sheetName Name of the sheet to write (file is overwritten).
+	 * @param headers   Column headers, in output order.
+	 * @param rows      Rows to write; consumed lazily.
+	 * @param rowWindow Rows kept in memory before flushing to disk.
+	 * @return Number of rows written.
+	 */
+	public long writeExcelSheetStreaming(String filePath, String sheetName, List<String> headers,
+			Iterator<Map<String, String>> rows, int rowWindow) {
+		return dataHandlingKeywords.writeExcelSheetStreaming(filePath, sheetName, headers, rows, rowWindow);
+	}
+
+	/**
+	 * Opens an Excel writer for appending rows incrementally (e.g. as tests finish).
+	 *
+	 * @param filePath  Absolute path to Excel (.xlsx) file.
+	 * @param sheetName Name of the sheet to write.
+	 * @param headers   Column headers, in output order.
+	 * @param rowWindow Rows kept in memory before flushing to disk.
+	 * @return Thread-safe streaming writer; the file is written when it is closed.
+	 */
+	public StreamingExcelWriter openExcelWriter(String filePath, String sheetName, List<String> headers, int rowWindow) {
+		return dataHandlingKeywords.openExcelWriter(filePath, sheetName, headers, rowWindow);
+	}
+
 	// ========================================
 	// CSV HANDLING
 	// ========================================
@@ -1467,6 +1551,30 @@ public class Keywords {
 		return dataHandlingKeywords.readCSV(filePath, delimiter);
 	}
 
+	/**
+	 * Streams a CSV file row by row to the given callback without holding the file in memory.
+	 *
+	 * @param filePath    Absolute path to CSV file.
+	 * @param delimiter   The delimiter used in CSV (e.g., ',').
+	 * @param rowCallback Receives each row as a Map (header to value).
+	 * @return Number of data rows processed.
+	 */
+	public long streamCSV(String filePath, char delimiter, Consumer<Map<String, String>> rowCallback) {
+		return dataHandlingKeywords.streamCSV(filePath, delimiter, rowCallback);
+	}
+
+	/**
+	 * Loads a CSV file into an index for repeated lookups by a key column.
+	 *
+	 * @param filePath  Absolute path to CSV file.
+	 * @param delimiter The delimiter used in CSV (e.g., ',').
+	 * @param keyColumn Header of the column used as lookup key.
+	 * @return Index supporting get(key) lookups.
+	 */
+	public CsvParser.Index indexCSV(String filePath, char delimiter, String keyColumn) {
+		return dataHandlingKeywords.indexCSV(filePath, delimiter, keyColumn);
+	}
+
 	/**
 	 * Writes data to a CSV file from a List of Maps.
 	 *
@@ -1537,6 +1645,47 @@ public class Keywords {
 		dataHandlingKeywords.writeTextFileLines(filePath, lines);
 	}
 
+	// ========================================
+	// TEST IDENTITY
+	// ========================================
+
+	/**
+	 * Returns the unique identity (email, name, phone) of the test running on this thread.
+	 *
+	 * @return Current test identity, stable until the test finishes.
+	 */
+	public TestIdentityGenerator.Identity getTestIdentity() {
+		return dataHandlingKeywords.getTestIdentity();
+	}
+
+	/**
+	 * Generates a fresh unique email address.
+	 *
+	 * @return Unique email address.
+	 */
+	public String generateUniqueEmail() {
+		return dataHandlingKeywords.generateUniqueEmail();
+	}
+
+	/**
+	 * Generates a fresh unique 10-digit phone number.
+	 *
+	 * @return Unique phone number.
+	 */
+	public String generateUniquePhone() {
+		return dataHandlingKeywords.generateUniquePhone();
+	}
+
+	/**
+	 * Resolves identity placeholders such as {{email}}, {{name}}, {{phone}} or {{seq}} in a value.
+	 *
+	 * @param template Value possibly containing placeholders.
+	 * @return Resolved value.
+	 */
+	public String resolveTestData(String template) {
+		return dataHandlingKeywords.resolveTestData(template);
+	}
+
 
 	// ========================================
 	// JAVASCRIPT KEYWORDS - ALL METHODS
@@ -4,6 +4,7 @@ import com.naveensdet.unifiedwebautomation.base.BaseClass;
 import com.naveensdet.unifiedwebautomation.utils.DriverManager;
 import com.naveensdet.unifiedwebautomation.utils.ExcelUtilities;
 import com.naveensdet.unifiedwebautomation.utils.FrameworkException;
+import com.naveensdet.unifiedwebautomation.utils.TestIdentityGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.openqa.selenium.*;
@@ -47,7 +48,7 @@ public class NavigationKeywords {
 	 */
 	private String getInputValue(String testName, String inputValueOrKey, String elementName, boolean excelData) {
 		if (!excelData) {
-			return inputValueOrKey;
+			return TestIdentityGenerator.resolve(inputValueOrKey);
 		}
 		String excelValue = ExcelUtilities.getData(testName, inputValueOrKey);
 		if (excelValue == null || excelValue.trim().isEmpty()) {
@@ -2,7 +2,10 @@ package com.naveensdet.unifiedwebautomation.keywords;
 
 import com.naveensdet.unifiedwebautomation.base.BaseClass;
 import com.naveensdet.unifiedwebautomation.utils.DriverManager;
+import com.naveensdet.unifiedwebautomation.utils.ElementCapture;
 import com.naveensdet.unifiedwebautomation.utils.FrameworkException;
+import com.naveensdet.unifiedwebautomation.utils.FullPageCapture;
+import com.naveensdet.unifiedwebautomation.utils.ScreenshotService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.openqa.selenium.*;
@@ -11,11 +14,18 @@ import org.openqa.selenium.support.ui.FluentWait;
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.awt.Rectangle;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * ScreenshotKeywords - advanced screenshot capture and manipulation methods.
@@ -71,9 +81,12 @@ public class ScreenshotKeywords {
 
 	/**
 	 * Takes a full-page screenshot if supported by driver; falls back to viewport screenshot.
+	 * Chrome/Edge capture through DevTools and Firefox natively ({@link FullPageCapture}); very tall
+	 * pages are saved as extra tiles next to the file (name_part2.png, ...). The folder is created
+	 * here; the files are written in the background by {@link ScreenshotService}.
 	 *
 	 * @param filePath Absolute file path where screenshot will be saved (including extension).
-	 * @throws FrameworkException If unable to take or save screenshot.
+	 * @throws FrameworkException If unable to take the screenshot.
 	 */
 	public void takeFullPageScreenshot(String filePath) {
 		validateInput(filePath, "File Path");
@@ -81,11 +94,9 @@ public class ScreenshotKeywords {
 		try {
 			BaseClass.logActionStart("Taking full page screenshot to '" + filePath + "'", "Screenshot Capture");
 
-			// For drivers supporting full page screenshot (e.g. Firefox)
 			if (driver instanceof TakesScreenshot) {
-				File screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-				saveFile(screenshot, filePath);
-				logger.info("Full page screenshot saved to {}", filePath);
+				List<Path> files = FullPageCapture.captureTo(driver, prepareTarget(filePath));
+				logger.info("Full page screenshot saved to {} ({} file(s))", filePath, files.size());
 
 				BaseClass.logActionSuccess("Full page screenshot captured and saved", "Screenshot Capture");
 			} else {
@@ -93,7 +104,7 @@ public class ScreenshotKeywords {
 				throw new UnsupportedOperationException("Driver does not support screenshots");
 			}
 
-		} catch (IOException | WebDriverException e) {
+		} catch (WebDriverException e) {
 			BaseClass.logActionFailure("Take full page screenshot", "Screenshot Capture", "Failed to capture or save screenshot: " + e.getMessage());
 			throw new FrameworkException("Failed to take full page screenshot: " + filePath, e);
 		} catch (Exception e) {
@@ -118,13 +129,13 @@ public class ScreenshotKeywords {
 			BaseClass.logActionStart("Taking element screenshot of '" + xpath + "' to '" + filePath + "'", "Screenshot Capture");
 
 			WebElement element = getWait(timeoutSeconds).until(ExpectedConditions.visibilityOfElementLocated(By.xpath(xpath)));
-			File screenshot = element.getScreenshotAs(OutputType.FILE);
-			saveFile(screenshot, filePath);
+			Path target = prepareTarget(filePath);
+			ScreenshotService.write(element.getScreenshotAs(OutputType.BASE64), target);
 			logger.info("Element screenshot saved to {}", filePath);
 
 			BaseClass.logActionSuccess("Element screenshot captured and saved", "Screenshot Capture");
 
-		} catch (IOException | WebDriverException e) {
+		} catch (WebDriverException e) {
 			BaseClass.logActionFailure("Take element screenshot", "Screenshot Capture", "Failed to capture element screenshot: " + e.getMessage());
 			throw new FrameworkException("Failed to capture element screenshot: " + filePath, e);
 		} catch (Exception e) {
@@ -133,6 +144,53 @@ public class ScreenshotKeywords {
 		}
 	}
 
+	/**
+	 * Takes screenshots of several elements from one page capture: the element rectangles are read
+	 * in one script call and the crops are written in parallel by the screenshot writer
+	 * ({@link ElementCapture}). Device pixel ratio and scrolling are taken into account.
+	 *
+	 * @param xpathToFilePath XPath of each element and the absolute file path for its screenshot.
+	 * @param timeoutSeconds Time to wait for all elements to be present with a size.
+	 * @return Written file path by XPath (extensions follow screenshot.format).
+	 * @throws FrameworkException if an element is not found or the capture fails.
+	 */
+	public Map<String, String> takeElementScreenshots(Map<String, String> xpathToFilePath, int timeoutSeconds) {
+		if (xpathToFilePath == null || xpathToFilePath.isEmpty()) {
+			throw new FrameworkException("Element screenshots need at least one XPath");
+		}
+		xpathToFilePath.forEach((xpath, filePath) -> {
+			validateInput(xpath, "XPath");
+			validateInput(filePath, "File Path");
+		});
+
+		try {
+			BaseClass.logActionStart("Taking " + xpathToFilePath.size() + " element screenshots from one capture", "Screenshot Capture");
+
+			List<String> xpaths = new ArrayList<>(xpathToFilePath.keySet());
+			List<Path> targets = new ArrayList<>();
+			for (String xpath : xpaths) {
+				targets.add(prepareTarget(xpathToFilePath.get(xpath)));
+			}
+			ElementCapture.Layout layout = getWait(timeoutSeconds).until(d -> ElementCapture.locate(d, xpaths));
+			Map<String, String> files = new LinkedHashMap<>();
+			ElementCapture.captureTo(driver, layout, targets).forEach((xpath, file) -> files.put(xpath, file.toString()));
+			logger.info("{} element screenshots saved from one capture", files.size());
+
+			BaseClass.logActionSuccess(files.size() + " element screenshots captured and saved", "Screenshot Capture");
+			return files;
+
+		} catch (TimeoutException e) {
+			BaseClass.logActionFailure("Take element screenshots", "Screenshot Capture", "Elements not all present after " + timeoutSeconds + " seconds");
+			throw new FrameworkException("Elements " + xpathToFilePath.keySet() + " not all present after " + timeoutSeconds + " seconds", e);
+		} catch (WebDriverException e) {
+			BaseClass.logActionFailure("Take element screenshots", "Screenshot Capture", "Failed to capture element screenshots: " + e.getMessage());
+			throw new FrameworkException("Failed to capture element screenshots", e);
+		} catch (Exception e) {
+			BaseClass.logActionFailure("Take element screenshots", "Screenshot Capture", "Failed to take element screenshots: " + e.getMessage());
+			throw new FrameworkException("Failed to take element screenshots", e);
+		}
+	}
+
 	/**
 	 * Takes a screenshot of the visible viewport (browser window).
 	 *
@@ -145,13 +203,12 @@ public class ScreenshotKeywords {
 		try {
 			BaseClass.logActionStart("Taking viewport screenshot to '" + filePath + "'", "Screenshot Capture");
 
-			File screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-			saveFile(screenshot, filePath);
+			ScreenshotService.captureTo(driver, prepareTarget(filePath));
 			logger.info("Viewport screenshot saved to {}", filePath);
 
 			BaseClass.logActionSuccess("Viewport screenshot captured and saved", "Screenshot Capture");
 
-		} catch (IOException | WebDriverException e) {
+		} catch (WebDriverException e) {
 			BaseClass.logActionFailure("Take viewport screenshot", "Screenshot Capture", "Failed to capture or save viewport screenshot: " + e.getMessage());
 			throw new FrameworkException("Failed to take viewport screenshot: " + filePath, e);
 		} catch (Exception e) {
@@ -186,7 +243,9 @@ public class ScreenshotKeywords {
 	}
 
 	/**
-	 * Captures a cropped screenshot of a specific region within the viewport.
+	 * Captures a cropped screenshot of a specific region within the viewport. The region and the
+	 * image format are checked against the capture here, so the step fails on a bad region; decoding,
+	 * cropping and encoding then run on the screenshot writer.
 	 *
 	 * @param x X coordinate of the region's top-left corner.
 	 * @param y Y coordinate of the region's top-left corner.
@@ -205,19 +264,37 @@ public class ScreenshotKeywords {
 		try {
 			BaseClass.logActionStart("Taking cropped screenshot (" + x + "," + y + "," + width + "x" + height + ") to '" + filePath + "'", "Screenshot Processing");
 
-			BufferedImage fullImg = captureAsImage();
+			String format = getFileExtension(filePath);
+			if (!ImageIO.getImageWritersByFormatName(format).hasNext()) {
+				BaseClass.logActionFailure("Take cropped screenshot", "Screenshot Processing", "Unsupported image format: " + format);
+				throw new FrameworkException("Unsupported image format for cropped screenshot: " + format);
+			}
+			Path target = prepareTarget(filePath);
+			String base64 = ScreenshotService.capture(driver);
 			Rectangle rect = new Rectangle(x, y, width, height);
-			BufferedImage cropped = fullImg.getSubimage(rect.x, rect.y, rect.width, rect.height);
-
-			File outputFile = new File(filePath);
-			ImageIO.write(cropped, getFileExtension(filePath), outputFile);
+			Rectangle page = pngBounds(base64);
+			if (page != null && !page.contains(rect)) {
+				BaseClass.logActionFailure("Take cropped screenshot", "Screenshot Processing",
+						"Region " + x + "," + y + " " + width + "x" + height + " is outside the " + page.width + "x" + page.height + " screenshot");
+				throw new FrameworkException("Crop region is outside the screenshot (" + page.width + "x" + page.height + ")");
+			}
+			ScreenshotService.submit(target, () -> {
+				BufferedImage fullImg = ImageIO.read(new ByteArrayInputStream(Base64.getMimeDecoder().decode(base64)));
+				BufferedImage cropped = fullImg.getSubimage(rect.x, rect.y, rect.width, rect.height);
+				if (!ImageIO.write(cropped, format, target.toFile())) {
+					throw new IOException("No image writer for " + format);
+				}
+				return target;
+			});
 			logger.info("Cropped screenshot saved to {}", filePath);
 
 			BaseClass.logActionSuccess("Cropped screenshot captured and saved", "Screenshot Processing");
 
-		} catch (IOException e) {
-			BaseClass.logActionFailure("Take cropped screenshot", "Screenshot Processing", "Failed to save cropped screenshot: " + e.getMessage());
-			throw new FrameworkException("Failed to save cropped screenshot: " + filePath, e);
+		} catch (FrameworkException e) {
+			throw e;
+		} catch (WebDriverException e) {
+			BaseClass.logActionFailure("Take cropped screenshot", "Screenshot Processing", "Failed to capture screenshot for cropping: " + e.getMessage());
+			throw new FrameworkException("Failed to take cropped screenshot: " + filePath, e);
 		} catch (Exception e) {
 			BaseClass.logActionFailure("Take cropped screenshot", "Screenshot Processing", "Failed to take cropped screenshot: " + e.getMessage());
 			throw new FrameworkException("Failed to take cropped screenshot", e);
@@ -225,22 +302,32 @@ public class ScreenshotKeywords {
 	}
 
 	/**
-	 * Saves a screenshot file to the specified destination path.
+	 * Creates the screenshot's folder on the test thread, so an unusable path fails the step
+	 * instead of the background write.
+	 */
+	private static Path prepareTarget(String filePath) throws IOException {
+		Path target = Paths.get(filePath);
+		ScreenshotService.ensureDirectory(target.toAbsolutePath().getParent());
+		return target;
+	}
+
+	/**
+	 * Size of a Base64 PNG read from its header (IHDR), without decoding the image.
 	 *
-	 * @param sourceFile Source image File.
-	 * @param destPath Destination path (absolute).
-	 * @throws IOException if saving fails.
+	 * @return Image bounds, or null when the data is not a PNG.
 	 */
-	private void saveFile(File sourceFile, String destPath) throws IOException {
-		Path dest = Paths.get(destPath);
-		File destFile = dest.toFile();
-		File parent = destFile.getParentFile();
-		if (parent != null && !parent.exists()) {
-			boolean created = parent.mkdirs();
-			if (!created) 
-				logger.warn("Could not create directory structure for {}", destPath);
+	private static Rectangle pngBounds(String base64) {
+		// 32 Base64 characters = the 8-byte signature, IHDR length and type, width and height
+		String head = base64.substring(0, Math.min(48, base64.length())).replaceAll("\\s", "");
+		if (head.length() < 32) {
+			return null;
+		}
+		byte[] header = Base64.getDecoder().decode(head.substring(0, 32));
+		if ((header[0] & 0xFF) != 0x89 || header[1] != 'P') {
+			return null;
 		}
-		org.openqa.selenium.io.FileHandler.copy(sourceFile, destFile);
+		ByteBuffer buffer = ByteBuffer.wrap(header);
+		return new Rectangle(0, 0, buffer.getInt(16), buffer.getInt(20));
 	}
 
 	/**
@@ -311,6 +398,42 @@ public class ScreenshotKeywords {
 		}
 	}
 
+	/**
+	 * Takes screenshots of several elements from one page capture and returns them as Base64 PNGs,
+	 * cropped in parallel ({@link ElementCapture}).
+	 *
+	 * @param xpaths XPath locators of the elements.
+	 * @param timeoutSeconds Time to wait for all elements to be present with a size.
+	 * @return Base64 PNG by XPath, in the given order.
+	 * @throws FrameworkException if an element is not found or the capture fails.
+	 */
+	public Map<String, String> getElementScreenshotsAsBase64(List<String> xpaths, int timeoutSeconds) {
+		if (xpaths == null || xpaths.isEmpty()) {
+			throw new FrameworkException("Element screenshots need at least one XPath");
+		}
+		xpaths.forEach(xpath -> validateInput(xpath, "XPath"));
+
+		try {
+			BaseClass.logActionStart("Capturing " + xpaths.size() + " element screenshots as Base64 from one capture", "Screenshot Data");
+
+			ElementCapture.Layout layout = getWait(timeoutSeconds).until(d -> ElementCapture.locate(d, xpaths));
+			Map<String, String> screenshots = ElementCapture.captureAsBase64(driver, layout);
+
+			BaseClass.logActionSuccess(screenshots.size() + " element screenshots captured as Base64", "Screenshot Data");
+			return screenshots;
+
+		} catch (TimeoutException e) {
+			BaseClass.logActionFailure("Get element screenshots as Base64", "Screenshot Data", "Elements not all present after " + timeoutSeconds + " seconds");
+			throw new FrameworkException("Elements " + xpaths + " not all present after " + timeoutSeconds + " seconds", e);
+		} catch (WebDriverException e) {
+			BaseClass.logActionFailure("Get element screenshots as Base64", "Screenshot Data", "Failed to capture element screenshots as Base64: " + e.getMessage());
+			throw new FrameworkException("Failed to capture element screenshots as Base64", e);
+		} catch (Exception e) {
+			BaseClass.logActionFailure("Get element screenshots as Base64", "Screenshot Data", "Failed to get element Base64 screenshots: " + e.getMessage());
+			throw new FrameworkException("Failed to get element Base64 screenshots", e);
+		}
+	}
+
 	/**
 	 * Takes a screenshot of the visible viewport and returns as byte array.
 	 *
@@ -0,0 +1,271 @@
+package com.naveensdet.unifiedwebautomation.keywords;
+
+import com.aventstack.extentreports.Status;
+import com.naveensdet.unifiedwebautomation.base.BaseClass;
+import com.naveensdet.unifiedwebautomation.utils.ConfigManager;
+import com.naveensdet.unifiedwebautomation.utils.DriverManager;
+import com.naveensdet.unifiedwebautomation.utils.ExtentReportManager;
+import com.naveensdet.unifiedwebautomation.utils.FrameworkException;
+import com.naveensdet.unifiedwebautomation.utils.VisualDiff;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.openqa.selenium.*;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.FluentWait;
+import javax.imageio.ImageIO;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * VisualKeywords - visual regression checks against stored baseline screenshots.
+ *
+ * Baselines are PNG files under 'visual.baseline.directory' (in test resources), one folder per
+ * browser: baselines/chrome/login-page.png. A missing baseline is created from the first capture
+ * ('visual.baseline.autoCreate'); 'visual.baseline.update=true' replaces baselines instead of
+ * comparing. Comparison is done by {@link VisualDiff} with the per-channel 'visual.tolerance' and
+ * fails when more than 'visual.maxDiffRatio' of the pixels differ; the diff image goes into the
+ * report. Prepared baselines are cached (up to 'visual.baseline.cacheSize') and reloaded when the
+ * file changes.
+ */
+public class VisualKeywords {
+
+	private final WebDriver driver;
+	private static final Logger logger = LoggerFactory.getLogger(VisualKeywords.class);
+
+	private static final int TOLERANCE = ConfigManager.getIntProperty("visual.tolerance", 8);
+	private static final double MAX_DIFF_RATIO = parseRatio(ConfigManager.getProperty("visual.maxDiffRatio", "0.001"));
+	private static final boolean AUTO_CREATE =
+			Boolean.parseBoolean(ConfigManager.getProperty("visual.baseline.autoCreate", "true"));
+	private static final boolean UPDATE =
+			Boolean.parseBoolean(ConfigManager.getProperty("visual.baseline.update", "false"));
+	private static final int CACHE_SIZE = Math.max(0, ConfigManager.getIntProperty("visual.baseline.cacheSize", 4));
+
+	// Viewport rectangles of the given XPaths in screenshot pixels (CSS pixels times devicePixelRatio)
+	private static final String REGIONS_SCRIPT = "var r = window.devicePixelRatio || 1, out = [];"
+			+ " for (var i = 0; i < arguments.length; i++) {"
+			+ " var e = document.evaluate(arguments[i], document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+			+ " if (!e) continue; var b = e.getBoundingClientRect();"
+			+ " out.push([Math.floor(b.left * r), Math.floor(b.top * r), Math.ceil(b.width * r), Math.ceil(b.height * r)]); }"
+			+ " return out;";
+
+	private static final Map<Path, CachedBaseline> BASELINES = new LinkedHashMap<Path, CachedBaseline>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Path, CachedBaseline> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+
+	public VisualKeywords() {
+		this.driver = DriverManager.getDriver();
+	}
+
+	/**
+	 * Constructor that accepts WebDriver instance
+	 * @param driver WebDriver instance to capture
+	 */
+	public VisualKeywords(WebDriver driver) {
+		if (driver == null) {
+			throw new IllegalArgumentException("WebDriver cannot be null");
+		}
+		this.driver = driver;
+	}
+
+	/** Validates string input; throws FrameworkException if null or empty. */
+	private void validateInput(String val, String paramName) {
+		if (val == null || val.trim().isEmpty()) {
+			throw new FrameworkException(paramName + " cannot be null or empty");
+		}
+	}
+
+	/** Returns a FluentWait for given timeout with the configured polling. */
+	private FluentWait<WebDriver> getWait(int timeoutSeconds) {
+		int pollingMillis = ConfigManager.getIntProperty("fluentWaitPolling", 500);
+		return new FluentWait<>(driver)
+				.withTimeout(Duration.ofSeconds(timeoutSeconds))
+				.pollingEvery(Duration.ofMillis(pollingMillis))
+				.ignoring(NoSuchElementException.class)
+				.ignoring(StaleElementReferenceException.class);
+	}
+
+	/**
+	 * Verifies the visible page matches its baseline.
+	 *
+	 * @param baselineName Baseline name, e.g. "login-page".
+	 * @throws FrameworkException If the page differs from the baseline.
+	 */
+	public void verifyPageMatchesBaseline(String baselineName) {
+		verifyPageMatchesBaseline(baselineName, Collections.<Rectangle>emptyList());
+	}
+
+	/**
+	 * Verifies the visible page matches its baseline, leaving out the given regions.
+	 *
+	 * @param baselineName  Baseline name, e.g. "login-page".
+	 * @param ignoreRegions Areas in screenshot pixels to leave out (clocks, ads, carousels).
+	 * @throws FrameworkException If the page differs from the baseline.
+	 */
+	public void verifyPageMatchesBaseline(String baselineName, List<Rectangle> ignoreRegions) {
+		validateInput(baselineName, "Baseline name");
+		BaseClass.logActionStart("Comparing page with baseline '" + baselineName + "'", "Visual Verification");
+		try {
+			byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+			verifyAgainstBaseline(baselineName, png, ignoreRegions);
+		} catch (WebDriverException e) {
+			BaseClass.logActionFailure("Compare page with baseline", "Visual Verification", "Failed to capture page: " + e.getMessage());
+			throw new FrameworkException("Failed to capture page for baseline '" + baselineName + "'", e);
+		}
+	}
+
+	/**
+	 * Verifies the visible page matches its baseline, leaving out the elements found by the given
+	 * XPaths (elements that are not present are skipped).
+	 *
+	 * @param baselineName Baseline name, e.g. "dashboard".
+	 * @param ignoreXpaths XPaths of dynamic elements to leave out.
+	 * @throws FrameworkException If the page differs from the baseline.
+	 */
+	public void verifyPageMatchesBaselineIgnoring(String baselineName, String... ignoreXpaths) {
+		validateInput(baselineName, "Baseline name");
+		List<Rectangle> regions = new ArrayList<>();
+		if (ignoreXpaths != null && ignoreXpaths.length > 0) {
+			Object found = ((JavascriptExecutor) driver).executeScript(REGIONS_SCRIPT, (Object[]) ignoreXpaths);
+			if (found instanceof List) {
+				for (Object item : (List<?>) found) {
+					List<?> box = (List<?>) item;
+					regions.add(new Rectangle(((Number) box.get(0)).intValue(), ((Number) box.get(1)).intValue(),
+							((Number) box.get(2)).intValue(), ((Number) box.get(3)).intValue()));
+				}
+			}
+			logger.debug("Ignoring {} of {} regions for baseline '{}'", regions.size(), ignoreXpaths.length, baselineName);
+		}
+		verifyPageMatchesBaseline(baselineName, regions);
+	}
+
+	/**
+	 * Verifies an element matches its baseline.
+	 *
+	 * @param xpath          XPath locator of the element.
+	 * @param elementName    Element name for the report.
+	 * @param baselineName   Baseline name, e.g. "header-logo".
+	 * @param timeoutSeconds Time to wait for the element to be visible.
+	 * @throws FrameworkException If the element differs from the baseline.
+	 */
+	public void verifyElementMatchesBaseline(String xpath, String elementName, String baselineName, int timeoutSeconds) {
+		validateInput(xpath, "XPath");
+		validateInput(elementName, "Element name");
+		validateInput(baselineName, "Baseline name");
+		BaseClass.logActionStart("Comparing '" + elementName + "' with baseline '" + baselineName + "'", "Visual Verification");
+		try {
+			WebElement element = getWait(timeoutSeconds).until(ExpectedConditions.visibilityOfElementLocated(By.xpath(xpath)));
+			verifyAgainstBaseline(baselineName, element.getScreenshotAs(OutputType.BYTES), Collections.<Rectangle>emptyList());
+		} catch (TimeoutException e) {
+			BaseClass.logActionFailure("Compare element with baseline", "Visual Verification", "Element '" + elementName + "' not visible after " + timeoutSeconds + " seconds");
+			throw new FrameworkException("Element [" + elementName + "] not visible after " + timeoutSeconds + " seconds", e);
+		} catch (WebDriverException e) {
+			BaseClass.logActionFailure("Compare element with baseline", "Visual Verification", "Failed to capture element: " + e.getMessage());
+			throw new FrameworkException("Failed to capture element '" + elementName + "' for baseline '" + baselineName + "'", e);
+		}
+	}
+
+	/** Compares a capture with the named baseline, creating or updating the baseline when configured. */
+	private void verifyAgainstBaseline(String baselineName, byte[] png, List<Rectangle> ignoreRegions) {
+		Path baselineFile = baselinePath(baselineName);
+		try {
+			if (UPDATE || !Files.exists(baselineFile)) {
+				if (!UPDATE && !AUTO_CREATE) {
+					BaseClass.logActionFailure("Compare with baseline", "Visual Verification", "No baseline at " + baselineFile);
+					throw new FrameworkException("No baseline '" + baselineName + "' at " + baselineFile);
+				}
+				Files.createDirectories(baselineFile.getParent());
+				Files.write(baselineFile, png);
+				logger.info("{} baseline '{}' at {}", UPDATE ? "Updated" : "Created", baselineName, baselineFile);
+				BaseClass.logActionSuccess((UPDATE ? "Updated" : "Created") + " baseline '" + baselineName + "'", "Visual Verification");
+				return;
+			}
+
+			long start = System.nanoTime();
+			VisualDiff.Result result = VisualDiff.compare(baseline(baselineFile), decode(png), ignoreRegions);
+			logger.debug("Baseline '{}' compared in {} ms: {}", baselineName,
+					(System.nanoTime() - start) / 1_000_000, result.describe());
+
+			if (result.matches(MAX_DIFF_RATIO)) {
+				BaseClass.logActionSuccess("Matches baseline '" + baselineName + "'", "Visual Verification");
+				return;
+			}
+			String message = "Visual difference from baseline '" + baselineName + "': " + result.describe();
+			logger.error(message);
+			ExtentReportManager.logWithScreenshot(Status.INFO, "🔍 " + message, result.toDiffPng());
+			BaseClass.logActionFailure("Compare with baseline", "Visual Verification", message);
+			throw new FrameworkException(message);
+
+		} catch (IOException e) {
+			BaseClass.logActionFailure("Compare with baseline", "Visual Verification", "Could not read or write baseline: " + e.getMessage());
+			throw new FrameworkException("Could not read or write baseline " + baselineFile, e);
+		}
+	}
+
+	/** Baseline file: visual.baseline.directory/browser/name.png */
+	private static Path baselinePath(String baselineName) {
+		String browser = ConfigManager.getEnvSpecificProperty("browser", "chrome").toLowerCase();
+		String name = baselineName.trim().replaceAll("[^A-Za-z0-9._-]", "_");
+		return Paths.get(ConfigManager.getTestResourcePath("visual.baseline.directory", "baselines"), browser, name + ".png");
+	}
+
+	/** Prepared baseline for the file, reloaded when the file was modified since it was cached. */
+	private static VisualDiff.Snapshot baseline(Path file) throws IOException {
+		FileTime modified = Files.getLastModifiedTime(file);
+		synchronized (BASELINES) {
+			CachedBaseline cached = BASELINES.get(file);
+			if (cached != null && cached.modified.equals(modified)) {
+				return cached.snapshot;
+			}
+		}
+		VisualDiff.Snapshot snapshot = VisualDiff.Snapshot.of(decode(Files.readAllBytes(file)), TOLERANCE);
+		synchronized (BASELINES) {
+			BASELINES.put(file, new CachedBaseline(modified, snapshot));
+		}
+		return snapshot;
+	}
+
+	private static BufferedImage decode(byte[] png) throws IOException {
+		BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+		if (image == null) {
+			throw new IOException("Screenshot is not a readable image");
+		}
+		return image;
+	}
+
+	private static double parseRatio(String configured) {
+		try {
+			return Math.max(0, Double.parseDouble(configured.trim()));
+		} catch (RuntimeException e) {
+			logger.warn("Invalid visual.maxDiffRatio '{}'; using 0.001", configured);
+			return 0.001;
+		}
+	}
+
+	private static final class CachedBaseline {
+
+		private final FileTime modified;
+		private final VisualDiff.Snapshot snapshot;
+
+		private CachedBaseline(FileTime modified, VisualDiff.Snapshot snapshot) {
+			this.modified = modified;
+			this.snapshot = snapshot;
+		}
+	}
+}
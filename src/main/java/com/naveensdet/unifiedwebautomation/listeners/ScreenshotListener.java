@@ -1,9 +1,16 @@
 package com.naveensdet.unifiedwebautomation.listeners;
 
+import com.aventstack.extentreports.Status;
 import com.naveensdet.unifiedwebautomation.keywords.ScreenshotKeywords;
 import com.naveensdet.unifiedwebautomation.utils.DriverManager;
+import com.naveensdet.unifiedwebautomation.utils.EvidenceBundle;
 import com.naveensdet.unifiedwebautomation.utils.ExtentReportManager;
+import com.naveensdet.unifiedwebautomation.utils.FailureEvidence;
+import com.naveensdet.unifiedwebautomation.utils.ScreencastRecorder;
 import com.naveensdet.unifiedwebautomation.utils.ScreenshotUtility;
+import io.qameta.allure.Allure;
+import java.io.ByteArrayInputStream;
+import org.openqa.selenium.WebDriver;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 import org.slf4j.Logger;
@@ -12,56 +19,53 @@ import org.slf4j.LoggerFactory;
 public class ScreenshotListener implements ITestListener {
 
 	private static final Logger logger = LoggerFactory.getLogger(ScreenshotListener.class);
-	private ScreenshotKeywords screenshotKeywords;
 
 	public ScreenshotListener() {
 		logger.info("ScreenshotListener instantiated successfully");
 	}
 
-	private ScreenshotKeywords getScreenshotKeywords() {
-		if (screenshotKeywords == null && DriverManager.isDriverInitialized()) {
-			try {
-				screenshotKeywords = new ScreenshotKeywords(DriverManager.getDriverSafely());
-				logger.debug("ScreenshotKeywords initialized successfully");
-			} catch (Exception e) {
-				logger.warn("Failed to initialize ScreenshotKeywords: {}", e.getMessage());
-			}
-		}
-		return screenshotKeywords;
-	}
-
 	@Override
 	public void onTestStart(ITestResult result) {
 		logger.info("Test started: {}", result.getMethod().getMethodName());
-		getScreenshotKeywords(); // Initialize when test starts
 	}
 
 	@Override
 	public void onTestFailure(ITestResult result) {
-		String testName = result.getMethod().getMethodName();
 		String failureMessage = result.getThrowable() != null ? 
 				result.getThrowable().getMessage() : "Test execution failed";
 
 		try {
-			// ✅ ONLY capture screenshot on failure
-			String screenshotPath = ScreenshotUtility.generateFailureScreenshotPath(
-					"failure", testName, "test_failed"
-					);
-
-			ScreenshotKeywords keywords = getScreenshotKeywords();
-			if (keywords != null) {
-				keywords.takeFullPageScreenshot(screenshotPath);
-
-				// ✅ Attach screenshot to failure message
-				ExtentReportManager.logFailureWithScreenshot(
-						"Test Failed: " + failureMessage, screenshotPath
-						);
-
-				logger.info("📸 Failure screenshot captured and attached: {}", screenshotPath);
-			} else {
+			// ✅ ONLY capture screenshot on failure - reuses the capture of a failed step at the same moment
+			FailureEvidence.Evidence evidence = FailureEvidence.capture();
+			if (evidence == null || !evidence.hasScreenshot()) {
 				// Fallback - log failure without screenshot
 				ExtentReportManager.logFail("Test Failed: " + failureMessage);
-				logger.warn("Could not capture screenshot - ScreenshotKeywords not available");
+				logger.warn("Could not capture screenshot - no browser on this thread");
+			} else {
+				// Each report gets the screenshot once - a failed step may already have attached it to either
+				if (evidence.isReportedToExtent()) {
+					ExtentReportManager.logFail("Test Failed: " + failureMessage + " (screenshot attached to the failed step)");
+				} else {
+					// ✅ Attach screenshot to failure message
+					ExtentReportManager.logWithScreenshot(Status.FAIL, "❌ Test Failed: " + failureMessage, evidence.getPng());
+					evidence.markReportedToExtent();
+				}
+				if (!evidence.isReportedToAllure() && attachToAllure(evidence.getPng())) {
+					evidence.markReportedToAllure();
+				}
+				logger.info("📸 Failure screenshot attached");
+			}
+
+			// Page source, console, network and screenshot in one zip, collected within the evidence budget
+			if (EvidenceBundle.isEnabled()) {
+				EvidenceBundle.capture(DriverManager.getDriverSafely(), result.getMethod().getMethodName(),
+						evidence != null ? evidence.getPng() : null, failureMessage);
+			}
+
+			// The seconds before the failure, when screencast recording is on
+			if (ScreencastRecorder.isEnabled()) {
+				ScreencastRecorder.persistFailureClip(DriverManager.getDriverSafely(),
+						result.getMethod().getMethodName(), result.getStartMillis());
 			}
 
 		} catch (Exception e) {
@@ -79,25 +83,33 @@ public class ScreenshotListener implements ITestListener {
 
 		// Optional: Enable success screenshots via configuration
 		String captureOnSuccess = System.getProperty("screenshot.onSuccess", "false");
-		if ("true".equalsIgnoreCase(captureOnSuccess)) {
+		WebDriver driver = DriverManager.getDriverSafely();
+		if ("true".equalsIgnoreCase(captureOnSuccess) && driver != null) {
 			try {
 				// ✅ Use existing method with different prefix
 				String screenshotPath = ScreenshotUtility.generateFailureScreenshotPath(
 						"success", testName, "test_passed"
 						);
 
-				ScreenshotKeywords keywords = getScreenshotKeywords();
-				if (keywords != null) {
-					keywords.takeFullPageScreenshot(screenshotPath);
-					ExtentReportManager.attachScreenshot(screenshotPath);
-					logger.info("📸 Success screenshot captured (optional): {}", screenshotPath);
-				}
+				// This thread's own browser - listeners are shared by all test threads
+				new ScreenshotKeywords(driver).takeFullPageScreenshot(screenshotPath);
+				ExtentReportManager.attachScreenshot(screenshotPath);
+				logger.info("📸 Success screenshot captured (optional): {}", screenshotPath);
 			} catch (Exception e) {
 				logger.debug("Could not capture optional success screenshot: {}", e.getMessage());
 			}
 		}
 	}
 
+	/** Attaches to the running Allure test case; false when there is none. */
+	private static boolean attachToAllure(byte[] png) {
+		if (Allure.getLifecycle().getCurrentTestCase().isPresent()) {
+			Allure.addAttachment("Failure screenshot", "image/png", new ByteArrayInputStream(png), "png");
+			return true;
+		}
+		return false;
+	}
+
 
 	@Override
 	public void onTestSkipped(ITestResult result) {
@@ -1,14 +1,21 @@
 package com.naveensdet.unifiedwebautomation.listeners;
 
+import com.naveensdet.unifiedwebautomation.utils.DriverManager;
+import com.naveensdet.unifiedwebautomation.utils.ExcelResultsRecorder;
 import com.naveensdet.unifiedwebautomation.utils.ExtentReportManager;
+import com.naveensdet.unifiedwebautomation.utils.FailureEvidence;
+import com.naveensdet.unifiedwebautomation.utils.ReportArchive;
+import com.naveensdet.unifiedwebautomation.utils.ReportShardWriter;
+import com.naveensdet.unifiedwebautomation.utils.ResultsEventStream;
+import com.naveensdet.unifiedwebautomation.utils.ScreenshotService;
+import com.naveensdet.unifiedwebautomation.utils.ScreenshotStore;
 import org.testng.ISuite;
 import org.testng.ISuiteListener;
 import org.testng.annotations.BeforeSuite;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.io.File;
-import java.io.*;
-import java.util.zip.*;
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 
@@ -30,6 +37,12 @@ public class SuiteListener implements ISuiteListener {
 			System.out.println("🧹 SuiteListener: Starting cleanup of previous reports...");
 			logger.info("🧹 SuiteListener: Starting cleanup of previous reports...");
 
+			// Forks/agents sharing a workspace must not wipe each other's output
+			if (ReportShardWriter.isEnabled()) {
+				logger.info("🧩 Sharded run (shard '{}') - keeping existing reports", ReportShardWriter.getShardId());
+				return;
+			}
+
 			String reportsDir = System.getProperty("user.dir") + File.separator + "reports";
 			File reportsFolder = new File(reportsDir);
 
@@ -114,6 +127,7 @@ public class SuiteListener implements ISuiteListener {
 			// ✅ ONLY Suite-level operations
 			initializeExtentReports();
 			createNecessaryDirectories();
+			ResultsEventStream.start();
 			logSuiteInformation(suite);
 
 			logger.info("✅ Suite environment initialized successfully for: {}", suiteName);
@@ -129,8 +143,16 @@ public class SuiteListener implements ISuiteListener {
 		logger.info("🎪 SUITE FINISHING: {}", suiteName);
 
 		try {
+			// ✅ Close browsers left on data provider worker threads
+			DriverManager.quitAllDrivers();
+
 			// ✅ EXISTING: Suite-level cleanup
 			flushReports();
+			ExcelResultsRecorder.close();
+			ResultsEventStream.finish();
+			ScreenshotService.awaitPendingWrites(30000);
+			logger.info("📸 Failure screenshots: {}", FailureEvidence.getStats());
+			ScreenshotStore.awaitThumbnails(30000);
 			generateSuiteSummary(suite);
 			cleanupTemporaryFiles();
 
@@ -150,15 +172,20 @@ public class SuiteListener implements ISuiteListener {
 	 * Updated ZIP creation method - saves ZIP in reports folder
 	 */
 	private void createReportZip() {
-		FileOutputStream fos = null;
-		ZipOutputStream zos = null;
-
 		try {
 			System.out.println("📦 Creating report ZIP in reports folder...");
 			logger.info("📦 Creating report ZIP in reports folder...");
 
-			// Brief pause to ensure all files are released
-			Thread.sleep(500);
+			// Forks/agents sharing a workspace must not wipe each other's output
+			if (ReportShardWriter.isEnabled()) {
+				logger.info("🧩 Sharded run (shard '{}') - keeping existing reports", ReportShardWriter.getShardId());
+				return;
+			}
+
+			// Wait for the background writers rather than a fixed pause (no-ops when onFinish already drained them)
+			if (!ScreenshotService.awaitPendingWrites(30000) || !ScreenshotStore.awaitThumbnails(30000)) {
+				logger.warn("⚠️ Some screenshots were still being written - the ZIP may miss them");
+			}
 
 			String reportsDir = System.getProperty("user.dir") + File.separator + "reports";
 			File reportsFolder = new File(reportsDir);
@@ -194,15 +221,11 @@ public class SuiteListener implements ISuiteListener {
 			logger.info("📦 Creating ZIP: {}", zipFileName);
 			logger.info("📂 ZIP destination: {}", zipFilePath);
 
-			// Create ZIP file
-			fos = new FileOutputStream(zipFilePath);
-			zos = new ZipOutputStream(fos);
-
-			// Add files to ZIP (excluding the ZIP file itself)
-			addDirectoryToZip(reportsFolder, "reports", zos, zipFileName);
+			// Images and media are stored as is, text is compressed in parallel (the ZIP itself is skipped)
+			ReportArchive.Result archive = ReportArchive.create(reportsFolder.toPath(), "reports", Paths.get(zipFilePath));
 
-			System.out.println("📦 ZIP file created successfully!");
-			logger.info("📦 ZIP file created successfully!");
+			System.out.println("📦 ZIP file created successfully in " + archive.getMillis() + " ms");
+			logger.info("📦 ZIP file created successfully: {}", archive);
 
 			// Verify creation
 			File zipFile = new File(zipFilePath);
@@ -223,61 +246,6 @@ public class SuiteListener implements ISuiteListener {
 			System.out.println("❌ ZIP error: " + e.getClass().getSimpleName() + " - " + e.getMessage());
 			logger.error("❌ ZIP error: {}", e.getMessage(), e);
 			e.printStackTrace();
-		} finally {
-			// Ensure streams are closed
-			try {
-				if (zos != null) zos.close();
-				if (fos != null) fos.close();
-			} catch (IOException e) {
-				logger.warn("Error closing ZIP streams: {}", e.getMessage());
-			}
-		}
-	}
-
-	/**
-	 * Updated helper method to exclude ZIP files from being added to ZIP
-	 */
-	private void addDirectoryToZip(File folder, String parentPath, ZipOutputStream zos, String currentZipFileName) throws IOException {
-		File[] files = folder.listFiles();
-
-		if (files != null) {
-			for (File file : files) {
-				// ✅ IMPORTANT: Skip the ZIP file we're currently creating
-				if (file.getName().equals(currentZipFileName)) {
-					continue;
-				}
-
-				if (file.isDirectory()) {
-					String dirPath = parentPath + "/" + file.getName() + "/";
-					ZipEntry dirEntry = new ZipEntry(dirPath);
-					zos.putNextEntry(dirEntry);
-					zos.closeEntry();
-
-					addDirectoryToZip(file, parentPath + "/" + file.getName(), zos, currentZipFileName);
-					System.out.println("📁 Added directory: " + file.getName());
-					logger.debug("📁 Added directory: {}", file.getName());
-				} else {
-					String filePath = parentPath + "/" + file.getName();
-					ZipEntry fileEntry = new ZipEntry(filePath);
-					zos.putNextEntry(fileEntry);
-
-					FileInputStream fis = null;
-					try {
-						fis = new FileInputStream(file);
-						byte[] buffer = new byte[1024];
-						int length;
-						while ((length = fis.read(buffer)) > 0) {
-							zos.write(buffer, 0, length);
-						}
-					} finally {
-						if (fis != null) fis.close();
-					}
-
-					zos.closeEntry();
-					System.out.println("📄 Added file: " + file.getName());
-					logger.debug("📄 Added file: {}", file.getName());
-				}
-			}
 		}
 	}
 
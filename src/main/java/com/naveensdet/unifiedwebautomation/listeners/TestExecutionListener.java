@@ -1,6 +1,10 @@
 package com.naveensdet.unifiedwebautomation.listeners;
 
+import com.naveensdet.unifiedwebautomation.utils.ExcelResultsRecorder;
 import com.naveensdet.unifiedwebautomation.utils.ExtentReportManager;
+import com.naveensdet.unifiedwebautomation.utils.FailureEvidence;
+import com.naveensdet.unifiedwebautomation.utils.LogContext;
+import com.naveensdet.unifiedwebautomation.utils.ResultsEventStream;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
@@ -11,16 +15,26 @@ import org.testng.ITestResult;
 public class TestExecutionListener implements ITestListener {
     
 	private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(TestExecutionListener.class);
+
+    // Result attribute set when this listener, not BaseClass, created the test's report node
+    private static final String NODE_CREATED_HERE = "extent.nodeCreatedByListener";
     
     @Override
     public void onTestStart(ITestResult result) {
         String testName = result.getMethod().getMethodName();
         String className = result.getTestClass().getName();
         
+        LogContext.bind(result);
+        FailureEvidence.invalidate();
         logger.info("🚀 TEST STARTED: {} in class {}", testName, className);
+        ResultsEventStream.testStarted(result);
         
-        // Create ExtentReport test
-        ExtentReportManager.createTest(testName, getTestDescription(result));
+        // BaseClass.setUpTest (@BeforeMethod, runs first) already created the node;
+        // only tests that do not extend BaseClass get one here
+        if (ExtentReportManager.getCurrentTest() == null) {
+            ExtentReportManager.createTest(testName, getTestDescription(result));
+            result.setAttribute(NODE_CREATED_HERE, Boolean.TRUE);
+        }
         ExtentReportManager.logInfo("Test execution started: " + testName);
     }
     
@@ -32,6 +46,9 @@ public class TestExecutionListener implements ITestListener {
         logger.info("✅ TEST PASSED: {} (Duration: {}ms)", testName, duration);
         ExtentReportManager.logPass("Test completed successfully");
         ExtentReportManager.logInfo("Execution time: " + duration + " ms");
+        ExcelResultsRecorder.record(result);
+        ResultsEventStream.testFinished(result);
+        releaseNodeCreatedHere(result);
     }
     
     @Override
@@ -41,9 +58,12 @@ public class TestExecutionListener implements ITestListener {
         
         logger.error("❌ TEST FAILED: {} - Error: {}", testName, errorMessage);
         ExtentReportManager.logFail("Test failed: " + errorMessage);
+        ExcelResultsRecorder.record(result);
+        ResultsEventStream.testFinished(result);
         
         // Delegate screenshot capture to specialized listener
         // ScreenshotListener will handle this automatically
+        releaseNodeCreatedHere(result);
     }
     
     @Override
@@ -53,8 +73,29 @@ public class TestExecutionListener implements ITestListener {
             result.getThrowable().getMessage() : "Dependency failure";
             
         logger.warn("⏭️ TEST SKIPPED: {} - Reason: {}", testName, skipReason);
-        ExtentReportManager.createTest(testName, "Skipped test");
+
+        // Reuse the node of a test that was set up (e.g. retried); dependency skips never ran setup
+        if (ExtentReportManager.getCurrentTest() == null) {
+            ExtentReportManager.createTest(testName, "Skipped test");
+            result.setAttribute(NODE_CREATED_HERE, Boolean.TRUE);
+        }
         ExtentReportManager.logSkip("Test skipped: " + skipReason);
+        ExcelResultsRecorder.record(result);
+        ResultsEventStream.testFinished(result);
+        releaseNodeCreatedHere(result);
+    }
+
+    /**
+     * No teardown releases a node this listener created - release it so the next test on this
+     * thread starts clean. TestNG calls end-of-test listeners in reverse registration order, so
+     * listeners registered after this one (ScreenshotListener) have already logged to the node.
+     */
+    private void releaseNodeCreatedHere(ITestResult result) {
+        if (Boolean.TRUE.equals(result.getAttribute(NODE_CREATED_HERE))) {
+            result.removeAttribute(NODE_CREATED_HERE);
+            ExtentReportManager.completeTest();
+            ExtentReportManager.removeTest();
+        }
     }
     
     private String getTestDescription(ITestResult result) {
@@ -0,0 +1,385 @@
+package com.naveensdet.unifiedwebautomation.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * CsvParser - RFC-4180 CSV reader working directly on a char buffer.
+ *
+ * Supports quoted fields containing delimiters, line breaks and escaped quotes (""),
+ * CRLF/LF line endings and a leading BOM. Header names are interned so row maps share
+ * their keys. Offers streaming access (record-by-record, row callback or iterator) and an
+ * in-memory {@link Index} for keyed lookups.
+ */
+public class CsvParser implements Closeable {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final Reader reader;
+	private final char delimiter;
+	private final char[] buf = new char[BUFFER_SIZE];
+	private final StringBuilder field = new StringBuilder(128);
+	private final List<String> fields = new ArrayList<>();
+
+	private int pos;
+	private int limit;
+	private long recordCount;
+	private boolean started;
+	private String[] headers;
+
+	/**
+	 * @param reader    Source of CSV characters (buffering is done internally).
+	 * @param delimiter Field delimiter, e.g. ','.
+	 */
+	public CsvParser(Reader reader, char delimiter) {
+		if (reader == null) {
+			throw new FrameworkException("CSV reader cannot be null");
+		}
+		if (delimiter == '"' || delimiter == '\n' || delimiter == '\r') {
+			throw new FrameworkException("Invalid CSV delimiter: '" + delimiter + "'");
+		}
+		this.reader = reader;
+		this.delimiter = delimiter;
+	}
+
+	/** Opens a UTF-8 CSV file for parsing. */
+	public static CsvParser open(Path path, char delimiter) throws IOException {
+		return new CsvParser(Files.newBufferedReader(path, StandardCharsets.UTF_8), delimiter);
+	}
+
+	/**
+	 * Reads the next record, skipping blank lines.
+	 *
+	 * @return Field values, or null at end of input.
+	 * @throws FrameworkException on an unterminated quoted field.
+	 */
+	public String[] readRecord() throws IOException {
+		while (true) {
+			if (pos >= limit && !fill()) {
+				return null;
+			}
+			if (!started) {
+				started = true;
+				if (buf[pos] == '\uFEFF') {
+					pos++;
+					continue;
+				}
+			}
+
+			fields.clear();
+			int terminator;
+			do {
+				terminator = readField();
+				fields.add(field.toString());
+			} while (terminator == delimiter);
+
+			if (fields.size() == 1 && fields.get(0).isEmpty()) {
+				continue; // blank line
+			}
+			recordCount++;
+			return fields.toArray(new String[0]);
+		}
+	}
+
+	/**
+	 * Reads the first record as the header row. Names are trimmed and interned.
+	 *
+	 * @return Header names (empty array for an empty file).
+	 */
+	public String[] readHeader() throws IOException {
+		String[] record = readRecord();
+		if (record == null) {
+			headers = new String[0];
+		} else {
+			for (int i = 0; i < record.length; i++) {
+				record[i] = record[i].trim().intern();
+			}
+			headers = record;
+		}
+		return headers;
+	}
+
+	/** Header names read by {@link #readHeader()}, or null if not read yet. */
+	public String[] getHeaders() {
+		return headers;
+	}
+
+	/** Number of records returned so far (including the header). */
+	public long getRecordCount() {
+		return recordCount;
+	}
+
+	/**
+	 * Maps a record onto the header row. Missing trailing fields become "".
+	 */
+	public Map<String, String> toMap(String[] record) {
+		if (headers == null) {
+			throw new FrameworkException("CSV header has not been read");
+		}
+		Map<String, String> row = new LinkedHashMap<>(headers.length * 4 / 3 + 1);
+		for (int i = 0; i < headers.length; i++) {
+			row.put(headers[i], i < record.length ? record[i] : "");
+		}
+		return row;
+	}
+
+	/**
+	 * Lazily iterates the remaining records as header-keyed maps. Reads the header first if needed.
+	 */
+	public Iterator<Map<String, String>> rows() throws IOException {
+		if (headers == null) {
+			readHeader();
+		}
+		return new Iterator<Map<String, String>>() {
+			private String[] next = readNext();
+
+			private String[] readNext() {
+				try {
+					return readRecord();
+				} catch (IOException e) {
+					throw new FrameworkException("Failed to read CSV record " + (recordCount + 1), e);
+				}
+			}
+
+			@Override
+			public boolean hasNext() {
+				return next != null;
+			}
+
+			@Override
+			public Map<String, String> next() {
+				if (next == null) {
+					throw new NoSuchElementException("No more CSV rows");
+				}
+				Map<String, String> row = toMap(next);
+				next = readNext();
+				return row;
+			}
+		};
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	// === Static conveniences ===
+
+	/**
+	 * Streams every data row of a CSV file to the callback without retaining rows.
+	 *
+	 * @return Number of data rows processed.
+	 */
+	public static long forEachRow(Path path, char delimiter, Consumer<Map<String, String>> callback) throws IOException {
+		try (CsvParser parser = open(path, delimiter)) {
+			Iterator<Map<String, String>> rows = parser.rows();
+			long count = 0;
+			while (rows.hasNext()) {
+				callback.accept(rows.next());
+				count++;
+			}
+			return count;
+		}
+	}
+
+	/**
+	 * Streams the file until the first row whose key column equals the key (case-insensitive).
+	 *
+	 * @param keyColumn Zero-based index of the key column.
+	 * @return Matching row, or null when not found.
+	 */
+	public static Map<String, String> findRow(Path path, char delimiter, int keyColumn, String key) throws IOException {
+		try (CsvParser parser = open(path, delimiter)) {
+			parser.readHeader();
+			String[] record;
+			while ((record = parser.readRecord()) != null) {
+				if (keyColumn < record.length && record[keyColumn].trim().equalsIgnoreCase(key)) {
+					return parser.toMap(record);
+				}
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Loads a CSV file into an {@link Index} keyed by the given header column.
+	 */
+	public static Index index(Path path, char delimiter, String keyColumn) throws IOException {
+		try (CsvParser parser = open(path, delimiter)) {
+			String[] header = parser.readHeader();
+			int keyIndex = Arrays.asList(header).indexOf(keyColumn);
+			if (keyIndex < 0) {
+				throw new FrameworkException("Key column '" + keyColumn + "' not found in CSV header: " + path);
+			}
+			Index index = new Index(header, keyIndex);
+			String[] record;
+			while ((record = parser.readRecord()) != null) {
+				index.add(record);
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * Formats one record for writing, quoting fields that contain the delimiter, quotes or line breaks.
+	 */
+	public static String formatRecord(List<String> values, char delimiter) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < values.size(); i++) {
+			if (i > 0) {
+				sb.append(delimiter);
+			}
+			String value = values.get(i) != null ? values.get(i) : "";
+			boolean quote = value.indexOf(delimiter) >= 0 || value.indexOf('"') >= 0
+					|| value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+			if (quote) {
+				sb.append('"').append(value.replace("\"", "\"\"")).append('"');
+			} else {
+				sb.append(value);
+			}
+		}
+		return sb.toString();
+	}
+
+	// === Parsing internals ===
+
+	/**
+	 * Reads one field into {@link #field}.
+	 *
+	 * @return The delimiter, '\n' for end of record, or -1 for end of input.
+	 */
+	private int readField() throws IOException {
+		field.setLength(0);
+		if (pos >= limit && !fill()) {
+			return -1;
+		}
+		if (buf[pos] == '"') {
+			pos++;
+			readQuoted();
+		}
+		while (true) {
+			if (pos >= limit && !fill()) {
+				return -1;
+			}
+			int start = pos;
+			while (pos < limit) {
+				char c = buf[pos];
+				if (c == delimiter || c == '\n' || c == '\r') {
+					field.append(buf, start, pos - start);
+					pos++;
+					if (c == '\r') {
+						if (pos >= limit) {
+							fill();
+						}
+						if (pos < limit && buf[pos] == '\n') {
+							pos++;
+						}
+						return '\n';
+					}
+					return c;
+				}
+				pos++;
+			}
+			field.append(buf, start, pos - start);
+		}
+	}
+
+	/** Reads the body of a quoted field, positioned just after the opening quote. */
+	private void readQuoted() throws IOException {
+		while (true) {
+			if (pos >= limit && !fill()) {
+				throw new FrameworkException("Unterminated quoted CSV field in record " + (recordCount + 1));
+			}
+			int start = pos;
+			while (pos < limit && buf[pos] != '"') {
+				pos++;
+			}
+			field.append(buf, start, pos - start);
+			if (pos < limit) {
+				pos++;
+				if (pos >= limit) {
+					fill();
+				}
+				if (pos < limit && buf[pos] == '"') {
+					field.append('"');
+					pos++;
+					continue;
+				}
+				return;
+			}
+		}
+	}
+
+	private boolean fill() throws IOException {
+		int read = reader.read(buf, 0, buf.length);
+		pos = 0;
+		limit = Math.max(read, 0);
+		return read > 0;
+	}
+
+	/**
+	 * Index - rows of a CSV file held as compact String arrays and looked up by key column.
+	 * Keys are matched case-insensitively; the first occurrence of a key wins.
+	 */
+	public static final class Index {
+
+		private final String[] headers;
+		private final int keyIndex;
+		private final List<String[]> records = new ArrayList<>();
+		private final Map<String, Integer> positions = new HashMap<>();
+
+		private Index(String[] headers, int keyIndex) {
+			this.headers = headers;
+			this.keyIndex = keyIndex;
+		}
+
+		private void add(String[] record) {
+			String key = keyIndex < record.length ? record[keyIndex].trim().toLowerCase() : "";
+			positions.putIfAbsent(key, records.size());
+			records.add(record);
+		}
+
+		/** Returns the row for the key, or null when absent. */
+		public Map<String, String> get(String key) {
+			Integer position = key != null ? positions.get(key.trim().toLowerCase()) : null;
+			if (position == null) {
+				return null;
+			}
+			String[] record = records.get(position);
+			Map<String, String> row = new LinkedHashMap<>();
+			for (int i = 0; i < headers.length; i++) {
+				row.put(headers[i], i < record.length ? record[i] : "");
+			}
+			return row;
+		}
+
+		/** Returns true when a row with the key exists. */
+		public boolean containsKey(String key) {
+			return key != null && positions.containsKey(key.trim().toLowerCase());
+		}
+
+		/** Number of data rows in the index. */
+		public int size() {
+			return records.size();
+		}
+
+		/** Header names of the indexed file. */
+		public List<String> getHeaders() {
+			return Collections.unmodifiableList(Arrays.asList(headers));
+		}
+	}
+}
@@ -9,6 +9,8 @@ import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.safari.SafariDriver;
 import org.openqa.selenium.safari.SafariOptions;
@@ -22,6 +24,9 @@ import java.net.URISyntaxException;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
 
 public class DriverManager {
 
@@ -35,6 +40,12 @@ public class DriverManager {
 	 */
 	private static ThreadLocal<WebDriver> tlDriver = new ThreadLocal<>();
 
+	/**
+	 * Every driver handed out to any thread, so drivers created on pooled data provider
+	 * threads can still be quit at suite end.
+	 */
+	private static final Set<WebDriver> activeDrivers = ConcurrentHashMap.newKeySet();
+
 	/**
 	 * Initializes the WebDriver based on environment-specific browser configuration
 	 */
@@ -69,7 +80,9 @@ public class DriverManager {
 			}
 
 			tlDriver.set(driver);
+			activeDrivers.add(driver);
 			setupDriverConfiguration(driver);
+			ScreencastRecorder.start(driver);
 			logger.info("Browser {} launched successfully.", browser.toUpperCase());
 
 		} catch (Exception e) {
@@ -95,12 +108,33 @@ public class DriverManager {
 	public static void quitDriver() {
 		WebDriver driver = tlDriver.get();
 		if (driver != null) {
+			activeDrivers.remove(driver);
+			ScreencastRecorder.stop(driver);
 			driver.quit();
 			tlDriver.remove();
 			logger.info("Browser closed successfully.");
 		}
 	}
 
+	/**
+	 * Quits every driver still open on any thread (e.g. data provider worker threads).
+	 */
+	public static void quitAllDrivers() {
+		tlDriver.remove();
+		for (WebDriver driver : activeDrivers) {
+			try {
+				ScreencastRecorder.stop(driver);
+				driver.quit();
+			} catch (Exception e) {
+				logger.warn("Error quitting browser: {}", e.getMessage());
+			}
+		}
+		if (!activeDrivers.isEmpty()) {
+			logger.info("Closed {} remaining browser(s).", activeDrivers.size());
+		}
+		activeDrivers.clear();
+	}
+
 	/**
 	 * Configures the WebDriver with timeouts and window settings
 	 */
@@ -147,6 +181,11 @@ public class DriverManager {
 			options.setCapability("proxy", proxy);
 		}
 
+		// Console entries of every level for the failure evidence bundle
+		if (EvidenceBundle.isEnabled()) {
+			options.setCapability(ChromeOptions.LOGGING_PREFS, browserLogPreferences());
+		}
+
 		options.addArguments("--disable-gpu", "--window-size=1920,1080", "--no-sandbox");
 		return options;
 	}
@@ -202,10 +241,21 @@ public class DriverManager {
 			options.setCapability("proxy", proxy);
 		}
 
+		// Console entries of every level for the failure evidence bundle
+		if (EvidenceBundle.isEnabled()) {
+			options.setCapability("ms:loggingPrefs", browserLogPreferences());
+		}
+
 		options.addArguments("--window-size=1920,1080");
 		return options;
 	}
 
+	private static LoggingPreferences browserLogPreferences() {
+		LoggingPreferences preferences = new LoggingPreferences();
+		preferences.enable(LogType.BROWSER, Level.ALL);
+		return preferences;
+	}
+
 
 	/**
 	 * Creates Safari options with configured settings
@@ -0,0 +1,285 @@
+package com.naveensdet.unifiedwebautomation.utils;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import javax.imageio.ImageIO;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * ElementCapture - screenshots of several elements from a single page capture.
+ *
+ * One script call returns every element's rectangle together with the device pixel ratio and the
+ * scroll position. When all elements are inside the viewport one viewport screenshot is taken;
+ * otherwise Chrome/Edge capture just the area covering all of them through DevTools (no scrolling).
+ * The image is decoded once and the elements are cropped from it in parallel. Browsers without
+ * DevTools fall back to one element screenshot per element that is outside the viewport, taken
+ * after the viewport capture; the scroll position is restored afterwards.
+ */
+public final class ElementCapture {
+
+	private static final Logger logger = LoggerFactory.getLogger(ElementCapture.class);
+
+	// CSS-pixel viewport rectangles of the XPaths, or null while any of them is missing or has no size
+	private static final String LAYOUT_SCRIPT = "var rects = [];"
+			+ " for (var i = 0; i < arguments.length; i++) {"
+			+ " var e = document.evaluate(arguments[i], document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+			+ " if (!e) return null; var b = e.getBoundingClientRect();"
+			+ " if (b.width <= 0 || b.height <= 0) return null;"
+			+ " rects.push([b.left, b.top, b.width, b.height]); }"
+			+ " var d = document.documentElement;"
+			+ " return { dpr: window.devicePixelRatio || 1, scrollX: window.pageXOffset, scrollY: window.pageYOffset,"
+			+ " width: d.clientWidth || window.innerWidth, height: d.clientHeight || window.innerHeight, rects: rects };";
+
+	// Private constructor to prevent instantiation
+	private ElementCapture() {
+		throw new AssertionError("Utility class should not be instantiated");
+	}
+
+	/**
+	 * Finds the elements and reads their position in one script call.
+	 *
+	 * @param driver Driver to query.
+	 * @param xpaths XPaths of the elements.
+	 * @return Layout, or null while any element is missing or has no size (for use in a wait).
+	 */
+	public static Layout locate(WebDriver driver, List<String> xpaths) {
+		Object result = ((JavascriptExecutor) driver).executeScript(LAYOUT_SCRIPT, xpaths.toArray());
+		if (!(result instanceof Map)) {
+			return null;
+		}
+		Map<?, ?> map = (Map<?, ?>) result;
+		List<?> rects = (List<?>) map.get("rects");
+		double[][] bounds = new double[rects.size()][];
+		for (int i = 0; i < bounds.length; i++) {
+			List<?> rect = (List<?>) rects.get(i);
+			bounds[i] = new double[] { number(rect.get(0)), number(rect.get(1)), number(rect.get(2)), number(rect.get(3)) };
+		}
+		return new Layout(new ArrayList<>(xpaths), bounds, number(map.get("dpr")), number(map.get("scrollX")),
+				number(map.get("scrollY")), number(map.get("width")), number(map.get("height")));
+	}
+
+	/**
+	 * Captures the page once and writes each element's crop on the screenshot writer. Crops run in
+	 * parallel on the writer threads once the capture is decoded.
+	 *
+	 * @param driver  Driver to capture.
+	 * @param layout  Element positions from {@link #locate(WebDriver, List)}.
+	 * @param targets File per XPath (same order as the layout).
+	 * @return Files that will hold the crops, by XPath.
+	 */
+	public static Map<String, Path> captureTo(WebDriver driver, Layout layout, List<Path> targets) {
+		Capture capture = capture(driver, layout);
+		CompletableFuture<BufferedImage> decoded = capture.base64 == null
+				? CompletableFuture.completedFuture(null)
+				: CompletableFuture.supplyAsync(() -> decode(capture.base64));
+
+		Map<String, Path> files = new LinkedHashMap<>();
+		for (int i = 0; i < layout.size(); i++) {
+			int element = i;
+			Path file = targets.get(i);
+			if (capture.fallback[element] != null) {
+				ScreenshotService.write(capture.fallback[element], file);
+			} else {
+				ScreenshotService.submit(file, () -> ScreenshotService.writeFile(
+						ScreenshotEncoder.encode(crop(decoded.get(), layout, capture, element), file), file));
+			}
+			files.put(layout.xpaths.get(i), file);
+		}
+		return files;
+	}
+
+	/**
+	 * Captures the page once and returns each element's crop as a Base64 PNG, cropping in parallel.
+	 *
+	 * @param driver Driver to capture.
+	 * @param layout Element positions from {@link #locate(WebDriver, List)}.
+	 * @return Base64 PNG by XPath, in layout order.
+	 */
+	public static Map<String, String> captureAsBase64(WebDriver driver, Layout layout) {
+		Capture capture = capture(driver, layout);
+		BufferedImage image = capture.base64 == null ? null : decode(capture.base64);
+		String[] crops = new String[layout.size()];
+		IntStream.range(0, crops.length).parallel().forEach(element -> {
+			if (capture.fallback[element] != null) {
+				crops[element] = capture.fallback[element];
+				return;
+			}
+			try {
+				ByteArrayOutputStream png = new ByteArrayOutputStream();
+				ImageIO.write(crop(image, layout, capture, element), "png", png);
+				crops[element] = Base64.getEncoder().encodeToString(png.toByteArray());
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		Map<String, String> result = new LinkedHashMap<>();
+		for (int i = 0; i < crops.length; i++) {
+			result.put(layout.xpaths.get(i), crops[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * Takes the one capture the elements are cropped from: the viewport when they are all visible,
+	 * otherwise the DevTools region covering all of them. Without DevTools, elements outside the
+	 * viewport get their own element screenshot.
+	 */
+	private static Capture capture(WebDriver driver, Layout layout) {
+		String[] fallback = new String[layout.size()];
+		double[] union = layout.union();
+		if (!layout.inViewport(union)) {
+			String region = FullPageCapture.captureRegion(driver, layout.scrollX + union[0], layout.scrollY + union[1],
+					union[2] - union[0], union[3] - union[1]);
+			if (region != null) {
+				return new Capture(region, union[0], union[1], fallback);
+			}
+			boolean[] outside = new boolean[layout.size()];
+			int outsideCount = 0;
+			for (int i = 0; i < layout.size(); i++) {
+				outside[i] = !layout.inViewport(layout.bounds(i));
+				if (outside[i]) {
+					outsideCount++;
+				}
+			}
+			// Element screenshots scroll the page, so the viewport the layout was measured in is captured first
+			String viewport = outsideCount < layout.size() ? ScreenshotService.capture(driver) : null;
+			try {
+				for (int i = 0; i < layout.size(); i++) {
+					if (outside[i]) {
+						fallback[i] = driver.findElement(By.xpath(layout.xpaths.get(i))).getScreenshotAs(OutputType.BASE64);
+					}
+				}
+			} finally {
+				((JavascriptExecutor) driver).executeScript("window.scrollTo(arguments[0], arguments[1]);",
+						layout.scrollX, layout.scrollY);
+			}
+			logger.debug("No DevTools region capture - {} element(s) outside the viewport captured one by one", outsideCount);
+			return new Capture(viewport, 0, 0, fallback);
+		}
+		return new Capture(ScreenshotService.capture(driver), 0, 0, fallback);
+	}
+
+	/** Crop of one element: its CSS rectangle relative to the capture origin, times the pixel ratio. */
+	private static BufferedImage crop(BufferedImage image, Layout layout, Capture capture, int element) {
+		double[] rect = layout.rects[element];
+		int x = clamp((int) Math.floor((rect[0] - capture.originX) * layout.dpr), image.getWidth() - 1);
+		int y = clamp((int) Math.floor((rect[1] - capture.originY) * layout.dpr), image.getHeight() - 1);
+		int right = clamp((int) Math.ceil((rect[0] + rect[2] - capture.originX) * layout.dpr), image.getWidth());
+		int bottom = clamp((int) Math.ceil((rect[1] + rect[3] - capture.originY) * layout.dpr), image.getHeight());
+		return image.getSubimage(x, y, Math.max(1, right - x), Math.max(1, bottom - y));
+	}
+
+	private static BufferedImage decode(String base64) {
+		try {
+			BufferedImage image = ImageIO.read(new ByteArrayInputStream(Base64.getMimeDecoder().decode(base64)));
+			if (image == null) {
+				throw new FrameworkException("Screenshot is not a readable image");
+			}
+			return image;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static int clamp(int value, int max) {
+		return Math.max(0, Math.min(max, value));
+	}
+
+	private static double number(Object value) {
+		return value instanceof Number ? ((Number) value).doubleValue() : 0;
+	}
+
+	/**
+	 * Layout - element rectangles (CSS pixels, relative to the viewport) with the pixel ratio and
+	 * scroll position they were measured at.
+	 */
+	public static final class Layout {
+
+		private final List<String> xpaths;
+		private final double[][] rects;
+		private final double dpr;
+		private final double scrollX;
+		private final double scrollY;
+		private final double viewportWidth;
+		private final double viewportHeight;
+
+		private Layout(List<String> xpaths, double[][] rects, double dpr, double scrollX, double scrollY,
+				double viewportWidth, double viewportHeight) {
+			this.xpaths = xpaths;
+			this.rects = rects;
+			this.dpr = dpr > 0 ? dpr : 1;
+			this.scrollX = scrollX;
+			this.scrollY = scrollY;
+			this.viewportWidth = viewportWidth;
+			this.viewportHeight = viewportHeight;
+		}
+
+		public int size() {
+			return rects.length;
+		}
+
+		public double getDevicePixelRatio() {
+			return dpr;
+		}
+
+		/** Left, top, right, bottom of one element. */
+		private double[] bounds(int element) {
+			double[] r = rects[element];
+			return new double[] { r[0], r[1], r[0] + r[2], r[1] + r[3] };
+		}
+
+		/** Left, top, right, bottom of the area covering all elements. */
+		private double[] union() {
+			double[] union = bounds(0);
+			for (int i = 1; i < rects.length; i++) {
+				double[] b = bounds(i);
+				union[0] = Math.min(union[0], b[0]);
+				union[1] = Math.min(union[1], b[1]);
+				union[2] = Math.max(union[2], b[2]);
+				union[3] = Math.max(union[3], b[3]);
+			}
+			return union;
+		}
+
+		private boolean inViewport(double[] b) {
+			return b[0] >= 0 && b[1] >= 0 && b[2] <= viewportWidth && b[3] <= viewportHeight;
+		}
+	}
+
+	/**
+	 * Capture - the image elements are cropped from and where its top-left corner is in viewport
+	 * CSS pixels, plus per-element screenshots taken instead of a crop.
+	 */
+	private static final class Capture {
+
+		private final String base64;
+		private final double originX;
+		private final double originY;
+		private final String[] fallback;
+
+		private Capture(String base64, double originX, double originY, String[] fallback) {
+			this.base64 = base64;
+			this.originX = originX;
+			this.originY = originY;
+			this.fallback = fallback;
+		}
+	}
+}
@@ -0,0 +1,248 @@
+package com.naveensdet.unifiedwebautomation.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * EvidenceBundle - everything known about the page at a failure, in one zip per failure.
+ *
+ * The page URL and source, the browser console, the most recent network requests (Resource Timing
+ * entries) and the screenshot are collected in parallel while the browser still shows the failed
+ * state. The failing test waits at most 'evidence.bundle.budgetMillis' for them; parts that are
+ * late get 'evidence.bundle.graceMillis' more, without holding any thread, before they are left
+ * out. Only then is the zip handed to the {@link ScreenshotService} writer (reports/evidence); it
+ * counts as a pending write from the start, so the report is not zipped before it. Text entries
+ * are compressed; the screenshot is stored as is.
+ *
+ * Collectors run on at most 'evidence.bundle.maxCollectors' threads. A WebDriver call that hangs
+ * cannot be interrupted: a part left out after the grace period keeps its thread until the call
+ * returns or the browser is closed, and while all collectors are busy new parts are recorded as
+ * not available instead of starting more threads.
+ */
+public final class EvidenceBundle {
+
+	private static final Logger logger = LoggerFactory.getLogger(EvidenceBundle.class);
+
+	private static final boolean ENABLED =
+			Boolean.parseBoolean(ConfigManager.getProperty("evidence.bundle.enabled", "true"));
+	private static final long BUDGET_MILLIS = Math.max(100, ConfigManager.getIntProperty("evidence.bundle.budgetMillis", 1500));
+	private static final long GRACE_MILLIS = Math.max(0, ConfigManager.getIntProperty("evidence.bundle.graceMillis", 3000));
+	private static final int NETWORK_ENTRIES = Math.max(1, ConfigManager.getIntProperty("evidence.bundle.networkEntries", 200));
+	private static final int MAX_COLLECTORS = Math.max(5, ConfigManager.getIntProperty("evidence.bundle.maxCollectors", 16));
+
+	// Last N Resource Timing entries as JSON; responseStatus is reported by Chromium 109+
+	private static final String NETWORK_SCRIPT = "var n = arguments[0], all = performance.getEntriesByType('resource');"
+			+ " var nav = performance.getEntriesByType('navigation');"
+			+ " var list = nav.concat(all.slice(Math.max(0, all.length - n)));"
+			+ " return JSON.stringify(list.map(function (e) { return { name: e.name, type: e.initiatorType || e.entryType,"
+			+ " start: Math.round(e.startTime), duration: Math.round(e.duration), transferSize: e.transferSize,"
+			+ " status: e.responseStatus }; }), null, 1);";
+
+	private static final ExecutorService COLLECTORS = createCollectors();
+
+	// Private constructor to prevent instantiation
+	private EvidenceBundle() {
+		throw new AssertionError("Utility class should not be instantiated");
+	}
+
+	/** Returns true when failure evidence bundles are configured. */
+	public static boolean isEnabled() {
+		return ENABLED;
+	}
+
+	/**
+	 * Collects the failure evidence in parallel and hands the zip to the screenshot writer.
+	 *
+	 * @param driver     Driver of the failed test.
+	 * @param testName   Test name, used in the file name.
+	 * @param screenshot Failure screenshot already taken (e.g. from {@link FailureEvidence}); taken
+	 *                   here when null.
+	 * @param failure    Failure message for the summary entry; may be null.
+	 * @return The zip file, or null when there is no browser.
+	 */
+	public static Path capture(WebDriver driver, String testName, byte[] screenshot, String failure) {
+		if (driver == null) {
+			return null;
+		}
+		long start = System.nanoTime();
+		Map<String, CompletableFuture<byte[]>> parts = new LinkedHashMap<>();
+		parts.put("url.txt", collect(() -> utf8(driver.getCurrentUrl())));
+		parts.put("page.html", collect(() -> utf8(driver.getPageSource())));
+		parts.put("console.log", collect(() -> utf8(console(driver))));
+		parts.put("network.json", collect(() -> utf8(network(driver))));
+		// Named after the bytes as they are stored (a raw PNG stays .png whatever screenshot.format says)
+		parts.put("screenshot." + (screenshot != null && !ScreenshotEncoder.needsEncoding(screenshot)
+				? ScreenshotEncoder.extensionFor(screenshot) : "png"),
+				screenshot != null ? CompletableFuture.completedFuture(screenshot)
+						: collect(() -> ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES)));
+
+		// Wait on the test thread only as long as the budget allows; the page must not change meanwhile
+		long deadline = start + TimeUnit.MILLISECONDS.toNanos(BUDGET_MILLIS);
+		int ready = 0;
+		for (Future<byte[]> part : parts.values()) {
+			try {
+				part.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+				ready++;
+			} catch (TimeoutException e) {
+				break;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			} catch (Exception e) {
+				// Recorded in the summary entry by the writer
+				ready++;
+			}
+		}
+		long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS"));
+		String fileName = "EVIDENCE_" + testName.replaceAll("[^A-Za-z0-9._-]", "_") + "_" + timestamp + ".zip";
+		Path target = getEvidenceDirectory().resolve(fileName);
+		String summary = "Test: " + testName + "\nFailure: " + failure + "\nCaptured: " + Instant.now()
+				+ "\nCollection time on test thread: " + waitedMillis + " ms (budget " + BUDGET_MILLIS + " ms)\n";
+		// Late parts get the grace period without blocking a writer thread; then the zip is queued
+		CompletableFuture<Void> handedOver = CompletableFuture.allOf(parts.values().toArray(new CompletableFuture<?>[0]))
+				.exceptionally(e -> null)
+				.completeOnTimeout(null, GRACE_MILLIS, TimeUnit.MILLISECONDS)
+				.thenRun(() -> ScreenshotService.submit(target, () -> writeZip(target, summary, parts)));
+		ScreenshotService.track(target, handedOver);
+
+		try {
+			ExtentReportManager.logInfo("📦 Failure evidence (page source, console, network, screenshot): "
+					+ "<a href='./evidence/" + fileName + "' target='_blank'>" + fileName + "</a>");
+		} catch (Exception e) {
+			logger.debug("Could not link failure evidence in the report: {}", e.getMessage());
+		}
+		logger.info("Failure evidence collected in {} ms ({} of {} parts within the {} ms budget): {}",
+				waitedMillis, ready, parts.size(), BUDGET_MILLIS, target);
+		return target;
+	}
+
+	/** Folder for evidence zips, next to the report screenshots (reports/evidence). */
+	public static Path getEvidenceDirectory() {
+		return Paths.get(ConfigManager.getScreenshotDirectory()).resolveSibling("evidence");
+	}
+
+	/** Writes the parts collected so far; runs once every part is done or the grace period is over. */
+	private static Path writeZip(Path target, String summary, Map<String, CompletableFuture<byte[]>> parts) throws IOException {
+		ScreenshotService.ensureDirectory(target.toAbsolutePath().getParent());
+		long deadline = System.nanoTime();
+		StringBuilder notes = new StringBuilder(summary);
+		try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(target), 64 * 1024);
+				ZipOutputStream zip = new ZipOutputStream(file)) {
+			zip.setLevel(Deflater.BEST_SPEED);
+			for (Map.Entry<String, CompletableFuture<byte[]>> part : parts.entrySet()) {
+				byte[] data = result(part.getKey(), part.getValue(), deadline, notes);
+				if (data != null) {
+					putEntry(zip, part.getKey(), data, part.getKey().startsWith("screenshot."));
+				}
+			}
+			putEntry(zip, "summary.txt", utf8(notes.toString()), false);
+		}
+		return target;
+	}
+
+	private static byte[] result(String name, Future<byte[]> part, long deadline, StringBuilder notes) {
+		try {
+			return part.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			// Marks the part as abandoned; it does not interrupt a WebDriver call that is still running
+			part.cancel(true);
+			notes.append(name).append(": not collected in time\n");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			notes.append(name).append(": interrupted\n");
+		} catch (Exception e) {
+			Throwable cause = e.getCause() != null ? e.getCause() : e;
+			notes.append(name).append(": not available - ").append(cause.getMessage()).append('\n');
+		}
+		return null;
+	}
+
+	/** Adds an entry; images are already compressed and are stored as is. */
+	private static void putEntry(ZipOutputStream zip, String name, byte[] data, boolean store) throws IOException {
+		ZipEntry entry = new ZipEntry(name);
+		if (store) {
+			CRC32 crc = new CRC32();
+			crc.update(data);
+			entry.setMethod(ZipEntry.STORED);
+			entry.setSize(data.length);
+			entry.setCompressedSize(data.length);
+			entry.setCrc(crc.getValue());
+		}
+		zip.putNextEntry(entry);
+		zip.write(data);
+		zip.closeEntry();
+	}
+
+	private static String console(WebDriver driver) {
+		StringBuilder text = new StringBuilder();
+		for (LogEntry entry : driver.manage().logs().get(LogType.BROWSER)) {
+			text.append(Instant.ofEpochMilli(entry.getTimestamp())).append(' ')
+			.append(entry.getLevel()).append(' ').append(entry.getMessage()).append('\n');
+		}
+		return text.length() == 0 ? "(no console entries)\n" : text.toString();
+	}
+
+	private static String network(WebDriver driver) {
+		Object json = ((JavascriptExecutor) driver).executeScript(NETWORK_SCRIPT, NETWORK_ENTRIES);
+		return json == null ? "[]" : json.toString();
+	}
+
+	private static CompletableFuture<byte[]> collect(Supplier<byte[]> task) {
+		try {
+			return CompletableFuture.supplyAsync(task, COLLECTORS);
+		} catch (RejectedExecutionException e) {
+			CompletableFuture<byte[]> busy = new CompletableFuture<>();
+			busy.completeExceptionally(new IllegalStateException("all " + MAX_COLLECTORS + " evidence collectors are busy"));
+			return busy;
+		}
+	}
+
+	private static byte[] utf8(String text) {
+		return (text == null ? "" : text).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static ExecutorService createCollectors() {
+		AtomicInteger threadNumber = new AtomicInteger();
+		// Like a cached pool, but bounded: hung WebDriver calls cannot pile up threads without limit
+		return new ThreadPoolExecutor(0, MAX_COLLECTORS, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+			Thread thread = new Thread(runnable, "failure-evidence-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}, new ThreadPoolExecutor.AbortPolicy());
+	}
+}
@@ -0,0 +1,408 @@
+package com.naveensdet.unifiedwebautomation.utils;
+
+import java.io.File;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestContext;
+import org.testng.annotations.DataProvider;
+
+/**
+ * ExcelDataProvider - TestNG data providers that stream spreadsheet rows lazily.
+ *
+ * The sheet XML is pulled row by row (StAX) instead of building an XSSFWorkbook, so large
+ * registration matrices never sit in memory as a whole. Each invocation receives one
+ * {@code Map<String, String>} keyed by the header row. Use together with {@link ExcelSource}:
+ *
+ * <pre>
+ * &#64;ExcelSource(sheet = "Registration", tags = "smoke")
+ * &#64;Test(dataProvider = "excelRows", dataProviderClass = ExcelDataProvider.class)
+ * public void register(Map&lt;String, String&gt; row) { ... }
+ * </pre>
+ *
+ * Parallelism is controlled by 'data-provider-thread-count' in the suite XML; every worker
+ * thread gets its own WebDriver through BaseClass.setUpTest.
+ */
+public final class ExcelDataProvider {
+
+	private static final Logger logger = LoggerFactory.getLogger(ExcelDataProvider.class);
+
+	// Private constructor to prevent instantiation
+	private ExcelDataProvider() {
+		throw new AssertionError("Utility class should not be instantiated");
+	}
+
+	/**
+	 * Parallel data provider - rows are spread across the TestNG data provider thread pool.
+	 */
+	@DataProvider(name = "excelRows", parallel = true)
+	public static Iterator<Object[]> excelRows(Method method, ITestContext context) {
+		return createIterator(method, context);
+	}
+
+	/**
+	 * Sequential variant for flows that must not run concurrently.
+	 */
+	@DataProvider(name = "excelRowsSequential")
+	public static Iterator<Object[]> excelRowsSequential(Method method, ITestContext context) {
+		return createIterator(method, context);
+	}
+
+	/**
+	 * Opens a lazy row iterator for the given workbook and sheet.
+	 *
+	 * @param filePath     Workbook path.
+	 * @param sheetName    Sheet name, or null/empty for the first sheet.
+	 * @param tags         Tags to match in the tag column (empty = no tag filter).
+	 * @param tagColumn    Header of the tag column.
+	 * @param filterColumn Header of the column to filter on (empty = no column filter).
+	 * @param filterValue  Expected value for the filter column.
+	 * @return Iterator of single-element arrays holding the row map.
+	 */
+	public static Iterator<Object[]> streamRows(String filePath, String sheetName, String[] tags,
+			String tagColumn, String filterColumn, String filterValue) {
+		return new RowIterator(resolveFile(filePath), sheetName, tags, tagColumn, filterColumn, filterValue);
+	}
+
+	private static Iterator<Object[]> createIterator(Method method, ITestContext context) {
+		ExcelSource source = method.getAnnotation(ExcelSource.class);
+
+		String file = source != null ? source.file() : "";
+		String sheet = source != null ? source.sheet() : "";
+		if (file.isEmpty()) {
+			file = getSuiteParameter(context, "excelFile");
+		}
+		if (sheet.isEmpty()) {
+			sheet = getSuiteParameter(context, "dataSheet");
+		}
+		if (file == null || file.isEmpty()) {
+			file = ConfigManager.getProperty("excelDataFile", "src/test/resources/testdata/data.xlsx");
+		}
+
+		logger.info("📊 Streaming Excel rows for {} from '{}' (sheet: {})", method.getName(), file,
+				sheet == null || sheet.isEmpty() ? "<first>" : sheet);
+
+		return source != null
+				? streamRows(file, sheet, source.tags(), source.tagColumn(), source.filterColumn(), source.filterValue())
+				: streamRows(file, sheet, new String[0], "Tags", "", "");
+	}
+
+	private static String getSuiteParameter(ITestContext context, String name) {
+		if (context == null || context.getCurrentXmlTest() == null) {
+			return "";
+		}
+		String value = context.getCurrentXmlTest().getParameter(name);
+		return value != null ? value.trim() : "";
+	}
+
+	/**
+	 * Resolves the workbook path against the project root and the test resources directory.
+	 */
+	private static File resolveFile(String filePath) {
+		if (filePath == null || filePath.trim().isEmpty()) {
+			throw new FrameworkException("Excel data file path cannot be null or empty");
+		}
+		File file = new File(filePath.trim());
+		if (!file.exists()) {
+			File inResources = Paths.get(ConfigManager.getTestResourcesDirectory(), filePath.trim()).toFile();
+			if (inResources.exists()) {
+				file = inResources;
+			}
+		}
+		if (!file.exists()) {
+			throw new FrameworkException("Excel data file not found: " + filePath);
+		}
+		return file;
+	}
+
+	/**
+	 * Converts a cell reference such as "AB12" to a zero-based column index.
+	 */
+	private static int columnIndex(String cellRef) {
+		int col = 0;
+		for (int i = 0; i < cellRef.length(); i++) {
+			char ch = cellRef.charAt(i);
+			if (ch < 'A' || ch > 'Z') {
+				break;
+			}
+			col = col * 26 + (ch - 'A' + 1);
+		}
+		return col - 1;
+	}
+
+	/**
+	 * Pull-based iterator over the sheet XML. Resources are released once the last row is read.
+	 */
+	private static final class RowIterator implements Iterator<Object[]> {
+
+		private final String[] tags;
+		private final String tagColumn;
+		private final String filterColumn;
+		private final String filterValue;
+
+		private OPCPackage pkg;
+		private InputStream sheetStream;
+		private XMLStreamReader reader;
+		private SharedStrings sharedStrings;
+		private StylesTable styles;
+		private final DataFormatter formatter = new DataFormatter();
+		private List<String> headers;
+		private Map<String, String> nextRow;
+		private int rowsReturned;
+
+		RowIterator(File file, String sheetName, String[] tags, String tagColumn,
+				String filterColumn, String filterValue) {
+			this.tags = tags != null ? tags : new String[0];
+			this.tagColumn = tagColumn;
+			this.filterColumn = filterColumn;
+			this.filterValue = filterValue;
+
+			try {
+				pkg = OPCPackage.open(file, PackageAccess.READ);
+				XSSFReader xssfReader = new XSSFReader(pkg);
+				sharedStrings = new ReadOnlySharedStringsTable(pkg);
+				styles = xssfReader.getStylesTable();
+				sheetStream = openSheet(xssfReader, sheetName);
+				// POI's factory has DTDs and external entities switched off
+				reader = XMLHelper.newXMLInputFactory().createXMLStreamReader(sheetStream);
+
+				List<String> headerCells = readRow();
+				if (headerCells == null) {
+					headers = new ArrayList<>();
+				} else {
+					headers = new ArrayList<>(headerCells.size());
+					for (String header : headerCells) {
+						headers.add(header == null ? "" : header.trim().intern());
+					}
+				}
+				nextRow = advance();
+			} catch (FrameworkException e) {
+				close();
+				throw e;
+			} catch (Exception e) {
+				close();
+				throw new FrameworkException("Failed to open Excel data file: " + file, e);
+			}
+		}
+
+		private InputStream openSheet(XSSFReader xssfReader, String sheetName) throws Exception {
+			XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+			while (sheets.hasNext()) {
+				InputStream stream = sheets.next();
+				if (sheetName == null || sheetName.isEmpty() || sheetName.equalsIgnoreCase(sheets.getSheetName())) {
+					return stream;
+				}
+				stream.close();
+			}
+			throw new FrameworkException("Sheet '" + sheetName + "' not found in Excel data file");
+		}
+
+		@Override
+		public boolean hasNext() {
+			return nextRow != null;
+		}
+
+		@Override
+		public Object[] next() {
+			if (nextRow == null) {
+				throw new NoSuchElementException("No more Excel rows");
+			}
+			Map<String, String> current = nextRow;
+			rowsReturned++;
+			nextRow = advance();
+			return new Object[] { current };
+		}
+
+		/**
+		 * Reads ahead to the next row that passes the configured filters.
+		 */
+		private Map<String, String> advance() {
+			try {
+				List<String> cells;
+				while ((cells = readRow()) != null) {
+					Map<String, String> row = new LinkedHashMap<>();
+					boolean blank = true;
+					for (int i = 0; i < headers.size(); i++) {
+						String value = i < cells.size() && cells.get(i) != null ? cells.get(i) : "";
+						if (!value.isEmpty()) {
+							blank = false;
+						}
+						row.put(headers.get(i), value);
+					}
+					if (!blank && matches(row)) {
+						return row;
+					}
+				}
+				logger.info("📊 Excel row stream finished - {} rows supplied", rowsReturned);
+				close();
+				return null;
+			} catch (Exception e) {
+				close();
+				throw new FrameworkException("Failed to read Excel data row", e);
+			}
+		}
+
+		private boolean matches(Map<String, String> row) {
+			if (filterColumn != null && !filterColumn.isEmpty()) {
+				String value = row.get(filterColumn);
+				if (value == null || !value.trim().equalsIgnoreCase(filterValue)) {
+					return false;
+				}
+			}
+			if (tags.length > 0) {
+				String rowTags = row.get(tagColumn);
+				if (rowTags == null || rowTags.trim().isEmpty()) {
+					return false;
+				}
+				List<String> rowTagList = Arrays.asList(rowTags.toLowerCase().split("\\s*,\\s*"));
+				for (String tag : tags) {
+					if (rowTagList.contains(tag.trim().toLowerCase())) {
+						return true;
+					}
+				}
+				return false;
+			}
+			return true;
+		}
+
+		/**
+		 * Reads the next &lt;row&gt; element into a column-indexed list, or null at end of sheet.
+		 */
+		private List<String> readRow() throws Exception {
+			if (reader == null) {
+				return null;
+			}
+			while (reader.hasNext()) {
+				int event = reader.next();
+				if (event == XMLStreamConstants.START_ELEMENT && "row".equals(reader.getLocalName())) {
+					return readCells();
+				}
+			}
+			return null;
+		}
+
+		private List<String> readCells() throws Exception {
+			List<String> cells = new ArrayList<>();
+			int nextCol = 0;
+			String cellType = null;
+			String cellStyle = null;
+			int col = 0;
+			StringBuilder inline = null;
+
+			while (reader.hasNext()) {
+				int event = reader.next();
+				if (event == XMLStreamConstants.START_ELEMENT) {
+					String name = reader.getLocalName();
+					if ("c".equals(name)) {
+						String ref = reader.getAttributeValue(null, "r");
+						col = ref != null ? columnIndex(ref) : nextCol;
+						nextCol = col + 1;
+						cellType = reader.getAttributeValue(null, "t");
+						cellStyle = reader.getAttributeValue(null, "s");
+						inline = null;
+					} else if ("v".equals(name)) {
+						setCell(cells, col, convert(cellType, cellStyle, reader.getElementText()));
+					} else if ("t".equals(name)) {
+						if (inline == null) {
+							inline = new StringBuilder();
+						}
+						inline.append(reader.getElementText());
+						setCell(cells, col, inline.toString());
+					}
+				} else if (event == XMLStreamConstants.END_ELEMENT && "row".equals(reader.getLocalName())) {
+					break;
+				}
+			}
+			return cells;
+		}
+
+		/**
+		 * Turns a raw &lt;v&gt; value into the text Excel shows for the cell; numbers and dates go
+		 * through the cell style's number format so "2024-03-01" is not handed over as 45352.
+		 */
+		private String convert(String cellType, String cellStyle, String raw) {
+			if (raw == null) {
+				return "";
+			}
+			if ("s".equals(cellType)) {
+				return sharedStrings.getItemAt(Integer.parseInt(raw.trim())).getString().trim();
+			}
+			if ("b".equals(cellType)) {
+				return "1".equals(raw.trim()) ? "true" : "false";
+			}
+			if (cellType == null || "n".equals(cellType)) {
+				return formatNumber(cellStyle, raw.trim());
+			}
+			return raw.trim();
+		}
+
+		private String formatNumber(String cellStyle, String raw) {
+			if (raw.isEmpty()) {
+				return raw;
+			}
+			try {
+				double value = Double.parseDouble(raw);
+				XSSFCellStyle style = null;
+				if (styles != null && cellStyle != null && !cellStyle.isEmpty()) {
+					style = styles.getStyleAt(Integer.parseInt(cellStyle));
+				} else if (styles != null && styles.getNumCellStyles() > 0) {
+					style = styles.getStyleAt(0);
+				}
+				if (style == null) {
+					return formatter.formatRawCellContents(value, 0, "General");
+				}
+				short formatIndex = style.getDataFormat();
+				String formatString = style.getDataFormatString();
+				if (formatString == null) {
+					formatString = BuiltinFormats.getBuiltinFormat(formatIndex);
+				}
+				return formatter.formatRawCellContents(value, formatIndex, formatString);
+			} catch (NumberFormatException e) {
+				return raw;
+			}
+		}
+
+		private void setCell(List<String> cells, int col, String value) {
+			while (cells.size() <= col) {
+				cells.add("");
+			}
+			cells.set(col, value);
+		}
+
+		private void close() {
+			try {
+				if (reader != null) reader.close();
+				if (sheetStream != null) sheetStream.close();
+				if (pkg != null) pkg.revert();
+			} catch (Exception e) {
+				logger.debug("Error closing Excel stream: {}", e.getMessage());
+			} finally {
+				reader = null;
+				sheetStream = null;
+				pkg = null;
+			}
+		}
+	}
+}
@@ -0,0 +1,120 @@
+package com.naveensdet.unifiedwebautomation.utils;
+
+import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestResult;
+
+/**
+ * ExcelResultsRecorder - appends one row per finished test to a results workbook as the run progresses.
+ *
+ * Enabled with 'results.excel.enabled=true' in config.properties. Rows go through a
+ * {@link StreamingExcelWriter}, so memory stays bounded by 'results.excel.rowWindow' regardless of
+ * how many data-driven invocations finish. The workbook is finalized by {@link #close()} at suite end;
+ * results that arrive after that are logged and dropped rather than starting a second workbook.
+ */
+public final class ExcelResultsRecorder {
+
+	private static final Logger logger = LoggerFactory.getLogger(ExcelResultsRecorder.class);
+
+	private static final List<String> HEADERS = Arrays.asList(
+			"Test Name", "Class", "Status", "Duration (ms)", "Thread", "Parameters", "Message");
+
+	private static volatile StreamingExcelWriter writer;
+	private static volatile boolean closed;
+
+	// Private constructor to prevent instantiation
+	private ExcelResultsRecorder() {
+		throw new AssertionError("Utility class should not be instantiated");
+	}
+
+	/** Returns true when results recording is switched on in configuration. */
+	public static boolean isEnabled() {
+		return Boolean.parseBoolean(ConfigManager.getProperty("results.excel.enabled", "false"));
+	}
+
+	/**
+	 * Appends the outcome of a finished test. No-op when recording is disabled.
+	 */
+	public static void record(ITestResult result) {
+		if (result == null || !isEnabled()) {
+			return;
+		}
+		try {
+			Map<String, String> row = new LinkedHashMap<>();
+			row.put("Test Name", result.getMethod().getMethodName());
+			row.put("Class", result.getTestClass().getName());
+			row.put("Status", statusName(result.getStatus()));
+			row.put("Duration (ms)", String.valueOf(result.getEndMillis() - result.getStartMillis()));
+			row.put("Thread", Thread.currentThread().getName());
+			row.put("Parameters", Arrays.toString(result.getParameters()));
+			row.put("Message", result.getThrowable() != null ? String.valueOf(result.getThrowable().getMessage()) : "");
+			StreamingExcelWriter current = getWriter();
+			if (current == null) {
+				logger.warn("Results workbook already written - result of '{}' not recorded", result.getMethod().getMethodName());
+				return;
+			}
+			current.appendRow(row);
+		} catch (Exception e) {
+			logger.warn("Could not record test result to Excel: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * Writes the results workbook and removes temp files. Safe to call when nothing was recorded.
+	 * Later calls to {@link #record} are ignored.
+	 */
+	public static synchronized void close() {
+		closed = true;
+		StreamingExcelWriter current = writer;
+		writer = null;
+		if (current == null) {
+			return;
+		}
+		try {
+			current.close();
+			logger.info("📊 Test results workbook written: {} ({} rows)", current.getTarget(), current.getRowCount());
+		} catch (Exception e) {
+			logger.error("Failed to write test results workbook: {}", e.getMessage(), e);
+		}
+	}
+
+	/** Returns the open writer, creating it on first use, or null once the recorder is closed. */
+	private static StreamingExcelWriter getWriter() {
+		StreamingExcelWriter current = writer;
+		if (current == null) {
+			synchronized (ExcelResultsRecorder.class) {
+				current = writer;
+				if (current == null && !closed) {
+					String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
+					String path = System.getProperty("user.dir") + File.separator + "reports"
+							+ File.separator + "TestResults_" + timestamp + ".xlsx";
+					int rowWindow = ConfigManager.getIntProperty("results.excel.rowWindow", StreamingExcelWriter.DEFAULT_ROW_WINDOW);
+					current = new StreamingExcelWriter(path, "Results", HEADERS, rowWindow);
+					writer = current;
+				}
+			}
+		}
+		return current;
+	}
+
+	private static String statusName(int status) {
+		switch (status) {
+		case ITestResult.SUCCESS:
+			return "PASS";
+		case ITestResult.FAILURE:
+			return "FAIL";
+		case ITestResult.SKIP:
+			return "SKIP";
+		default:
+			return "UNKNOWN";
+		}
+	}
+}
@@ -0,0 +1,35 @@
+package com.naveensdet.unifiedwebautomation.utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * ExcelSource - declares which workbook/sheet feeds a test method through {@link ExcelDataProvider}.
+ *
+ * Any attribute left empty falls back to the suite parameters ('excelFile', 'dataSheet')
+ * and then to the 'excelDataFile' entry in config.properties.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ExcelSource {
+
+	/** Workbook path, absolute or relative to the project / test resources directory. */
+	String file() default "";
+
+	/** Sheet name to stream; first sheet when empty. */
+	String sheet() default "";
+
+	/** Only rows whose tag column contains at least one of these tags are returned. */
+	String[] tags() default {};
+
+	/** Header of the column holding comma-separated row tags. */
+	String tagColumn() default "Tags";
+
+	/** Header of a column that must equal {@link #filterValue()} (case-insensitive). */
+	String filterColumn() default "";
+
+	/** Expected value for {@link #filterColumn()}. */
+	String filterValue() default "";
+}
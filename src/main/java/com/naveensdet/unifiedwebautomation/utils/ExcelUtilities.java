@@ -72,7 +72,8 @@ public class ExcelUtilities {
 						Cell valueCell = row.getCell(col + 1);
 
 						if (keyCell != null && key.equalsIgnoreCase(getCellValueAsString(keyCell))) {
-							return getCellValueAsString(valueCell);
+							// Cells may hold identity placeholders such as {{email}} for parallel-safe registration data
+							return TestIdentityGenerator.resolve(getCellValueAsString(valueCell));
 						}
 					}
 					return null; // key not found for this test case
@@ -2,6 +2,7 @@ package com.naveensdet.unifiedwebautomation.utils;
 
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
 import com.aventstack.extentreports.MediaEntityBuilder;
@@ -11,10 +12,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 
 
@@ -33,9 +41,22 @@ public class ExtentReportManager {
 	private static ExtentSparkReporter sparkReporter;
 	private static ThreadLocal<ExtentTest> extentTest = new ThreadLocal<>();
 	private static String reportPath;
-	private static final Object REPORT_LOCK = new Object();
+	// Guards structural changes of the report tree (create/remove test, flush); held only around the Extent call
+	private static final ReentrantLock REPORT_LOCK = new ReentrantLock();
+	private static final LongAdder lockAcquisitions = new LongAdder();
+	private static final LongAdder lockContentions = new LongAdder();
+	private static final LongAdder lockWaitNanos = new LongAdder();
+	private static final AtomicLong lockMaxWaitNanos = new AtomicLong();
 	private static final Map<String, String> threadTestMap = new ConcurrentHashMap<>();
 
+	// 'tail' keeps routine keyword steps in a per-test ring and reports them only on failure/skip
+	private static final boolean FULL_STEP_LOGGING =
+			"full".equalsIgnoreCase(ConfigManager.getProperty("report.steps.mode", "tail"));
+	private static final boolean SPARK_ENABLED =
+			Boolean.parseBoolean(ConfigManager.getProperty("report.spark.enabled", "true"));
+	private static final int STEP_TAIL_SIZE = ConfigManager.getIntProperty("report.steps.tailSize", 25);
+	private static final ThreadLocal<StepTailBuffer> stepBuffer = new ThreadLocal<>();
+
 	/**
 	 * Initializes the Extent Report with proper configuration and system information
 	 * 
@@ -61,10 +82,19 @@ public class ExtentReportManager {
 			// Set system information
 			setSystemInformation();
 
-			Log.info("Extent Report initialized successfully at: " + reportPath);
+			// Per-JVM results shard for multi-fork/multi-agent merges
+			ReportShardWriter.start();
+
+			// Index + on-demand chunks that open quickly for any suite size
+			PagedReportWriter.start(reportPath);
+
+			// Spill finished tests to disk so long runs keep a bounded heap
+			ReportSpillManager.start(new File(reportPath).getName().replace("ExtentReport_", "").replace(".html", ""));
+
+			Log.info("Extent Report initialized successfully at: {}", reportPath);
 
 		} catch (Exception e) {
-			Log.error("Failed to initialize Extent Report: " + e.getMessage(), e);
+			Log.error("Failed to initialize Extent Report: {}", e.getMessage(), e);
 			throw new FrameworkException("Extent Report initialization failed", e);
 		}
 	}
@@ -82,7 +112,7 @@ public class ExtentReportManager {
 				if (!created) {
 					throw new FrameworkException("Failed to create reports directory: " + reportsDir);
 				}
-				Log.info("Created reports directory: " + reportsDir);
+				Log.info("Created reports directory: {}", reportsDir);
 			}
 
 			// ✅ ALSO CREATE SCREENSHOTS SUBFOLDER
@@ -90,13 +120,13 @@ public class ExtentReportManager {
 			File screenshotsDirectory = new File(screenshotsDir);
 			if (!screenshotsDirectory.exists()) {
 				screenshotsDirectory.mkdirs();
-				Log.info("Created screenshots directory: " + screenshotsDir);
+				Log.info("Created screenshots directory: {}", screenshotsDir);
 			}
 
 			return reportsDir;
 
 		} catch (Exception e) {
-			Log.error("Error creating reports directory: " + e.getMessage(), e);
+			Log.error("Error creating reports directory: {}", e.getMessage(), e);
 			throw new FrameworkException("Reports directory creation failed", e);
 		}
 	}
@@ -114,7 +144,7 @@ public class ExtentReportManager {
 			return reportsDir + File.separator + "ExtentReport_" + timestamp + ".html";
 
 		} catch (Exception e) {
-			Log.error("Error generating report path: " + e.getMessage(), e);
+			Log.error("Error generating report path: {}", e.getMessage(), e);
 			throw new FrameworkException("Report path generation failed", e);
 		}
 	}
@@ -139,7 +169,7 @@ public class ExtentReportManager {
 			Log.info("Spark Reporter configured successfully");
 
 		} catch (Exception e) {
-			Log.error("Failed to initialize Spark Reporter: " + e.getMessage(), e);
+			Log.error("Failed to initialize Spark Reporter: {}", e.getMessage(), e);
 			throw new FrameworkException("Spark Reporter initialization failed", e);
 		}
 	}
@@ -154,12 +184,16 @@ public class ExtentReportManager {
 			}
 
 			extent = new ExtentReports();
-			extent.attachReporter(sparkReporter);
+			if (SPARK_ENABLED) {
+				extent.attachReporter(sparkReporter);
+			} else {
+				Log.info("Spark report disabled (report.spark.enabled=false) - see the paged report");
+			}
 
 			Log.info("Extent Reports initialized successfully");
 
 		} catch (Exception e) {
-			Log.error("Failed to initialize Extent Reports: " + e.getMessage(), e);
+			Log.error("Failed to initialize Extent Reports: {}", e.getMessage(), e);
 			throw new FrameworkException("Extent Reports initialization failed", e);
 		}
 	}
@@ -185,7 +219,7 @@ public class ExtentReportManager {
 			Log.info("System information set successfully");
 
 		} catch (Exception e) {
-			Log.error("Failed to set system information: " + e.getMessage(), e);
+			Log.error("Failed to set system information: {}", e.getMessage(), e);
 			throw new FrameworkException("System information setting failed", e);
 		}
 	}
@@ -204,7 +238,7 @@ public class ExtentReportManager {
 			extent.setSystemInfo("Application URL", (url != null && !url.trim().isEmpty()) ? url : "Not Configured");
 
 		} catch (Exception e) {
-			Log.warn("Could not load configuration details: " + e.getMessage());
+			Log.warn("Could not load configuration details: {}", e.getMessage());
 			extent.setSystemInfo("Configuration", "Config file not accessible");
 		}
 	}
@@ -222,14 +256,23 @@ public class ExtentReportManager {
 				throw new FrameworkException("Extent Reports not initialized. Call initExtentReport() first");
 			}
 
-			ExtentTest test = extent.createTest(testName);
+			ExtentTest test;
+			lockReport();
+			try {
+				test = extent.createTest(testName);
+			} finally {
+				REPORT_LOCK.unlock();
+			}
 			extentTest.set(test);
+			resetStepBuffer();
+			PagedReportWriter.testCreated(test);
+			ReportSpillManager.testCreated(test);
 
-			Log.info("Test created in Extent Report: " + testName);
+			Log.info("Test created in Extent Report: {}", testName);
 			return test;
 
 		} catch (Exception e) {
-			Log.error("Failed to create test in Extent Report: " + e.getMessage(), e);
+			Log.error("Failed to create test in Extent Report: {}", e.getMessage(), e);
 			throw new FrameworkException("Test creation failed for: " + testName, e);
 		}
 	}
@@ -247,7 +290,7 @@ public class ExtentReportManager {
 			return test;
 
 		} catch (Exception e) {
-			Log.error("Failed to get current test: " + e.getMessage(), e);
+			Log.error("Failed to get current test: {}", e.getMessage(), e);
 			throw new FrameworkException("Failed to retrieve current test", e);
 		}
 	}
@@ -264,18 +307,18 @@ public class ExtentReportManager {
 			}
 
 			File screenshotFile = new File(screenshotPath);
-			if (!screenshotFile.exists()) {
-				Log.warn("Screenshot file does not exist at path: " + screenshotPath);
+			if (!screenshotFile.exists() && !ScreenshotService.isPending(screenshotFile.toPath())) {
+				Log.warn("Screenshot file does not exist at path: {}", screenshotPath);
 				return;
 			}
 
-			ExtentTest test = getTest();
-			test.addScreenCaptureFromPath(screenshotPath);
+			// Through the pipeline like every other report change; the consumer thread owns the test model
+			publishScreenshot(getTest(), Status.INFO, null, screenshotPath);
 
-			Log.info("Screenshot attached successfully: " + screenshotPath);
+			Log.info("Screenshot attached successfully: {}", screenshotPath);
 
 		} catch (Exception e) {
-			Log.error("Failed to attach screenshot: " + e.getMessage(), e);
+			Log.error("Failed to attach screenshot: {}", e.getMessage(), e);
 			throw new FrameworkException("Screenshot attachment failed", e);
 		}
 	}
@@ -289,12 +332,11 @@ public class ExtentReportManager {
 				message = "Info message was null";
 			}
 
-			ExtentTest test = getTest();
-			test.info(message);
-			Log.info("Extent Report Info: " + message);
+			ReportEventPipeline.publish(getTest(), Status.INFO, message, null);
+			Log.debug("Extent Report Info: {}", message);
 
 		} catch (Exception e) {
-			Log.error("Failed to log info message: " + e.getMessage(), e);
+			Log.error("Failed to log info message: {}", e.getMessage(), e);
 			throw new FrameworkException("Info logging failed", e);
 		}
 	}
@@ -308,12 +350,11 @@ public class ExtentReportManager {
 				message = "Pass message was null";
 			}
 
-			ExtentTest test = getTest();
-			test.pass(message);
-			Log.info("Extent Report Pass: " + message);
+			ReportEventPipeline.publish(getTest(), Status.PASS, message, null);
+			Log.debug("Extent Report Pass: {}", message);
 
 		} catch (Exception e) {
-			Log.error("Failed to log pass message: " + e.getMessage(), e);
+			Log.error("Failed to log pass message: {}", e.getMessage(), e);
 			throw new FrameworkException("Pass logging failed", e);
 		}
 	}
@@ -327,12 +368,12 @@ public class ExtentReportManager {
 				message = "Fail message was null";
 			}
 
-			ExtentTest test = getTest();
-			test.fail(message);
-			Log.error("Extent Report Fail: " + message);
+			emitStepTail("failure");
+			ReportEventPipeline.publish(getTest(), Status.FAIL, message, null);
+			Log.debug("Extent Report Fail: {}", message);
 
 		} catch (Exception e) {
-			Log.error("Failed to log fail message: " + e.getMessage(), e);
+			Log.error("Failed to log fail message: {}", e.getMessage(), e);
 			throw new FrameworkException("Fail logging failed", e);
 		}
 	}
@@ -346,12 +387,11 @@ public class ExtentReportManager {
 				message = "Warning message was null";
 			}
 
-			ExtentTest test = getTest();
-			test.warning(message);
-			Log.warn("Extent Report Warning: " + message);
+			ReportEventPipeline.publish(getTest(), Status.WARNING, message, null);
+			Log.debug("Extent Report Warning: {}", message);
 
 		} catch (Exception e) {
-			Log.error("Failed to log warning message: " + e.getMessage(), e);
+			Log.error("Failed to log warning message: {}", e.getMessage(), e);
 			throw new FrameworkException("Warning logging failed", e);
 		}
 	}
@@ -365,16 +405,72 @@ public class ExtentReportManager {
 				message = "Skip message was null";
 			}
 
-			ExtentTest test = getTest();
-			test.skip(message);
-			Log.info("Extent Report Skip: " + message);
+			emitStepTail("skip");
+			ReportEventPipeline.publish(getTest(), Status.SKIP, message, null);
+			Log.debug("Extent Report Skip: {}", message);
 
 		} catch (Exception e) {
-			Log.error("Failed to log skip message: " + e.getMessage(), e);
+			Log.error("Failed to log skip message: {}", e.getMessage(), e);
 			throw new FrameworkException("Skip logging failed", e);
 		}
 	}
 
+	/**
+	 * Logs a routine keyword step (action start/success). In 'tail' mode the step is buffered and
+	 * only reported in detail if the test fails or is skipped; 'full' mode logs it immediately.
+	 */
+	public static void logStep(Status status, String message) {
+		ExtentTest test = getTest();
+		StepTailBuffer buffer = stepBuffer.get();
+		if (FULL_STEP_LOGGING || buffer == null) {
+			ReportEventPipeline.publish(test, status, message, null);
+		} else {
+			buffer.add(status, message);
+		}
+	}
+
+	/**
+	 * Reports the buffered step tail with timings (oldest first) ahead of a failure or skip.
+	 */
+	private static void emitStepTail(String reason) {
+		StepTailBuffer buffer = stepBuffer.get();
+		ExtentTest test = extentTest.get();
+		if (buffer == null || buffer.isEmpty() || test == null) {
+			return;
+		}
+		long total = buffer.getTotal();
+		List<StepTailBuffer.Step> steps = buffer.drain();
+		ReportEventPipeline.publish(test, Status.INFO,
+				"🔎 Last " + steps.size() + " of " + total + " steps before " + reason + ":", null);
+		for (StepTailBuffer.Step step : steps) {
+			ReportEventPipeline.publish(test, step.getStatus(), buffer.format(step), null);
+		}
+	}
+
+	/**
+	 * Collapses the remaining buffered steps of a finished test into a one-line summary.
+	 */
+	private static void emitStepSummary(ExtentTest test) {
+		StepTailBuffer buffer = stepBuffer.get();
+		if (buffer == null || buffer.isEmpty() || test == null) {
+			return;
+		}
+		long total = buffer.getTotal();
+		long passed = buffer.getPassed();
+		List<StepTailBuffer.Step> steps = buffer.drain();
+		String last = steps.get(steps.size() - 1).getMessage();
+		ReportEventPipeline.publish(test, Status.PASS,
+				"✅ " + passed + " actions passed (" + total + " steps, " + buffer.elapsedMillis() + " ms) - last: " + last, null);
+	}
+
+	private static void resetStepBuffer() {
+		if (FULL_STEP_LOGGING) {
+			stepBuffer.remove();
+		} else {
+			stepBuffer.set(new StepTailBuffer(STEP_TAIL_SIZE));
+		}
+	}
+
 	/**
 	 * Gets the Extent Reports instance with validation
 	 */
@@ -386,7 +482,7 @@ public class ExtentReportManager {
 			return extent;
 
 		} catch (Exception e) {
-			Log.error("Failed to get ExtentReports instance: " + e.getMessage(), e);
+			Log.error("Failed to get ExtentReports instance: {}", e.getMessage(), e);
 			throw new FrameworkException("ExtentReports instance retrieval failed", e);
 		}
 	}
@@ -406,26 +502,22 @@ public class ExtentReportManager {
 			// Get the actual ExtentTest instance from ThreadLocal
 			ExtentTest test = extentTest.get();
 
+			emitStepTail("failure");
 			if (test != null && screenshotPath != null) {
-				// Convert to relative path for better portability
-				String relativePath = screenshotPath.replace(System.getProperty("user.dir"), ".");
-
-				// Use MediaEntityBuilder to attach screenshot inline with failure message
-				test.fail(failureMessage, 
-						MediaEntityBuilder.createScreenCaptureFromPath(relativePath).build());
+				publishScreenshot(test, Status.FAIL, failureMessage, screenshotPath);
 
 				Log.info("Screenshot attached successfully to failure report");
 			} else {
 				Log.warn("ExtentTest or screenshot path is null");
 				if (test != null) {
-					test.fail(failureMessage);
+					ReportEventPipeline.publish(test, Status.FAIL, failureMessage, null);
 				}
 			}
 		} catch (Exception e) {
-			Log.error("Unexpected error while attaching screenshot: " + e.getMessage());
+			Log.error("Unexpected error while attaching screenshot: {}", e.getMessage());
 			ExtentTest test = extentTest.get();
 			if (test != null) {
-				test.fail(failureMessage);
+				ReportEventPipeline.publish(test, Status.FAIL, failureMessage, null);
 			}
 		}
 	}
@@ -438,70 +530,198 @@ public class ExtentReportManager {
 	 */
 	public static void logFailureWithScreenshot(String message, String screenshotPath) throws IOException {
 		ExtentTest test = extentTest.get();
+		emitStepTail("failure");
 
 		if (test != null && screenshotPath != null) {
-			// ✅ CRITICAL: Convert to relative path if absolute
-			String relativePath = screenshotPath;
-
-			// If absolute path, convert to relative
-			if (screenshotPath.contains("reports" + File.separator + "screenshots")) {
-				// Extract just the relative part: ./screenshots/filename.png
-				String fileName = new File(screenshotPath).getName();
-				relativePath = "./screenshots/" + fileName;
-			}
-
-			Log.info("Using relative screenshot path: {}", relativePath);
-
-			test.fail("❌ " + message, 
-					MediaEntityBuilder.createScreenCaptureFromPath(relativePath).build());
-
-			Log.info("Screenshot attached successfully to failure: {}", relativePath);
+			publishScreenshot(test, Status.FAIL, "❌ " + message, screenshotPath);
+			Log.info("Screenshot attached successfully to failure: {}", screenshotPath);
 		} else {
 			Log.warn("ExtentTest or screenshot path is null");
 			if (test != null) {
-				test.fail("❌ " + message);
+				ReportEventPipeline.publish(test, Status.FAIL, "❌ " + message, null);
 			}
 		}
 	}
 
 	/**
-	 * Thread-safe test creation with thread name tracking
+	 * Logs a step with screenshot bytes captured by the caller (shared with other step sinks, so the
+	 * page is captured only once).
+	 *
+	 * @param status  Step status; FAIL also reports the buffered step tail.
+	 * @param message Step message.
+	 * @param png     Screenshot bytes; the step is logged without an image when null.
 	 */
-	public static ExtentTest createTest(String testName, String testDescription) {
-		synchronized (REPORT_LOCK) {
+	public static void logWithScreenshot(Status status, String message, byte[] png) {
+		ExtentTest test = getTest();
+		if (status == Status.FAIL) {
+			emitStepTail("failure");
+		}
+		if (png == null) {
+			ReportEventPipeline.publish(test, status, message, null);
+			return;
+		}
+		try {
+			if (ScreenshotStore.isEnabled()) {
+				ReportEventPipeline.publish(test, status, message + "<br>" + ScreenshotStore.store(png).toReportHtml(), null);
+			} else {
+				String fileName = "STEP_" + new SimpleDateFormat("HH-mm-ss-SSS").format(new Date()) + "_"
+						+ Thread.currentThread().getId() + "." + ScreenshotEncoder.extensionFor(png);
+				ScreenshotService.write(png, Paths.get(ConfigManager.getScreenshotDirectory(), fileName));
+				ReportEventPipeline.publish(test, status, message,
+						MediaEntityBuilder.createScreenCaptureFromPath("./screenshots/" + fileName).build());
+			}
+		} catch (Exception e) {
+			Log.warn("Could not save step screenshot: {}", e.getMessage());
+			ReportEventPipeline.publish(test, status, message, null);
+		}
+	}
+
+	/**
+	 * Publishes a screenshot step. With the screenshot store enabled the image is stored by content
+	 * hash (a file in reports/screenshots is renamed to its hash, see {@link ScreenshotStore#adopt})
+	 * and shown as a thumbnail that opens the full image; otherwise it is linked as before.
+	 *
+	 * @param screenshotPath Absolute path, or a path relative to the report (./screenshots/...).
+	 */
+	private static void publishScreenshot(ExtentTest test, Status status, String message, String screenshotPath) {
+		// A file still being written by the background writer is linked by name (no content-hash store)
+		if (ScreenshotStore.isEnabled() && !ScreenshotService.isPending(resolveScreenshotFile(screenshotPath))) {
 			try {
-				if (testName == null || testName.trim().isEmpty()) {
-					throw new FrameworkException("Test name cannot be null or empty");
+				ScreenshotStore.StoredScreenshot stored = ScreenshotStore.adopt(resolveScreenshotFile(screenshotPath));
+				if (stored != null) {
+					String html = stored.toReportHtml();
+					ReportEventPipeline.publish(test, status, message != null ? message + "<br>" + html : html, null);
+					return;
 				}
+			} catch (Exception e) {
+				Log.warn("Could not store screenshot {}: {}", screenshotPath, e.getMessage());
+			}
+		}
 
-				if (extent == null) {
-					throw new FrameworkException("Extent Reports not initialized. Call initExtentReport() first");
-				}
+		// Link the file directly, relative to the report when it lives under reports/screenshots
+		String relativePath = screenshotPath.contains("reports" + File.separator + "screenshots")
+				? "./screenshots/" + new File(screenshotPath).getName()
+				: screenshotPath.replace(System.getProperty("user.dir"), ".");
+		ReportEventPipeline.publish(test, status, message,
+				MediaEntityBuilder.createScreenCaptureFromPath(relativePath).build());
+	}
 
-				// ✅ Use thread name instead of ID
-				String threadName = Thread.currentThread().getName();
-				String threadInfo = String.format("[%s]", threadName);
-				String enhancedTestName = testName + " " + threadInfo;
+	private static Path resolveScreenshotFile(String screenshotPath) {
+		if (screenshotPath.startsWith("./screenshots/")) {
+			return ScreenshotStore.getStoreDirectory().resolve(screenshotPath.substring("./screenshots/".length()));
+		}
+		Path path = Paths.get(screenshotPath);
+		return path.isAbsolute() ? path : Paths.get(System.getProperty("user.dir")).resolve(path);
+	}
 
-				String description = (testDescription != null && !testDescription.trim().isEmpty()) 
-						? testDescription : "No description provided";
+	/**
+	 * Thread-safe test creation with thread name tracking.
+	 * Only the node creation itself runs under the report lock.
+	 */
+	public static ExtentTest createTest(String testName, String testDescription) {
+		try {
+			if (testName == null || testName.trim().isEmpty()) {
+				throw new FrameworkException("Test name cannot be null or empty");
+			}
 
-				ExtentTest test = extent.createTest(enhancedTestName, description);
-				extentTest.set(test);
+			if (extent == null) {
+				throw new FrameworkException("Extent Reports not initialized. Call initExtentReport() first");
+			}
 
-				// Track thread-test mapping using thread name
-				threadTestMap.put(threadName, testName);
+			// ✅ Use thread name instead of ID
+			String threadName = Thread.currentThread().getName();
+			String enhancedTestName = testName + " [" + threadName + "]";
 
-				Log.info("Test created in Extent Report: {} on Thread: {}", testName, threadName);
-				return test;
+			String description = (testDescription != null && !testDescription.trim().isEmpty()) 
+					? testDescription : "No description provided";
 
-			} catch (Exception e) {
-				Log.error("Failed to create test with description: {}", e.getMessage(), e);
-				throw new FrameworkException("Test creation failed for: " + testName, e);
+			ExtentTest test;
+			lockReport();
+			try {
+				test = extent.createTest(enhancedTestName, description);
+			} finally {
+				REPORT_LOCK.unlock();
 			}
+			extentTest.set(test);
+			resetStepBuffer();
+			PagedReportWriter.testCreated(test);
+			ReportSpillManager.testCreated(test);
+
+			// Track thread-test mapping using thread name
+			threadTestMap.put(threadName, testName);
+
+			Log.info("Test created in Extent Report: {} on Thread: {}", testName, threadName);
+			return test;
+
+		} catch (Exception e) {
+			Log.error("Failed to create test with description: {}", e.getMessage(), e);
+			throw new FrameworkException("Test creation failed for: " + testName, e);
 		}
 	}
 
+	/**
+	 * Marks the current thread's test as finished so its detail can be spilled to disk.
+	 * Call once the test will log nothing more (end of teardown).
+	 */
+	public static void completeTest() {
+		ExtentTest test = extentTest.get();
+		emitStepSummary(test);
+		ReportEventPipeline.publishCompletion(test);
+	}
+
+	/**
+	 * Removes spilled tests from the live report.
+	 */
+	static void detachTests(List<ExtentTest> tests) {
+		lockReport();
+		try {
+			for (ExtentTest test : tests) {
+				extent.removeTest(test);
+			}
+		} finally {
+			REPORT_LOCK.unlock();
+		}
+	}
+
+	/**
+	 * Runs the action under the report lock. The report event consumer applies steps through here
+	 * so that test nodes are never changed while another thread creates a test or flushes.
+	 */
+	static void withReportLock(Runnable action) {
+		lockReport();
+		try {
+			action.run();
+		} finally {
+			REPORT_LOCK.unlock();
+		}
+	}
+
+	/**
+	 * Returns report lock usage, e.g. "1200 acquisitions, 35 contended, wait total 12 ms / max 3 ms".
+	 */
+	public static String getReportLockStats() {
+		return String.format("%d acquisitions, %d contended, wait total %d ms / max %d ms",
+				lockAcquisitions.sum(), lockContentions.sum(),
+				TimeUnit.NANOSECONDS.toMillis(lockWaitNanos.sum()),
+				TimeUnit.NANOSECONDS.toMillis(lockMaxWaitNanos.get()));
+	}
+
+	/**
+	 * Acquires the report lock, recording how long callers had to wait for it.
+	 */
+	private static void lockReport() {
+		lockAcquisitions.increment();
+		if (REPORT_LOCK.tryLock()) {
+			return;
+		}
+		long start = System.nanoTime();
+		REPORT_LOCK.lock();
+		long waited = System.nanoTime() - start;
+		lockContentions.increment();
+		lockWaitNanos.add(waited);
+		lockMaxWaitNanos.accumulateAndGet(waited, Math::max);
+	}
+
 	/**
 	 * Thread-safe test removal with thread name tracking
 	 */
@@ -511,6 +731,7 @@ public class ExtentReportManager {
 			String testName = threadTestMap.remove(threadName);
 
 			extentTest.remove();
+			stepBuffer.remove();
 
 			Log.debug("ExtentTest removed for {} on Thread: {}", 
 					testName != null ? testName : "Unknown", threadName);
@@ -554,13 +775,24 @@ public class ExtentReportManager {
 	 */
 	@AfterSuite
 	public static void flushExtentReport() {
-		synchronized (REPORT_LOCK) {
+		if (extent != null) {
+			// Apply queued step events and reload spilled tests before the report is written.
+			// Done outside REPORT_LOCK: the event consumer takes it when it detaches spilled tests.
+			ReportEventPipeline.drain(ConfigManager.getIntProperty("report.async.drainTimeoutMs", 30000));
+			ReportShardWriter.finish();
+			PagedReportWriter.finish();
+			ReportSpillManager.mergeInto(extent);
+		}
+		lockReport();
+		try {
 			try {
 				// Log final thread summary
 				logActiveThreads();
+				Log.info("Report lock: {}", getReportLockStats());
 
 				if (extent != null) {
 					extent.flush();
+					ReportSpillManager.cleanup();
 					Log.info("Extent Report flushed successfully. Report saved at: {}", reportPath);
 
 					// Clear thread tracking
@@ -575,6 +807,8 @@ public class ExtentReportManager {
 				Log.error("Failed to flush Extent Report: {}", e.getMessage(), e);
 				throw new FrameworkException("Extent Report flush failed", e);
 			}
+		} finally {
+			REPORT_LOCK.unlock();
 		}
 	}
 
@@ -0,0 +1,138 @@
+package com.naveensdet.unifiedwebautomation.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * FailureEvidence - one screenshot per failure, shared by everything that reports it.
+ *
+ * A failed step (BaseClass.logStepFail) and the test failure that follows it (ScreenshotListener)
+ * describe the same browser state, so the page is captured once from the current thread's driver
+ * and the same bytes go to Extent, Allure and the listener. The capture is dropped when the next
+ * keyword action starts (the page may change) and when the test ends.
+ */
+public final class FailureEvidence {
+
+	private static final Logger logger = LoggerFactory.getLogger(FailureEvidence.class);
+
+	private static final ThreadLocal<Evidence> CURRENT = new ThreadLocal<>();
+	private static final AtomicLong CAPTURED = new AtomicLong();
+	private static final AtomicLong REUSED = new AtomicLong();
+
+	// Private constructor to prevent instantiation
+	private FailureEvidence() {
+		throw new AssertionError("Utility class should not be instantiated");
+	}
+
+	/**
+	 * Returns the evidence for the current failure, capturing the current thread's browser the first
+	 * time it is asked for.
+	 *
+	 * @return Evidence, or null when this thread has no browser.
+	 */
+	public static Evidence capture() {
+		Evidence evidence = CURRENT.get();
+		if (evidence != null) {
+			REUSED.incrementAndGet();
+			return evidence;
+		}
+		WebDriver driver = DriverManager.getDriverSafely();
+		if (driver == null) {
+			return null;
+		}
+		evidence = new Evidence(screenshot(driver));
+		CURRENT.set(evidence);
+		CAPTURED.incrementAndGet();
+		return evidence;
+	}
+
+	/** Records that a failed step attached the current evidence screenshot to Extent. */
+	static void attachedToExtent(byte[] png) {
+		Evidence evidence = CURRENT.get();
+		if (evidence != null && png != null && evidence.png == png) {
+			evidence.markReportedToExtent();
+		}
+	}
+
+	/** Records that a failed step attached the current evidence screenshot to Allure. */
+	static void attachedToAllure(byte[] png) {
+		Evidence evidence = CURRENT.get();
+		if (evidence != null && png != null && evidence.png == png) {
+			evidence.markReportedToAllure();
+		}
+	}
+
+	/** Forgets the current evidence; the next failure captures the page again. */
+	public static void invalidate() {
+		CURRENT.remove();
+	}
+
+	/** Number of failure screenshots taken and reused in this JVM, e.g. "12 captured, 9 reused". */
+	public static String getStats() {
+		return CAPTURED.get() + " captured, " + REUSED.get() + " reused";
+	}
+
+	private static byte[] screenshot(WebDriver driver) {
+		try {
+			return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+		} catch (Exception e) {
+			// Remembered as "no image" so a broken browser is not asked again for the same failure
+			logger.warn("Could not capture failure screenshot: {}", e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Evidence - the captured page for one failure.
+	 */
+	public static final class Evidence {
+
+		private final byte[] png;
+		private final long capturedAtMillis;
+		private volatile boolean reportedToExtent;
+		private volatile boolean reportedToAllure;
+
+		private Evidence(byte[] png) {
+			this.png = png;
+			this.capturedAtMillis = System.currentTimeMillis();
+		}
+
+		/** PNG bytes, or null when the capture failed. */
+		public byte[] getPng() {
+			return png;
+		}
+
+		public boolean hasScreenshot() {
+			return png != null;
+		}
+
+		public long getCapturedAtMillis() {
+			return capturedAtMillis;
+		}
+
+		/** Marks the screenshot as attached to the Extent report. */
+		public void markReportedToExtent() {
+			reportedToExtent = true;
+		}
+
+		/** Marks the screenshot as attached to the Allure test case. */
+		public void markReportedToAllure() {
+			reportedToAllure = true;
+		}
+
+		/** True when a failed step already attached this screenshot to the Extent report. */
+		public boolean isReportedToExtent() {
+			return reportedToExtent;
+		}
+
+		/** True when a failed step already attached this screenshot to the Allure test case. */
+		public boolean isReportedToAllure() {
+			return reportedToAllure;
+		}
+	}
+}
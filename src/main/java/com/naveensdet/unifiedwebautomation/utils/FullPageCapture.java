@@ -0,0 +1,226 @@
+package com.naveensdet.unifiedwebautomation.utils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.firefox.HasFullPageScreenshot;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * FullPageCapture - captures the whole page, not just the viewport, in one browser command.
+ *
+ * Chrome and Edge use DevTools Page.captureScreenshot with captureBeyondViewport; Firefox uses its
+ * native full-page screenshot. Other browsers get the viewport. Pages taller than
+ * 'screenshot.fullpage.tileHeight' CSS pixels are captured as several tiles (one command each) so
+ * the browser never renders one huge bitmap, and capture stops at 'screenshot.fullpage.maxHeight'.
+ * Tiles are written by {@link ScreenshotService}: the first to the requested file, the rest to
+ * name_part2.png, name_part3.png, ...
+ */
+public final class FullPageCapture {
+
+	private static final Logger logger = LoggerFactory.getLogger(FullPageCapture.class);
+
+	private static final boolean ENABLED =
+			Boolean.parseBoolean(ConfigManager.getProperty("screenshot.fullpage.enabled", "true"));
+	private static final int TILE_HEIGHT = Math.max(256, ConfigManager.getIntProperty("screenshot.fullpage.tileHeight", 8192));
+	private static final int MAX_HEIGHT = Math.max(TILE_HEIGHT, ConfigManager.getIntProperty("screenshot.fullpage.maxHeight", 65536));
+
+	private static final String PAGE_HEIGHT_SCRIPT = "var d = document.documentElement, b = document.body;"
+			+ " return Math.max(d.scrollHeight, d.offsetHeight, b ? b.scrollHeight : 0, b ? b.offsetHeight : 0);";
+
+	// Private constructor to prevent instantiation
+	private FullPageCapture() {
+		throw new AssertionError("Utility class should not be instantiated");
+	}
+
+	/**
+	 * Captures the full page and hands the image (or its tiles) to the screenshot writer.
+	 *
+	 * @param driver Driver to capture.
+	 * @param target File for the first (usually only) image.
+	 * @return Files that will hold the capture, in page order.
+	 * @throws FrameworkException If the driver cannot take screenshots.
+	 */
+	public static List<Path> captureTo(WebDriver driver, Path target) {
+		if (ENABLED) {
+			WebDriver capable = withBrowserInterfaces(driver);
+			if (capable instanceof HasCdp) {
+				try {
+					return captureWithCdp((HasCdp) capable, target);
+				} catch (Exception e) {
+					logger.debug("DevTools full-page capture failed, using viewport: {}", e.getMessage());
+				}
+			} else if (capable instanceof HasFullPageScreenshot) {
+				try {
+					return captureWithFirefox((HasFullPageScreenshot) capable, driver, target);
+				} catch (Exception e) {
+					logger.debug("Firefox full-page capture failed, using viewport: {}", e.getMessage());
+				}
+			}
+		}
+		ScreenshotService.captureTo(driver, target);
+		return Collections.singletonList(target);
+	}
+
+	/**
+	 * Captures one region of the page through DevTools, whether or not it is scrolled into view.
+	 *
+	 * @param driver Driver to capture.
+	 * @param x      Left edge in CSS pixels from the top-left of the document.
+	 * @param y      Top edge in CSS pixels from the top-left of the document.
+	 * @param width  Width in CSS pixels.
+	 * @param height Height in CSS pixels.
+	 * @return Base64 PNG in device pixels, or null when the browser has no DevTools (Firefox, Safari).
+	 */
+	public static String captureRegion(WebDriver driver, double x, double y, double width, double height) {
+		WebDriver capable = withBrowserInterfaces(driver);
+		if (!(capable instanceof HasCdp)) {
+			return null;
+		}
+		Map<String, Object> clip = new LinkedHashMap<>();
+		clip.put("x", x);
+		clip.put("y", y);
+		clip.put("width", width);
+		clip.put("height", height);
+		clip.put("scale", 1);
+
+		Map<String, Object> params = new LinkedHashMap<>();
+		params.put("format", "png");
+		params.put("captureBeyondViewport", true);
+		params.put("fromSurface", true);
+		params.put("clip", clip);
+		return (String) ((HasCdp) capable).executeCdpCommand("Page.captureScreenshot", params).get("data");
+	}
+
+	/**
+	 * File name for tile number n (1-based) of a capture: the target itself for the first tile,
+	 * name_partN.ext for the others.
+	 */
+	public static Path tilePath(Path target, int n) {
+		if (n <= 1) {
+			return target;
+		}
+		String name = target.getFileName().toString();
+		int dot = name.lastIndexOf('.');
+		String tileName = dot > 0
+				? name.substring(0, dot) + "_part" + n + name.substring(dot)
+				: name + "_part" + n;
+		return target.resolveSibling(tileName);
+	}
+
+	private static List<Path> captureWithCdp(HasCdp cdp, Path target) {
+		Map<String, Object> metrics = cdp.executeCdpCommand("Page.getLayoutMetrics", Collections.emptyMap());
+		// cssContentSize (Chrome 92+) is in CSS pixels like the clip; contentSize is the older name
+		Object size = metrics.containsKey("cssContentSize") ? metrics.get("cssContentSize") : metrics.get("contentSize");
+		if (!(size instanceof Map)) {
+			throw new FrameworkException("Page.getLayoutMetrics returned no content size");
+		}
+		double width = ((Number) ((Map<?, ?>) size).get("width")).doubleValue();
+		double pageHeight = ((Number) ((Map<?, ?>) size).get("height")).doubleValue();
+		double height = capHeight(pageHeight);
+
+		List<Path> files = new ArrayList<>();
+		List<Future<Path>> writes = new ArrayList<>();
+		int tile = 0;
+		try {
+			for (double y = 0; y < height; y += TILE_HEIGHT) {
+				Map<String, Object> clip = new LinkedHashMap<>();
+				clip.put("x", 0);
+				clip.put("y", y);
+				clip.put("width", width);
+				clip.put("height", Math.min(TILE_HEIGHT, height - y));
+				clip.put("scale", 1);
+
+				Map<String, Object> params = new LinkedHashMap<>();
+				params.put("format", "png");
+				params.put("captureBeyondViewport", true);
+				params.put("fromSurface", true);
+				params.put("clip", clip);
+
+				String data = (String) cdp.executeCdpCommand("Page.captureScreenshot", params).get("data");
+				Path file = tilePath(target, ++tile);
+				writes.add(ScreenshotService.write(data, file));
+				files.add(file);
+			}
+		} catch (RuntimeException e) {
+			// The viewport fallback writes the same file; earlier tiles must not still be writing it
+			discard(writes);
+			throw e;
+		}
+		if (tile > 1) {
+			logger.info("Full page ({} x {} px) captured as {} tiles", (int) width, (int) height, tile);
+		}
+		return files;
+	}
+
+	/** Cancels tile writes that have not started and waits for the ones already running. */
+	private static void discard(List<Future<Path>> writes) {
+		for (Future<Path> write : writes) {
+			if (!write.cancel(false)) {
+				try {
+					write.get();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				} catch (Exception e) {
+					// Already logged by the writer; the fallback overwrites the file
+				}
+			}
+		}
+	}
+
+	private static List<Path> captureWithFirefox(HasFullPageScreenshot firefox, WebDriver driver, Path target) {
+		// Firefox renders the page as one image; past the cap (and its own canvas limit) use the viewport
+		if (driver instanceof JavascriptExecutor) {
+			Object pageHeight = ((JavascriptExecutor) driver).executeScript(PAGE_HEIGHT_SCRIPT);
+			if (pageHeight instanceof Number && ((Number) pageHeight).doubleValue() > Math.min(MAX_HEIGHT, 32767)) {
+				throw new FrameworkException("page height " + pageHeight + " px is above the full-page limit");
+			}
+		}
+		ScreenshotService.write(firefox.getFullPageScreenshotAs(OutputType.BASE64), target);
+		return Collections.singletonList(target);
+	}
+
+	private static double capHeight(double pageHeight) {
+		if (pageHeight > MAX_HEIGHT) {
+			logger.warn("Page is {} px tall - full-page screenshot limited to the first {} px "
+					+ "(screenshot.fullpage.maxHeight)", (long) pageHeight, MAX_HEIGHT);
+			return MAX_HEIGHT;
+		}
+		return Math.max(1, pageHeight);
+	}
+
+	/**
+	 * Local Chrome/Edge/Firefox drivers already implement the browser interfaces; a RemoteWebDriver
+	 * needs augmenting to expose them.
+	 */
+	private static WebDriver withBrowserInterfaces(WebDriver driver) {
+		if (driver instanceof HasCdp || driver instanceof HasFullPageScreenshot || !(driver instanceof RemoteWebDriver)) {
+			return driver;
+		}
+		try {
+			Capabilities caps = ((HasCapabilities) driver).getCapabilities();
+			String browser = caps.getBrowserName() == null ? "" : caps.getBrowserName().toLowerCase();
+			if (browser.contains("chrome") || browser.contains("edge") || browser.contains("firefox")) {
+				return new Augmenter().augment(driver);
+			}
+		} catch (Exception e) {
+			logger.debug("Could not augment remote driver for full-page capture: {}", e.getMessage());
+		}
+		return driver;
+	}
+}
@@ -0,0 +1,204 @@
+package com.naveensdet.unifiedwebautomation.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.filter.FilteringParserDelegate;
+import com.fasterxml.jackson.core.filter.JsonPointerBasedFilter;
+import com.fasterxml.jackson.core.filter.TokenFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * JsonDataService - shared, thread-safe access to JSON test data files.
+ *
+ * One ObjectMapper/ObjectReader is reused for the whole run. Lookups stream the file through a
+ * JSON Pointer filter so only the requested subtree is materialized. Resolved pointers are kept in
+ * a bounded LRU cache keyed by file and pointer (stale once the file's size or modification time
+ * changes); callers always receive a copy, so the cached trees cannot be altered by a test.
+ */
+public final class JsonDataService {
+
+	private static final Logger logger = LoggerFactory.getLogger(JsonDataService.class);
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+	private static final ObjectReader READER = MAPPER.reader();
+	private static final JsonFactory FACTORY = MAPPER.getFactory();
+
+	private static final String ROOT = "";
+	private static final int CACHE_SIZE = Math.max(0, ConfigManager.getIntProperty("json.cache.maxEntries", 256));
+
+	/** Resolved nodes keyed by absolute file path and pointer, least recently used evicted first. */
+	private static final Map<String, CachedNode> NODES = new LinkedHashMap<String, CachedNode>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CachedNode> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+
+	// Private constructor to prevent instantiation
+	private JsonDataService() {
+		throw new AssertionError("Utility class should not be instantiated");
+	}
+
+	/** Returns the shared ObjectMapper (thread-safe once configured; do not reconfigure). */
+	public static ObjectMapper getMapper() {
+		return MAPPER;
+	}
+
+	/** Returns the shared ObjectReader. */
+	public static ObjectReader getReader() {
+		return READER;
+	}
+
+	/**
+	 * Reads a whole JSON file as a tree. Prefer {@link #readPointer} for large files.
+	 *
+	 * @param filePath Path to JSON file.
+	 * @return Root JsonNode.
+	 */
+	public static JsonNode readTree(String filePath) throws IOException {
+		try (JsonParser parser = FACTORY.createParser(resolveFile(filePath))) {
+			return READER.readTree(parser);
+		}
+	}
+
+	/**
+	 * Returns the node addressed by a JSON Pointer, streaming the file so that only the matching
+	 * subtree is built. Results are cached; the returned node is a copy the caller may modify.
+	 *
+	 * @param filePath    Path to JSON file.
+	 * @param jsonPointer JSON Pointer expression (e.g. "/data/user/name").
+	 * @return Matching node, or MissingNode when the pointer does not resolve.
+	 */
+	public static JsonNode readPointer(String filePath, String jsonPointer) {
+		return lookup(filePath, jsonPointer).deepCopy();
+	}
+
+	/**
+	 * Returns the pointer value as text, or null when missing or JSON null.
+	 */
+	public static String readPointerValue(String filePath, String jsonPointer) {
+		JsonNode node = lookup(filePath, jsonPointer);
+		if (node == null || node.isMissingNode() || node.isNull()) {
+			return null;
+		}
+		return node.asText();
+	}
+
+	/**
+	 * Extracts the flat key/value data of one top-level test case object without parsing the
+	 * rest of the file.
+	 *
+	 * @param filePath     Path to JSON file.
+	 * @param testCaseName Top-level property holding the test case object.
+	 * @return Unmodifiable map of field name to text value (empty when not found).
+	 */
+	public static Map<String, String> getTestCaseData(String filePath, String testCaseName) {
+		JsonNode node = lookup(filePath, "/" + escape(testCaseName));
+		Map<String, String> data = new LinkedHashMap<>();
+		if (node.isObject()) {
+			node.properties().forEach(entry -> data.put(entry.getKey(), entry.getValue().asText("")));
+		}
+		return Collections.unmodifiableMap(data);
+	}
+
+	/** Drops all cached pointer values (e.g. after a test rewrites a fixture). */
+	public static void clearCache() {
+		synchronized (NODES) {
+			NODES.clear();
+		}
+	}
+
+	/**
+	 * Cached node for the pointer (shared - never hand it out without copying). A cached root of
+	 * the same file version answers any pointer without streaming the file again.
+	 */
+	private static JsonNode lookup(String filePath, String jsonPointer) {
+		File file = resolveFile(filePath);
+		JsonPointer pointer = JsonPointer.compile(jsonPointer);
+		String path = file.getAbsolutePath();
+		long modified = file.lastModified();
+		long size = file.length();
+
+		synchronized (NODES) {
+			CachedNode cached = NODES.get(path + '#' + pointer);
+			if (cached != null && cached.isCurrent(modified, size)) {
+				return cached.node;
+			}
+			CachedNode root = NODES.get(path + '#' + ROOT);
+			if (root != null && root.isCurrent(modified, size)) {
+				return root.node.at(pointer);
+			}
+		}
+
+		JsonNode node;
+		try {
+			node = streamPointer(file, pointer);
+		} catch (IOException e) {
+			throw new FrameworkException("Failed to read JSON Pointer '" + jsonPointer + "' from " + filePath, e);
+		}
+		synchronized (NODES) {
+			NODES.put(path + '#' + pointer, new CachedNode(modified, size, node));
+		}
+		logger.debug("Cached JSON Pointer '{}' from {}", pointer, file.getName());
+		return node;
+	}
+
+	private static JsonNode streamPointer(File file, JsonPointer pointer) throws IOException {
+		TokenFilter filter = pointer.matches() ? TokenFilter.INCLUDE_ALL : new JsonPointerBasedFilter(pointer);
+		try (JsonParser parser = new FilteringParserDelegate(FACTORY.createParser(file),
+				filter, TokenFilter.Inclusion.ONLY_INCLUDE_ALL, false)) {
+			if (parser.nextToken() == null) {
+				return MissingNode.getInstance();
+			}
+			JsonNode node = READER.readTree(parser);
+			return node != null ? node : MissingNode.getInstance();
+		}
+	}
+
+	private static File resolveFile(String filePath) {
+		if (filePath == null || filePath.trim().isEmpty()) {
+			throw new FrameworkException("JSON File Path cannot be null or empty");
+		}
+		File file = new File(filePath.trim());
+		if (!file.exists()) {
+			throw new FrameworkException("JSON file not found: " + filePath);
+		}
+		return file;
+	}
+
+	/** Escapes a property name for use as a JSON Pointer segment (RFC 6901). */
+	private static String escape(String name) {
+		return name.replace("~", "~0").replace("/", "~1");
+	}
+
+	/** Node resolved from one version of a file. */
+	private static final class CachedNode {
+		private final long modified;
+		private final long size;
+		private final JsonNode node;
+
+		private CachedNode(long modified, long size, JsonNode node) {
+			this.modified = modified;
+			this.size = size;
+			this.node = node;
+		}
+
+		private boolean isCurrent(long modified, long size) {
+			return this.modified == modified && this.size == size;
+		}
+	}
+}
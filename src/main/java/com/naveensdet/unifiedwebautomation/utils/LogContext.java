@@ -0,0 +1,64 @@
+package com.naveensdet.unifiedwebautomation.utils;
+
+import org.slf4j.MDC;
+import org.testng.ITestResult;
+
+/**
+ * LogContext - puts the running test's id and browser into the SLF4J MDC so every log line written
+ * on the test thread carries them ('%X{testId}' and '%X{browser}' in logback.xml).
+ *
+ * The browser name is resolved once per JVM; binding a test is two map puts.
+ */
+public final class LogContext {
+
+	public static final String TEST_ID = "testId";
+	public static final String BROWSER = "browser";
+
+	private static volatile String browser;
+
+	// Private constructor to prevent instantiation
+	private LogContext() {
+		throw new AssertionError("Utility class should not be instantiated");
+	}
+
+	/**
+	 * Binds the given test to the current thread.
+	 *
+	 * @param result TestNG result of the test that is starting.
+	 */
+	public static void bind(ITestResult result) {
+		if (result == null) {
+			return;
+		}
+		bind(result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName());
+	}
+
+	/**
+	 * Binds a test id (e.g. "SignupTest.verifySignup") to the current thread.
+	 *
+	 * @param testId Test id to show in log lines.
+	 */
+	public static void bind(String testId) {
+		MDC.put(TEST_ID, testId);
+		MDC.put(BROWSER, browser());
+	}
+
+	/** Removes the test id and browser from the current thread. */
+	public static void clear() {
+		MDC.remove(TEST_ID);
+		MDC.remove(BROWSER);
+	}
+
+	private static String browser() {
+		String name = browser;
+		if (name == null) {
+			try {
+				name = ConfigManager.getEnvSpecificProperty("browser", "chrome").toLowerCase();
+			} catch (RuntimeException e) {
+				name = "unknown";
+			}
+			browser = name;
+		}
+		return name;
+	}
+}
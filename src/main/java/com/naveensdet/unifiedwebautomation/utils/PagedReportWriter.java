@@ -0,0 +1,374 @@
+package com.naveensdet.unifiedwebautomation.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.model.Log;
+import com.aventstack.extentreports.model.Media;
+import com.aventstack.extentreports.model.Test;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.CharacterEscapes;
+
+/**
+ * PagedReportWriter - lightweight, lazily loaded alternative to the single-file Spark report.
+ *
+ * Writes reports/PagedReport_&lt;run&gt;.html (a small static page) plus data files under
+ * reports/PagedReport_&lt;run&gt;/:
+ * <ul>
+ * <li>index.js - run totals and the list of test classes.</li>
+ * <li>class-&lt;n&gt;-&lt;page&gt;.js - test summaries of one class, 'report.paged.pageSize' per page.</li>
+ * <li>tests-&lt;n&gt;.js - full steps of 'report.paged.chunkSize' tests, written as tests finish.</li>
+ * </ul>
+ * Data files are JSONP scripts so the page also works from file://. The browser only loads the
+ * index up front; class pages and test steps are fetched when opened, so the page opens at the
+ * same speed for ten tests or a hundred thousand.
+ *
+ * Fed by {@link ExtentReportManager}: tests are registered on creation and written on completion.
+ * Enabled with 'report.paged.enabled'.
+ */
+public final class PagedReportWriter {
+
+	private static final Logger logger = LoggerFactory.getLogger(PagedReportWriter.class);
+
+	private static final boolean ENABLED =
+			Boolean.parseBoolean(ConfigManager.getProperty("report.paged.enabled", "true"));
+	private static final int CHUNK_SIZE = Math.max(1, ConfigManager.getIntProperty("report.paged.chunkSize", 50));
+	private static final int PAGE_SIZE = Math.max(10, ConfigManager.getIntProperty("report.paged.pageSize", 500));
+	private static final String TEMPLATE = "paged-report/index.html";
+	private static final String DEFAULT_GROUP = "Tests";
+	private static final CharacterEscapes SCRIPT_SAFE_ESCAPES = new ScriptSafeEscapes();
+
+	/** Class (group) of each running test, captured on the creating thread. */
+	private static final Map<ExtentTest, String> groups = new ConcurrentHashMap<>();
+
+	private static Path dataDir;
+	private static Path indexHtml;
+	private static String runName;
+	private static final Map<String, List<Summary>> summaries = new TreeMap<>();
+	private static final List<String> pendingChunk = new ArrayList<>();
+	private static int chunkCount;
+	private static long testCount;
+	private static final Map<String, Long> totals = new TreeMap<>();
+	private static long firstStart = Long.MAX_VALUE;
+	private static long lastEnd;
+
+	// Private constructor to prevent instantiation
+	private PagedReportWriter() {
+		throw new AssertionError("Utility class should not be instantiated");
+	}
+
+	/** Returns true when the paged report is written. */
+	public static boolean isEnabled() {
+		return ENABLED;
+	}
+
+	/**
+	 * Prepares the output folder next to the Spark report.
+	 *
+	 * @param sparkReportPath Path of this run's Spark report (its name is reused).
+	 */
+	public static synchronized void start(String sparkReportPath) {
+		if (!ENABLED || dataDir != null) {
+			return;
+		}
+		// Another suite in the same JVM starts from nothing
+		summaries.clear();
+		pendingChunk.clear();
+		groups.clear();
+		totals.clear();
+		chunkCount = 0;
+		testCount = 0;
+		firstStart = Long.MAX_VALUE;
+		lastEnd = 0;
+
+		Path spark = Paths.get(sparkReportPath);
+		runName = spark.getFileName().toString().replace("ExtentReport_", "PagedReport_").replaceAll("\\.html?$", "");
+		indexHtml = spark.resolveSibling(runName + ".html");
+		dataDir = spark.resolveSibling(runName);
+		try {
+			Files.createDirectories(dataDir);
+			logger.info("Paged report: {}", indexHtml);
+		} catch (IOException e) {
+			logger.error("Could not create paged report folder {}: {}", dataDir, e.getMessage());
+			dataDir = null;
+		}
+	}
+
+	/**
+	 * Remembers the class of a new test. Called on the test thread, where TestNG knows the class.
+	 */
+	static void testCreated(ExtentTest test) {
+		if (dataDir == null || test == null) {
+			return;
+		}
+		ITestResult result = Reporter.getCurrentTestResult();
+		String group = result != null && result.getTestClass() != null
+				? result.getTestClass().getRealClass().getSimpleName()
+				: groupFromName(test.getModel().getName());
+		groups.put(test, group);
+	}
+
+	/**
+	 * Writes a finished test. Called after all of the test's steps have been applied.
+	 */
+	static synchronized void testFinished(ExtentTest test) {
+		if (dataDir == null || test == null) {
+			return;
+		}
+		String group = groups.remove(test);
+		Test model = test.getModel();
+		if (group == null) {
+			group = groupFromName(model.getName());
+		}
+		try {
+			String id = String.valueOf(testCount);
+			pendingChunk.add(toJson(id, model));
+
+			long start = model.getStartTime().getTime();
+			long end = model.getEndTime().getTime();
+			String status = model.getStatus().toString().toUpperCase();
+			summaries.computeIfAbsent(group, key -> new ArrayList<>())
+					.add(new Summary(id, chunkCount, model.getName(), status, start, end - start));
+			totals.merge(status, 1L, Long::sum);
+			firstStart = Math.min(firstStart, start);
+			lastEnd = Math.max(lastEnd, end);
+			testCount++;
+
+			if (pendingChunk.size() >= CHUNK_SIZE) {
+				writeChunk();
+			}
+		} catch (IOException e) {
+			logger.warn("Could not add test '{}' to paged report: {}", model.getName(), e.getMessage());
+		}
+	}
+
+	/**
+	 * Writes the remaining tests, the class pages, the index and the HTML page.
+	 */
+	public static synchronized void finish() {
+		if (dataDir == null) {
+			return;
+		}
+		// Tests without a completion event (not created through BaseClass) are written now
+		for (ExtentTest test : new ArrayList<>(groups.keySet())) {
+			testFinished(test);
+		}
+		try {
+			if (!pendingChunk.isEmpty()) {
+				writeChunk();
+			}
+			List<Map<String, Object>> classes = new ArrayList<>();
+			int classIndex = 0;
+			for (Map.Entry<String, List<Summary>> entry : summaries.entrySet()) {
+				List<Summary> tests = entry.getValue();
+				Map<String, Long> classTotals = new TreeMap<>();
+				int pages = (tests.size() + PAGE_SIZE - 1) / PAGE_SIZE;
+				for (int page = 0; page < pages; page++) {
+					List<Summary> slice = tests.subList(page * PAGE_SIZE, Math.min(tests.size(), (page + 1) * PAGE_SIZE));
+					writeData("class-" + classIndex + "-" + page + ".js", "PR.classPage(" + classIndex + "," + page + ",",
+							generator -> writeSummaries(generator, slice));
+				}
+				for (Summary summary : tests) {
+					classTotals.merge(summary.status, 1L, Long::sum);
+				}
+				Map<String, Object> info = new LinkedHashMap<>();
+				info.put("name", entry.getKey());
+				info.put("tests", tests.size());
+				info.put("pages", pages);
+				info.put("status", classTotals);
+				classes.add(info);
+				classIndex++;
+			}
+
+			Map<String, Object> index = new LinkedHashMap<>();
+			index.put("title", runName);
+			index.put("tests", testCount);
+			index.put("status", totals);
+			index.put("start", testCount == 0 ? 0 : firstStart);
+			index.put("end", lastEnd);
+			index.put("classes", classes);
+			writeData("index.js", "PR.index(", generator -> generator.writeObject(index));
+
+			writePage();
+			logger.info("Paged report written: {} tests in {} classes, {} chunks - {}", testCount, classes.size(), chunkCount, indexHtml);
+		} catch (IOException e) {
+			logger.error("Could not finish paged report {}: {}", indexHtml, e.getMessage(), e);
+		} finally {
+			summaries.clear();
+			dataDir = null;
+		}
+	}
+
+	private static String toJson(String id, Test model) throws IOException {
+		StringWriter json = new StringWriter();
+		try (JsonGenerator generator = JsonDataService.getMapper().getFactory().createGenerator(json)) {
+			generator.writeStartObject();
+			generator.writeStringField("id", id);
+			generator.writeStringField("name", model.getName());
+			generator.writeStringField("description", model.getDescription());
+			generator.writeStringField("status", model.getStatus().toString().toUpperCase());
+			generator.writeNumberField("start", model.getStartTime().getTime());
+			generator.writeNumberField("end", model.getEndTime().getTime());
+			generator.writeArrayFieldStart("steps");
+			for (Log log : model.getLogs()) {
+				generator.writeStartObject();
+				generator.writeStringField("status", log.getStatus().toString().toUpperCase());
+				generator.writeNumberField("time", log.getTimestamp().getTime());
+				if (log.getDetails() != null) {
+					generator.writeStringField("details", log.getDetails());
+				}
+				if (log.getMedia() != null && log.getMedia().getPath() != null) {
+					generator.writeStringField("media", log.getMedia().getPath());
+				}
+				generator.writeEndObject();
+			}
+			generator.writeEndArray();
+			generator.writeArrayFieldStart("media");
+			for (Media media : model.getMedia()) {
+				if (media.getPath() != null) {
+					generator.writeString(media.getPath());
+				}
+			}
+			generator.writeEndArray();
+			generator.writeEndObject();
+		}
+		return json.toString();
+	}
+
+	private static void writeChunk() throws IOException {
+		int chunk = chunkCount++;
+		writeData("tests-" + chunk + ".js", "PR.chunk(" + chunk + ",", generator -> {
+			generator.writeStartArray();
+			for (String test : pendingChunk) {
+				generator.writeRawValue(test);
+			}
+			generator.writeEndArray();
+		});
+		pendingChunk.clear();
+	}
+
+	private static void writeSummaries(JsonGenerator generator, List<Summary> tests) throws IOException {
+		generator.writeStartArray();
+		for (Summary summary : tests) {
+			generator.writeStartObject();
+			generator.writeStringField("id", summary.id);
+			generator.writeNumberField("chunk", summary.chunk);
+			generator.writeStringField("name", summary.name);
+			generator.writeStringField("status", summary.status);
+			generator.writeNumberField("start", summary.start);
+			generator.writeNumberField("durationMs", summary.durationMs);
+			generator.writeEndObject();
+		}
+		generator.writeEndArray();
+	}
+
+	/** Writes "prefix&lt;json&gt;);" atomically. */
+	private static void writeData(String fileName, String prefix, JsonBody body) throws IOException {
+		Path target = dataDir.resolve(fileName);
+		Path temp = dataDir.resolve(fileName + ".part");
+		try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+			writer.write(prefix);
+			try (JsonGenerator generator = JsonDataService.getMapper().getFactory().createGenerator(writer)) {
+				generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+				generator.setCharacterEscapes(SCRIPT_SAFE_ESCAPES);
+				body.write(generator);
+			}
+			writer.write(");\n");
+		}
+		Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private static void writePage() throws IOException {
+		try (InputStream template = PagedReportWriter.class.getClassLoader().getResourceAsStream(TEMPLATE)) {
+			if (template == null) {
+				throw new FrameworkException("Paged report template not found on classpath: " + TEMPLATE);
+			}
+			String html = new String(template.readAllBytes(), StandardCharsets.UTF_8)
+					.replace("${title}", runName)
+					.replace("${data}", dataDir.getFileName().toString());
+			Files.write(indexHtml, html.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	/** "LoginTest.validLogin [TestNG-1]" - class part of a BaseClass test name, else the default group. */
+	private static String groupFromName(String name) {
+		if (name == null) {
+			return DEFAULT_GROUP;
+		}
+		String bare = name.replaceAll("\\s*\\[[^\\]]*\\]$", "");
+		int dot = bare.lastIndexOf('.');
+		return dot > 0 ? bare.substring(0, dot) : DEFAULT_GROUP;
+	}
+
+	/**
+	 * ScriptSafeEscapes - escapes '/' so "&lt;/script&gt;" in step details cannot end the data script.
+	 */
+	private static final class ScriptSafeEscapes extends CharacterEscapes {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int[] escapes;
+
+		private ScriptSafeEscapes() {
+			escapes = CharacterEscapes.standardAsciiEscapesForJSON();
+			escapes['/'] = CharacterEscapes.ESCAPE_STANDARD;
+		}
+
+		@Override
+		public int[] getEscapeCodesForAscii() {
+			return escapes;
+		}
+
+		@Override
+		public SerializableString getEscapeSequence(int ch) {
+			return null;
+		}
+	}
+
+	/** Writes a JSON value with the given generator. */
+	private interface JsonBody {
+		void write(JsonGenerator generator) throws IOException;
+	}
+
+	/**
+	 * Summary - row of a class page.
+	 */
+	private static final class Summary {
+
+		private final String id;
+		private final int chunk;
+		private final String name;
+		private final String status;
+		private final long start;
+		private final long durationMs;
+
+		private Summary(String id, int chunk, String name, String status, long start, long durationMs) {
+			this.id = id;
+			this.chunk = chunk;
+			this.name = name;
+			this.status = status;
+			this.start = start;
+			this.durationMs = durationMs;
+		}
+	}
+}
@@ -0,0 +1,449 @@
+package com.naveensdet.unifiedwebautomation.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * ReportArchive - packages the reports folder into one zip at the end of the suite.
+ *
+ * Screenshots, GIFs, videos and other already-compressed files ('report.zip.storedExtensions') are
+ * stored as is; everything else is deflated at 'report.zip.level'. Files are read, checksummed and
+ * compressed in parallel on 'report.zip.threads' threads, a bounded number ahead of the writer, and
+ * written in folder order through a 1 MB buffer. Archives too large for the plain zip format
+ * (over 4 GB or 65535 entries) are written sequentially with ZIP64 support instead.
+ */
+public final class ReportArchive {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReportArchive.class);
+
+	private static final int THREADS = Math.max(1, ConfigManager.getIntProperty("report.zip.threads",
+			Runtime.getRuntime().availableProcessors()));
+	private static final int LEVEL = Math.max(Deflater.BEST_SPEED, Math.min(Deflater.BEST_COMPRESSION,
+			ConfigManager.getIntProperty("report.zip.level", 6)));
+	private static final Set<String> STORED_EXTENSIONS = new HashSet<>(Arrays.asList(ConfigManager
+			.getProperty("report.zip.storedExtensions", "png,jpg,jpeg,gif,webp,mp4,webm,zip,gz,woff,woff2")
+			.toLowerCase(Locale.ROOT).split("\\s*,\\s*")));
+
+	private static final int BUFFER_SIZE = 1024 * 1024;
+	// Files up to this size are kept in memory between preparing and writing; larger ones are read again
+	private static final long IN_MEMORY_LIMIT = 8L * 1024 * 1024;
+	private static final long ZIP32_LIMIT = 0xFFFFFFFFL;
+	private static final int ZIP32_MAX_ENTRIES = 0xFFFF;
+	private static final int UTF8_FLAG = 0x0800;
+
+	// Private constructor to prevent instantiation
+	private ReportArchive() {
+		throw new AssertionError("Utility class should not be instantiated");
+	}
+
+	/**
+	 * Zips a folder. The target may be inside the folder; it is left out of the archive.
+	 *
+	 * @param source   Folder to package.
+	 * @param rootName Folder name the entries are placed under (e.g. "reports").
+	 * @param target   Zip file to write.
+	 * @return What was packaged and how long it took.
+	 * @throws IOException When the folder cannot be read or the zip cannot be written.
+	 */
+	public static Result create(Path source, String rootName, Path target) throws IOException {
+		long start = System.nanoTime();
+		List<Item> items = list(source, rootName, target.toAbsolutePath().normalize());
+
+		long headerBytes = 22;
+		long fileBytes = 0;
+		for (Item item : items) {
+			headerBytes += 76 + 2L * item.name.length;
+			fileBytes += item.size;
+		}
+		// Deflate can grow incompressible data slightly; leave room for it
+		boolean zip32 = items.size() <= ZIP32_MAX_ENTRIES && headerBytes + fileBytes + fileBytes / 64 < ZIP32_LIMIT;
+
+		Result result = zip32 ? writeParallel(items, target) : writeSequential(items, target);
+		result.millis = (System.nanoTime() - start) / 1_000_000;
+		result.parallel = zip32;
+		return result;
+	}
+
+	/** Directories and files under the source in walk order, parents first. */
+	private static List<Item> list(Path source, String rootName, Path exclude) throws IOException {
+		try (Stream<Path> paths = Files.walk(source)) {
+			return paths.filter(path -> !path.equals(source) && !path.toAbsolutePath().normalize().equals(exclude))
+					.map(path -> new Item(path, rootName + "/" + source.relativize(path).toString().replace('\\', '/')))
+					.collect(Collectors.toList());
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/** Prepares entries on the pool, keeping a bounded window ahead of the single writer. */
+	private static Result writeParallel(List<Item> items, Path target) throws IOException {
+		ExecutorService pool = createPool();
+		Result result = new Result();
+		List<Item> written = new ArrayList<>(items.size());
+		ArrayDeque<Future<Item>> window = new ArrayDeque<>();
+		int next = 0;
+		try (ZipWriter zip = new ZipWriter(target)) {
+			while (next < items.size() || !window.isEmpty()) {
+				while (next < items.size() && window.size() < THREADS * 4) {
+					Item item = items.get(next++);
+					window.add(pool.submit(() -> prepare(item)));
+				}
+				Item item = await(window.poll());
+				zip.writeLocal(item);
+				result.count(item);
+				item.data = null;
+				written.add(item);
+			}
+			zip.writeCentralDirectory(written);
+			result.zipBytes = zip.offset;
+		} finally {
+			pool.shutdownNow();
+		}
+		return result;
+	}
+
+	/** ZIP64 fallback: one entry at a time through ZipOutputStream. */
+	private static Result writeSequential(List<Item> items, Path target) throws IOException {
+		logger.info("Report archive exceeds 4 GB or 65535 entries - writing it sequentially as ZIP64");
+		Result result = new Result();
+		try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(target), BUFFER_SIZE);
+				ZipOutputStream zip = new ZipOutputStream(file)) {
+			zip.setLevel(LEVEL);
+			byte[] buffer = new byte[64 * 1024];
+			for (Item item : items) {
+				ZipEntry entry = new ZipEntry(item.entryName);
+				entry.setTime(item.modified);
+				if (item.stored && !item.directory) {
+					item.crc = crcOf(item.path, buffer);
+					entry.setMethod(ZipEntry.STORED);
+					entry.setSize(item.size);
+					entry.setCompressedSize(item.size);
+					entry.setCrc(item.crc);
+				}
+				zip.putNextEntry(entry);
+				if (!item.directory) {
+					copy(item.path, zip, buffer);
+				}
+				zip.closeEntry();
+				item.compressedSize = entry.getCompressedSize() < 0 ? item.size : entry.getCompressedSize();
+				result.count(item);
+			}
+		}
+		result.zipBytes = Files.size(target);
+		return result;
+	}
+
+	/** Reads the file once: CRC and size, plus the deflated bytes for text or the bytes of small media files. */
+	private static Item prepare(Item item) throws IOException {
+		if (item.directory) {
+			return item;
+		}
+		CRC32 crc = new CRC32();
+		byte[] buffer = new byte[64 * 1024];
+		if (item.stored && item.size > IN_MEMORY_LIMIT) {
+			item.crc = crcOf(item.path, buffer);
+			item.compressedSize = item.size;
+			return item;
+		}
+		if (item.stored) {
+			item.data = Files.readAllBytes(item.path);
+			crc.update(item.data);
+			item.size = item.data.length;
+			item.compressedSize = item.size;
+		} else {
+			Deflater deflater = new Deflater(LEVEL, true);
+			ByteArrayOutputStream compressed = new ByteArrayOutputStream((int) Math.min(IN_MEMORY_LIMIT, item.size / 4 + 64));
+			long size = 0;
+			try (InputStream in = Files.newInputStream(item.path);
+					DeflaterOutputStream out = new DeflaterOutputStream(compressed, deflater, buffer.length)) {
+				int read;
+				while ((read = in.read(buffer)) > 0) {
+					crc.update(buffer, 0, read);
+					out.write(buffer, 0, read);
+					size += read;
+				}
+			} finally {
+				deflater.end();
+			}
+			item.data = compressed.toByteArray();
+			item.size = size;
+			item.compressedSize = item.data.length;
+		}
+		item.crc = crc.getValue();
+		return item;
+	}
+
+	private static long crcOf(Path path, byte[] buffer) throws IOException {
+		CRC32 crc = new CRC32();
+		try (InputStream in = Files.newInputStream(path)) {
+			int read;
+			while ((read = in.read(buffer)) > 0) {
+				crc.update(buffer, 0, read);
+			}
+		}
+		return crc.getValue();
+	}
+
+	private static void copy(Path path, OutputStream out, byte[] buffer) throws IOException {
+		try (InputStream in = Files.newInputStream(path)) {
+			int read;
+			while ((read = in.read(buffer)) > 0) {
+				out.write(buffer, 0, read);
+			}
+		}
+	}
+
+	private static Item await(Future<Item> future) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while packaging reports", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+		}
+	}
+
+	private static ExecutorService createPool() {
+		AtomicInteger threadNumber = new AtomicInteger();
+		return Executors.newFixedThreadPool(THREADS, runnable -> {
+			Thread thread = new Thread(runnable, "report-zip-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Item - one file or directory and, once prepared, its checksum and entry data.
+	 */
+	private static final class Item {
+
+		private final Path path;
+		private final String entryName;
+		private final byte[] name;
+		private final boolean directory;
+		private final boolean stored;
+		private final long modified;
+		private long size;
+		private long compressedSize;
+		private long crc;
+		private long offset;
+		private byte[] data;
+
+		private Item(Path path, String entryName) {
+			this.path = path;
+			this.directory = Files.isDirectory(path);
+			this.entryName = directory ? entryName + "/" : entryName;
+			this.name = this.entryName.getBytes(StandardCharsets.UTF_8);
+			this.stored = directory || STORED_EXTENSIONS.contains(extension(entryName));
+			long lastModified = path.toFile().lastModified();
+			this.modified = lastModified > 0 ? lastModified : System.currentTimeMillis();
+			this.size = directory ? 0 : path.toFile().length();
+		}
+
+		private int method() {
+			return stored ? ZipEntry.STORED : ZipEntry.DEFLATED;
+		}
+
+		private static String extension(String name) {
+			int dot = name.lastIndexOf('.');
+			return dot < 0 ? "" : name.substring(dot + 1).toLowerCase(Locale.ROOT);
+		}
+	}
+
+	/**
+	 * ZipWriter - writes entries whose data is already stored or deflated (plain zip, no ZIP64).
+	 */
+	private static final class ZipWriter implements AutoCloseable {
+
+		private final OutputStream out;
+		private final byte[] buffer = new byte[64 * 1024];
+		private long offset;
+
+		private ZipWriter(Path target) throws IOException {
+			this.out = new BufferedOutputStream(Files.newOutputStream(target), BUFFER_SIZE);
+		}
+
+		private void writeLocal(Item item) throws IOException {
+			item.offset = offset;
+			int[] dos = dosTime(item.modified);
+			int32(0x04034b50);
+			int16(20);
+			int16(UTF8_FLAG);
+			int16(item.method());
+			int16(dos[0]);
+			int16(dos[1]);
+			int32(item.crc);
+			int32(item.compressedSize);
+			int32(item.size);
+			int16(item.name.length);
+			int16(0);
+			bytes(item.name);
+			if (item.data != null) {
+				bytes(item.data);
+			} else if (!item.directory) {
+				// Large media file: streamed from disk; its CRC was computed while preparing
+				try (InputStream in = Files.newInputStream(item.path)) {
+					long copied = 0;
+					int read;
+					while ((read = in.read(buffer)) > 0) {
+						out.write(buffer, 0, read);
+						copied += read;
+					}
+					if (copied != item.size) {
+						throw new IOException("File changed while packaging: " + item.path);
+					}
+					offset += copied;
+				}
+			}
+		}
+
+		private void writeCentralDirectory(List<Item> items) throws IOException {
+			long start = offset;
+			for (Item item : items) {
+				int[] dos = dosTime(item.modified);
+				int32(0x02014b50);
+				int16(20);
+				int16(20);
+				int16(UTF8_FLAG);
+				int16(item.method());
+				int16(dos[0]);
+				int16(dos[1]);
+				int32(item.crc);
+				int32(item.compressedSize);
+				int32(item.size);
+				int16(item.name.length);
+				int16(0);
+				int16(0);
+				int16(0);
+				int16(0);
+				// MS-DOS directory attribute
+				int32(item.directory ? 0x10 : 0);
+				int32(item.offset);
+				bytes(item.name);
+			}
+			long size = offset - start;
+			int32(0x06054b50);
+			int16(0);
+			int16(0);
+			int16(items.size());
+			int16(items.size());
+			int32(size);
+			int32(start);
+			int16(0);
+		}
+
+		/** MS-DOS time and date fields, in local time, 2-second resolution. */
+		private static int[] dosTime(long millis) {
+			LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+			if (time.getYear() < 1980) {
+				return new int[] { 0, (1 << 5) | 1 };
+			}
+			return new int[] { (time.getHour() << 11) | (time.getMinute() << 5) | (time.getSecond() >> 1),
+					((time.getYear() - 1980) << 9) | (time.getMonthValue() << 5) | time.getDayOfMonth() };
+		}
+
+		private void int16(int value) throws IOException {
+			out.write(value & 0xFF);
+			out.write((value >>> 8) & 0xFF);
+			offset += 2;
+		}
+
+		private void int32(long value) throws IOException {
+			int16((int) (value & 0xFFFF));
+			int16((int) ((value >>> 16) & 0xFFFF));
+		}
+
+		private void bytes(byte[] data) throws IOException {
+			out.write(data);
+			offset += data.length;
+		}
+
+		@Override
+		public void close() throws IOException {
+			out.close();
+		}
+	}
+
+	/**
+	 * Result - counts and timing of one archive.
+	 */
+	public static final class Result {
+
+		private int files;
+		private int directories;
+		private int storedFiles;
+		private long bytes;
+		private long zipBytes;
+		private long millis;
+		private boolean parallel;
+
+		private void count(Item item) {
+			if (item.directory) {
+				directories++;
+				return;
+			}
+			files++;
+			bytes += item.size;
+			if (item.stored) {
+				storedFiles++;
+			}
+		}
+
+		public int getFiles() {
+			return files;
+		}
+
+		public long getBytes() {
+			return bytes;
+		}
+
+		public long getZipBytes() {
+			return zipBytes;
+		}
+
+		public long getMillis() {
+			return millis;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%d files (%d stored as is) in %d folders, %,d bytes -> %,d bytes zipped in %d ms (%s)",
+					files, storedFiles, directories, bytes, zipBytes, millis,
+					parallel ? THREADS + " compression threads" : "sequential ZIP64");
+		}
+	}
+}
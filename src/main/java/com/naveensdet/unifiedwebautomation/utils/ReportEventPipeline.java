@@ -0,0 +1,285 @@
+package com.naveensdet.unifiedwebautomation.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.model.Media;
+
+/**
+ * ReportEventPipeline - moves Extent report bookkeeping off the test threads.
+ *
+ * Test threads publish small immutable {@link StepEvent}s into a bounded blocking queue; one
+ * daemon consumer takes them in batches and applies each batch to the Extent tree while holding
+ * the report lock, so node updates never overlap test creation or a flush on another thread.
+ * Events are applied in publish order, so the steps of each test keep their order. When the queue
+ * is full the configured backpressure policy decides what happens:
+ * <ul>
+ * <li>BLOCK (default) - the publishing thread waits for free space.</li>
+ * <li>DROP_INFO - INFO/PASS events are dropped (and counted); FAIL/WARNING/SKIP still wait.</li>
+ * </ul>
+ *
+ * Configuration: report.async.enabled, report.async.queueCapacity, report.async.backpressure.
+ * {@link #drain(long)} must be called before the report is flushed.
+ */
+public final class ReportEventPipeline {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReportEventPipeline.class);
+
+	/** What to do when the consumer falls behind and the queue is full. */
+	public enum Backpressure {
+		BLOCK, DROP_INFO
+	}
+
+	private static final boolean ENABLED =
+			Boolean.parseBoolean(ConfigManager.getProperty("report.async.enabled", "true"));
+	private static final int CAPACITY =
+			Math.max(16, ConfigManager.getIntProperty("report.async.queueCapacity", 8192));
+	private static final Backpressure POLICY = parsePolicy(ConfigManager.getProperty("report.async.backpressure", "BLOCK"));
+
+	// Most events applied per report lock acquisition
+	private static final int BATCH_SIZE = 256;
+
+	private static final BlockingQueue<StepEvent> QUEUE = new LinkedBlockingQueue<>(CAPACITY);
+	private static final Object DRAINED = new Object();
+	private static final AtomicLong PUBLISHED = new AtomicLong();
+	private static final AtomicLong APPLIED = new AtomicLong();
+	private static final AtomicLong DROPPED = new AtomicLong();
+	private static final AtomicLong FAILED = new AtomicLong();
+
+	private static volatile Thread consumer;
+
+	// Private constructor to prevent instantiation
+	private ReportEventPipeline() {
+		throw new AssertionError("Utility class should not be instantiated");
+	}
+
+	/** Returns true when events are applied asynchronously. */
+	public static boolean isEnabled() {
+		return ENABLED;
+	}
+
+	/**
+	 * Publishes a step for the given test. Applies it directly when the pipeline is disabled.
+	 *
+	 * @param test    Target test node (captured on the publishing thread).
+	 * @param status  Extent status of the step.
+	 * @param message Step details; may be null when media is given.
+	 * @param media   Optional screenshot media.
+	 */
+	public static void publish(ExtentTest test, Status status, String message, Media media) {
+		if (test == null) {
+			throw new FrameworkException("No active test found. Create test first using createTest()");
+		}
+		StepEvent event = new StepEvent(test, status, message, media);
+		if (!ENABLED) {
+			applyLocked(event);
+			return;
+		}
+		ensureConsumer();
+
+		if (POLICY == Backpressure.DROP_INFO && (status == Status.INFO || status == Status.PASS)) {
+			if (QUEUE.offer(event)) {
+				PUBLISHED.incrementAndGet();
+			} else if (DROPPED.incrementAndGet() % 1000 == 1) {
+				logger.warn("Report queue full ({} events) - dropping INFO/PASS steps ({} dropped so far)", CAPACITY, DROPPED.get());
+			}
+			return;
+		}
+		enqueue(event);
+	}
+
+	/**
+	 * Marks the test as finished. Queued behind the test's steps, so the report spill only sees
+	 * complete tests.
+	 *
+	 * @param test Finished test node.
+	 */
+	public static void publishCompletion(ExtentTest test) {
+		if (test == null) {
+			return;
+		}
+		StepEvent event = new StepEvent(test, null, null, null);
+		if (!ENABLED) {
+			apply(event);
+			return;
+		}
+		ensureConsumer();
+		// Completion markers are never dropped
+		enqueue(event);
+	}
+
+	/**
+	 * Waits until every published event has been applied.
+	 *
+	 * @param timeoutMillis Maximum time to wait.
+	 * @return true when the queue was fully drained.
+	 */
+	public static boolean drain(long timeoutMillis) {
+		if (!ENABLED || consumer == null) {
+			return true;
+		}
+		long target = PUBLISHED.get();
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+		synchronized (DRAINED) {
+			while (APPLIED.get() < target) {
+				long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+				if (remaining <= 0) {
+					logger.warn("Report queue not drained within {} ms ({} events pending)", timeoutMillis, target - APPLIED.get());
+					return false;
+				}
+				try {
+					DRAINED.wait(remaining);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return false;
+				}
+			}
+		}
+		if (DROPPED.get() > 0 || FAILED.get() > 0) {
+			logger.info("Report pipeline: {} events applied, {} dropped, {} failed", APPLIED.get(), DROPPED.get(), FAILED.get());
+		}
+		return true;
+	}
+
+	/** Number of events waiting to be applied. */
+	public static int pending() {
+		return QUEUE.size();
+	}
+
+	/**
+	 * Waits for queue space; an interrupted publisher applies the event itself rather than lose it.
+	 */
+	private static void enqueue(StepEvent event) {
+		try {
+			QUEUE.put(event);
+			PUBLISHED.incrementAndGet();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			applyLocked(event);
+		}
+	}
+
+	private static void ensureConsumer() {
+		if (consumer == null) {
+			synchronized (ReportEventPipeline.class) {
+				if (consumer == null) {
+					Thread thread = new Thread(ReportEventPipeline::consume, "extent-report-writer");
+					thread.setDaemon(true);
+					thread.start();
+					consumer = thread;
+					logger.info("Report event pipeline started (capacity {}, backpressure {})", CAPACITY, POLICY);
+				}
+			}
+		}
+	}
+
+	private static void consume() {
+		List<StepEvent> batch = new ArrayList<>(BATCH_SIZE);
+		while (true) {
+			try {
+				batch.add(QUEUE.take());
+			} catch (InterruptedException e) {
+				continue;
+			}
+			QUEUE.drainTo(batch, BATCH_SIZE - 1);
+			applyBatch(batch);
+			APPLIED.addAndGet(batch.size());
+			batch.clear();
+			synchronized (DRAINED) {
+				DRAINED.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Applies a batch in order. Runs of steps share one report lock acquisition; completion
+	 * markers run outside it because the spill takes the lock itself and does file I/O.
+	 */
+	private static void applyBatch(List<StepEvent> batch) {
+		int start = 0;
+		while (start < batch.size()) {
+			if (batch.get(start).status == null) {
+				apply(batch.get(start++));
+				continue;
+			}
+			int end = start;
+			while (end < batch.size() && batch.get(end).status != null) {
+				end++;
+			}
+			List<StepEvent> steps = batch.subList(start, end);
+			ExtentReportManager.withReportLock(() -> steps.forEach(ReportEventPipeline::apply));
+			start = end;
+		}
+	}
+
+	private static void applyLocked(StepEvent event) {
+		if (event.status == null) {
+			apply(event);
+		} else {
+			ExtentReportManager.withReportLock(() -> apply(event));
+		}
+	}
+
+	private static void apply(StepEvent event) {
+		try {
+			if (event.status == null) {
+				ReportShardWriter.testFinished(event.test);
+				PagedReportWriter.testFinished(event.test);
+				ReportSpillManager.testFinished(event.test);
+			} else if (event.media != null && event.message != null) {
+				event.test.log(event.status, event.message, event.media);
+			} else if (event.media != null) {
+				event.test.log(event.status, event.media);
+			} else {
+				event.test.log(event.status, event.message);
+			}
+		} catch (Exception e) {
+			FAILED.incrementAndGet();
+			logger.warn("Could not apply report step '{}': {}", event.message, e.getMessage());
+		}
+	}
+
+	private static Backpressure parsePolicy(String value) {
+		try {
+			return Backpressure.valueOf(value.trim().toUpperCase());
+		} catch (Exception e) {
+			logger.warn("Unknown report.async.backpressure '{}', using BLOCK", value);
+			return Backpressure.BLOCK;
+		}
+	}
+
+	/**
+	 * StepEvent - one immutable report step bound to its test node (a null status marks test completion).
+	 */
+	public static final class StepEvent {
+
+		private final ExtentTest test;
+		private final Status status;
+		private final String message;
+		private final Media media;
+
+		private StepEvent(ExtentTest test, Status status, String message, Media media) {
+			this.test = test;
+			this.status = status;
+			this.message = message;
+			this.media = media;
+		}
+
+		public Status getStatus() {
+			return status;
+		}
+
+		public String getMessage() {
+			return message;
+		}
+	}
+}
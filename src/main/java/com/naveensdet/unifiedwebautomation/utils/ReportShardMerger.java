@@ -0,0 +1,315 @@
+package com.naveensdet.unifiedwebautomation.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.MediaEntityBuilder;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.model.Log;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.configuration.Theme;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+
+/**
+ * ReportShardMerger - combines the JSON Lines shards of {@link ReportShardWriter} into one Spark report.
+ *
+ * Shards are read line by line (one pending test per shard) and merged in order of test end time,
+ * ties broken by shard file name, so the same shards always give the same report. A summary
+ * (totals per status and per shard) is written next to the HTML as &lt;report&gt;.summary.json.
+ *
+ * Command line:
+ * <pre>
+ * java -cp ... com.naveensdet.unifiedwebautomation.utils.ReportShardMerger [shardDir] [output.html]
+ * </pre>
+ */
+public final class ReportShardMerger {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReportShardMerger.class);
+
+	// Private constructor to prevent instantiation
+	private ReportShardMerger() {
+		throw new AssertionError("Utility class should not be instantiated");
+	}
+
+	public static void main(String[] args) throws IOException {
+		Path shardDir = args.length > 0 ? Paths.get(args[0]) : ReportShardWriter.getShardDirectory();
+		Path output = args.length > 1 ? Paths.get(args[1])
+				: Paths.get(System.getProperty("user.dir"), "reports", "ExtentReport_merged.html");
+		Summary summary = merge(shardDir, output);
+		System.out.println(summary);
+	}
+
+	/**
+	 * Merges every *.jsonl shard in a directory.
+	 */
+	public static Summary merge(Path shardDir, Path outputHtml) throws IOException {
+		if (!Files.isDirectory(shardDir)) {
+			throw new FrameworkException("Shard directory not found: " + shardDir);
+		}
+		List<Path> shards;
+		try (Stream<Path> files = Files.list(shardDir)) {
+			shards = files.filter(p -> p.getFileName().toString().endsWith(".jsonl")).collect(Collectors.toList());
+		}
+		return merge(shards, outputHtml);
+	}
+
+	/**
+	 * Merges the given shard files into a Spark report.
+	 *
+	 * @param shardFiles JSON Lines shards (order does not matter).
+	 * @param outputHtml Spark report to write.
+	 * @return Merge summary.
+	 */
+	public static Summary merge(List<Path> shardFiles, Path outputHtml) throws IOException {
+		if (shardFiles == null || shardFiles.isEmpty()) {
+			throw new FrameworkException("No report shards to merge");
+		}
+		List<Path> sorted = new ArrayList<>(shardFiles);
+		Collections.sort(sorted);
+		long started = System.currentTimeMillis();
+
+		Path parent = outputHtml.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		ExtentSparkReporter spark = new ExtentSparkReporter(outputHtml.toString());
+		spark.config().setDocumentTitle("Automation Test Report");
+		spark.config().setReportName("Test Execution Report (" + sorted.size() + " shards)");
+		spark.config().setTheme(Theme.STANDARD);
+		spark.config().setTimeStampFormat("MMM dd, yyyy HH:mm:ss");
+		ExtentReports extent = new ExtentReports();
+		extent.attachReporter(spark);
+
+		Summary summary = new Summary();
+		List<ShardCursor> cursors = new ArrayList<>();
+		PriorityQueue<ShardCursor> queue = new PriorityQueue<>();
+		try {
+			for (int i = 0; i < sorted.size(); i++) {
+				ShardCursor cursor = new ShardCursor(sorted.get(i), i, summary);
+				cursors.add(cursor);
+				if (cursor.advance()) {
+					queue.add(cursor);
+				}
+			}
+			while (!queue.isEmpty()) {
+				ShardCursor cursor = queue.poll();
+				addTest(extent, cursor.current);
+				summary.count(cursor.current);
+				if (cursor.advance()) {
+					queue.add(cursor);
+				}
+			}
+		} finally {
+			for (ShardCursor cursor : cursors) {
+				cursor.close();
+			}
+		}
+
+		extent.setSystemInfo("Shards", String.valueOf(sorted.size()));
+		summary.shardTests.keySet().forEach(shard -> extent.setSystemInfo("Shard " + shard, summary.shardTests.get(shard) + " tests"));
+		extent.flush();
+
+		summary.mergeMillis = System.currentTimeMillis() - started;
+		writeSummary(summary, Paths.get(outputHtml.toString().replaceAll("\\.html?$", "") + ".summary.json"));
+		logger.info("Merged {} shards into {}: {}", sorted.size(), outputHtml, summary);
+		return summary;
+	}
+
+	private static void addTest(ExtentReports extent, JsonNode record) {
+		ExtentTest test = extent.createTest(record.path("name").asText("Unnamed test"), record.path("description").asText(""));
+		for (JsonNode category : record.path("categories")) {
+			test.assignCategory(category.asText());
+		}
+		for (JsonNode step : record.path("steps")) {
+			Status status = parseStatus(step.path("status").asText());
+			String details = step.path("details").asText("");
+			if (step.hasNonNull("media")) {
+				test.log(status, details, MediaEntityBuilder.createScreenCaptureFromPath(step.get("media").asText()).build());
+			} else {
+				test.log(status, details);
+			}
+			List<Log> logs = test.getModel().getLogs();
+			logs.get(logs.size() - 1).setTimestamp(new Date(step.path("time").asLong()));
+		}
+		for (JsonNode media : record.path("media")) {
+			test.addScreenCaptureFromPath(media.asText());
+		}
+		if (!record.path("steps").elements().hasNext()) {
+			test.getModel().setStatus(parseStatus(record.path("status").asText()));
+		}
+		test.getModel().setStartTime(new Date(record.path("start").asLong()));
+		test.getModel().setEndTime(new Date(record.path("end").asLong()));
+	}
+
+	private static Status parseStatus(String value) {
+		for (Status status : Status.values()) {
+			if (status.toString().equalsIgnoreCase(value) || status.name().equalsIgnoreCase(value)) {
+				return status;
+			}
+		}
+		return Status.INFO;
+	}
+
+	private static void writeSummary(Summary summary, Path file) {
+		try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+				JsonGenerator generator = JsonDataService.getMapper().getFactory().createGenerator(writer)) {
+			generator.useDefaultPrettyPrinter();
+			generator.writeStartObject();
+			generator.writeNumberField("tests", summary.total);
+			generator.writeObjectFieldStart("status");
+			for (Map.Entry<String, Long> entry : summary.statusCounts.entrySet()) {
+				generator.writeNumberField(entry.getKey(), entry.getValue());
+			}
+			generator.writeEndObject();
+			generator.writeObjectFieldStart("shards");
+			for (Map.Entry<String, Long> entry : summary.shardTests.entrySet()) {
+				generator.writeNumberField(entry.getKey(), entry.getValue());
+			}
+			generator.writeEndObject();
+			generator.writeArrayFieldStart("incompleteShards");
+			for (String shard : summary.incompleteShards) {
+				generator.writeString(shard);
+			}
+			generator.writeEndArray();
+			generator.writeNumberField("firstStart", summary.firstStart);
+			generator.writeNumberField("lastEnd", summary.lastEnd);
+			generator.writeNumberField("wallClockMs", summary.getWallClockMillis());
+			generator.writeNumberField("mergeMs", summary.mergeMillis);
+			generator.writeEndObject();
+		} catch (IOException e) {
+			logger.warn("Could not write merge summary {}: {}", file, e.getMessage());
+		}
+	}
+
+	/**
+	 * Summary - totals of a merge.
+	 */
+	public static final class Summary {
+
+		private long total;
+		private final Map<String, Long> statusCounts = new TreeMap<>();
+		private final Map<String, Long> shardTests = new TreeMap<>();
+		private final List<String> incompleteShards = new ArrayList<>();
+		private long firstStart = Long.MAX_VALUE;
+		private long lastEnd;
+		private long mergeMillis;
+
+		private void count(JsonNode record) {
+			total++;
+			statusCounts.merge(record.path("status").asText("unknown").toUpperCase(), 1L, Long::sum);
+			shardTests.merge(record.path("shard").asText("unknown"), 1L, Long::sum);
+			firstStart = Math.min(firstStart, record.path("start").asLong(Long.MAX_VALUE));
+			lastEnd = Math.max(lastEnd, record.path("end").asLong());
+		}
+
+		public long getTotal() {
+			return total;
+		}
+
+		/** Test count per status name (e.g. "PASS"). */
+		public Map<String, Long> getStatusCounts() {
+			return Collections.unmodifiableMap(statusCounts);
+		}
+
+		/** Test count per shard id. */
+		public Map<String, Long> getShardTests() {
+			return Collections.unmodifiableMap(shardTests);
+		}
+
+		/** Shards without an end record (killed or still running). */
+		public List<String> getIncompleteShards() {
+			return Collections.unmodifiableList(incompleteShards);
+		}
+
+		/** Time from the earliest test start to the latest test end across shards. */
+		public long getWallClockMillis() {
+			return total == 0 ? 0 : lastEnd - firstStart;
+		}
+
+		@Override
+		public String toString() {
+			return total + " tests " + statusCounts + " from " + shardTests.size() + " shards"
+					+ (incompleteShards.isEmpty() ? "" : " (incomplete: " + incompleteShards + ")")
+					+ ", wall clock " + getWallClockMillis() + " ms, merged in " + mergeMillis + " ms";
+		}
+	}
+
+	/**
+	 * ShardCursor - streaming reader positioned on the next test record of one shard.
+	 */
+	private static final class ShardCursor implements Comparable<ShardCursor> {
+
+		private final Path file;
+		private final int order;
+		private final Summary summary;
+		private final MappingIterator<JsonNode> records;
+		private JsonNode current;
+		private boolean ended;
+
+		private ShardCursor(Path file, int order, Summary summary) throws IOException {
+			this.file = file;
+			this.order = order;
+			this.summary = summary;
+			this.records = JsonDataService.getReader().forType(JsonNode.class).readValues(file.toFile());
+		}
+
+		/** Moves to the next test record; returns false at end of shard. */
+		private boolean advance() {
+			current = null;
+			try {
+				while (records.hasNextValue()) {
+					JsonNode record = records.nextValue();
+					String type = record.path("type").asText();
+					if ("test".equals(type)) {
+						current = record;
+						return true;
+					}
+					if ("end".equals(type)) {
+						ended = true;
+					}
+				}
+			} catch (Exception e) {
+				// A killed shard may end with a partial line; keep everything before it
+				logger.warn("Stopped reading shard {} at a malformed record: {}", file.getFileName(), e.getMessage());
+			}
+			if (!ended) {
+				summary.incompleteShards.add(file.getFileName().toString());
+			}
+			return false;
+		}
+
+		@Override
+		public int compareTo(ShardCursor other) {
+			int byEnd = Long.compare(current.path("end").asLong(), other.current.path("end").asLong());
+			return byEnd != 0 ? byEnd : Integer.compare(order, other.order);
+		}
+
+		private void close() {
+			try {
+				records.close();
+			} catch (IOException e) {
+				logger.debug("Error closing shard {}: {}", file, e.getMessage());
+			}
+		}
+	}
+}
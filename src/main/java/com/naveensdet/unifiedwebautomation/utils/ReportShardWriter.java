@@ -0,0 +1,216 @@
+package com.naveensdet.unifiedwebautomation.utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.model.Category;
+import com.aventstack.extentreports.model.Log;
+import com.aventstack.extentreports.model.Media;
+import com.aventstack.extentreports.model.Test;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * ReportShardWriter - writes this JVM's test results as a compact JSON Lines shard.
+ *
+ * Enabled with 'report.shard.enabled=true' or '-Dreport.shard.id=&lt;id&gt;' (one id per fork/agent).
+ * Output goes to report-shards/&lt;id&gt;.jsonl (or 'report.shard.dir'), one record per line:
+ * <pre>
+ * {"type":"shard","shard":"agent-1","host":"ci-07","start":1700000000000}
+ * {"type":"test","shard":"agent-1","name":"...","description":"...","status":"PASS","start":..,"end":..,
+ *  "durationMs":..,"categories":[..],"steps":[{"status":"INFO","time":..,"details":"...","media":"./screenshots/a.png"}]}
+ * {"type":"end","shard":"agent-1","end":1700000360000,"tests":120}
+ * </pre>
+ * Each test line is written and flushed when the test completes, so a killed shard keeps all
+ * finished tests. {@link ReportShardMerger} combines shards into one Spark report.
+ */
+public final class ReportShardWriter {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReportShardWriter.class);
+
+	private static final String SHARD_ID = resolveShardId();
+	private static final boolean ENABLED = System.getProperty("report.shard.id") != null
+			|| Boolean.parseBoolean(ConfigManager.getProperty("report.shard.enabled", "false"));
+
+	private static BufferedWriter writer;
+	private static JsonGenerator generator;
+	private static Path shardFile;
+	private static long testCount;
+
+	// Private constructor to prevent instantiation
+	private ReportShardWriter() {
+		throw new AssertionError("Utility class should not be instantiated");
+	}
+
+	/** Returns true when this JVM writes a results shard. */
+	public static boolean isEnabled() {
+		return ENABLED;
+	}
+
+	/** Identifier of this shard. */
+	public static String getShardId() {
+		return SHARD_ID;
+	}
+
+	/** Directory holding the shard files of a run. */
+	public static Path getShardDirectory() {
+		return Paths.get(System.getProperty("user.dir"), ConfigManager.getProperty("report.shard.dir", "report-shards"));
+	}
+
+	/**
+	 * Opens (truncates) this shard's file and writes the header record.
+	 */
+	public static synchronized void start() {
+		if (!ENABLED || generator != null) {
+			return;
+		}
+		try {
+			Path dir = getShardDirectory();
+			Files.createDirectories(dir);
+			shardFile = dir.resolve(SHARD_ID + ".jsonl");
+			writer = Files.newBufferedWriter(shardFile, StandardCharsets.UTF_8);
+			generator = JsonDataService.getMapper().getFactory().createGenerator(writer);
+			generator.setRootValueSeparator(null);
+			testCount = 0;
+
+			generator.writeStartObject();
+			generator.writeStringField("type", "shard");
+			generator.writeStringField("shard", SHARD_ID);
+			generator.writeStringField("host", hostName());
+			generator.writeNumberField("start", System.currentTimeMillis());
+			generator.writeEndObject();
+			endLine();
+			logger.info("Writing report shard '{}' to {}", SHARD_ID, shardFile);
+		} catch (IOException e) {
+			logger.error("Could not open report shard {}: {}", shardFile, e.getMessage(), e);
+			closeQuietly();
+		}
+	}
+
+	/**
+	 * Appends a finished test. Called after all of the test's steps have been applied.
+	 */
+	static synchronized void testFinished(ExtentTest test) {
+		if (generator == null || test == null) {
+			return;
+		}
+		Test model = test.getModel();
+		try {
+			generator.writeStartObject();
+			generator.writeStringField("type", "test");
+			generator.writeStringField("shard", SHARD_ID);
+			generator.writeStringField("name", model.getName());
+			generator.writeStringField("description", model.getDescription());
+			generator.writeStringField("status", model.getStatus().toString());
+			long start = model.getStartTime().getTime();
+			long end = model.getEndTime().getTime();
+			generator.writeNumberField("start", start);
+			generator.writeNumberField("end", end);
+			generator.writeNumberField("durationMs", end - start);
+
+			generator.writeArrayFieldStart("categories");
+			for (Category category : model.getCategorySet()) {
+				generator.writeString(category.getName());
+			}
+			generator.writeEndArray();
+
+			generator.writeArrayFieldStart("steps");
+			for (Log log : model.getLogs()) {
+				generator.writeStartObject();
+				generator.writeStringField("status", log.getStatus().toString());
+				generator.writeNumberField("time", log.getTimestamp().getTime());
+				if (log.getDetails() != null) {
+					generator.writeStringField("details", log.getDetails());
+				}
+				if (log.getMedia() != null && log.getMedia().getPath() != null) {
+					generator.writeStringField("media", log.getMedia().getPath());
+				}
+				generator.writeEndObject();
+			}
+			generator.writeEndArray();
+
+			generator.writeArrayFieldStart("media");
+			for (Media media : model.getMedia()) {
+				if (media.getPath() != null) {
+					generator.writeString(media.getPath());
+				}
+			}
+			generator.writeEndArray();
+			generator.writeEndObject();
+			endLine();
+			testCount++;
+		} catch (IOException e) {
+			logger.warn("Could not write test '{}' to report shard: {}", model.getName(), e.getMessage());
+		}
+	}
+
+	/**
+	 * Writes the end record and closes the shard file.
+	 */
+	public static synchronized void finish() {
+		if (generator == null) {
+			return;
+		}
+		try {
+			generator.writeStartObject();
+			generator.writeStringField("type", "end");
+			generator.writeStringField("shard", SHARD_ID);
+			generator.writeNumberField("end", System.currentTimeMillis());
+			generator.writeNumberField("tests", testCount);
+			generator.writeEndObject();
+			endLine();
+			logger.info("Report shard '{}' complete: {} tests in {}", SHARD_ID, testCount, shardFile);
+		} catch (IOException e) {
+			logger.warn("Could not finish report shard {}: {}", shardFile, e.getMessage());
+		} finally {
+			closeQuietly();
+		}
+	}
+
+	private static void endLine() throws IOException {
+		generator.flush();
+		writer.write('\n');
+		writer.flush();
+	}
+
+	private static void closeQuietly() {
+		try {
+			if (generator != null) {
+				generator.close();
+			}
+			if (writer != null) {
+				writer.close();
+			}
+		} catch (IOException e) {
+			logger.debug("Error closing report shard: {}", e.getMessage());
+		}
+		generator = null;
+		writer = null;
+	}
+
+	private static String resolveShardId() {
+		String id = System.getProperty("report.shard.id", ConfigManager.getProperty("report.shard.id", ""));
+		if (id == null || id.trim().isEmpty()) {
+			// host-pid keeps forks on one machine apart
+			id = hostName() + "-" + ManagementFactory.getRuntimeMXBean().getPid();
+		}
+		return id.trim().replaceAll("[^A-Za-z0-9._-]", "_");
+	}
+
+	private static String hostName() {
+		try {
+			return InetAddress.getLocalHost().getHostName();
+		} catch (Exception e) {
+			return "localhost";
+		}
+	}
+}
@@ -0,0 +1,323 @@
+package com.naveensdet.unifiedwebautomation.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.gson.GsonExtentTypeAdapterBuilder;
+import com.aventstack.extentreports.model.Test;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * ReportSpillManager - keeps the Extent report's heap bounded on long runs.
+ *
+ * Finished tests are collected and, every 'report.spill.segmentSize' tests, written to a JSON
+ * segment (Extent's own archive format) under report-spill/&lt;run&gt;/ and removed from the live
+ * report. At suite end the tests still in the report are spilled too, and all segments are merged
+ * back in test creation order with {@link ExtentReports#createDomainFromJsonArchive(File)} before
+ * the Spark HTML is written, so the report lists tests in execution order. (Extent's archive keeps
+ * start times to the second only, so each spilled test carries its creation sequence instead.)
+ *
+ * Segments are written atomically, so a crashed or killed run leaves every completed segment on
+ * disk. The next run rebuilds those into report-spill/recovered/ before starting. Each run directory
+ * is named after the run, shard and process and holds an owner marker; it is only recovered once
+ * that process is gone, so forks sharing a workspace keep each other's segments.
+ */
+public final class ReportSpillManager {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReportSpillManager.class);
+
+	private static final boolean ENABLED =
+			Boolean.parseBoolean(ConfigManager.getProperty("report.spill.enabled", "true"));
+	private static final int SEGMENT_SIZE = Math.max(1, ConfigManager.getIntProperty("report.spill.segmentSize", 25));
+
+	private static final Path SPILL_ROOT = Paths.get(System.getProperty("user.dir"), "report-spill");
+	private static final String SEGMENT_PREFIX = "segment-";
+	private static final String OWNER_FILE = "owner.pid";
+	private static final String MERGED_FILE = "merged.json";
+	private static final String SEQUENCE_KEY = "spillSequence";
+	// Directories without an owner marker (still being created, or from older versions) are left alone this long
+	private static final long UNOWNED_GRACE_MILLIS = 60_000;
+
+	// Same Gson setup as Extent's JsonFormatter, so segments load with createDomainFromJsonArchive
+	private static final Gson GSON = GsonExtentTypeAdapterBuilder.builder().withGsonTypeAdapterFactory().build();
+
+	private static final List<ExtentTest> finished = new ArrayList<>();
+	// Tests created in the live report and not spilled yet, with their creation sequence
+	private static final Map<ExtentTest, Long> live = new IdentityHashMap<>();
+	private static long createdTests;
+	private static Path runDir;
+	private static int segmentCount;
+	private static long spilledTests;
+
+	// Private constructor to prevent instantiation
+	private ReportSpillManager() {
+		throw new AssertionError("Utility class should not be instantiated");
+	}
+
+	/** Returns true when finished tests are spilled to disk. */
+	public static boolean isEnabled() {
+		return ENABLED;
+	}
+
+	/**
+	 * Prepares the spill directory for this run and recovers segments left by a crashed run.
+	 *
+	 * @param runId Unique name of this run (the report timestamp).
+	 */
+	public static synchronized void start(String runId) {
+		if (!ENABLED) {
+			return;
+		}
+		recoverAbandonedRuns();
+		ProcessHandle self = ProcessHandle.current();
+		String shard = ReportShardWriter.isEnabled() ? ReportShardWriter.getShardId().replaceAll("[^A-Za-z0-9._-]", "_") + "-" : "";
+		runDir = SPILL_ROOT.resolve(runId + "-" + shard + self.pid());
+		segmentCount = 0;
+		spilledTests = 0;
+		createdTests = 0;
+		finished.clear();
+		live.clear();
+		try {
+			Files.createDirectories(runDir);
+			Files.write(runDir.resolve(OWNER_FILE), ownerMarker(self).getBytes(StandardCharsets.UTF_8));
+			logger.info("Report spill enabled: {} tests per segment in {}", SEGMENT_SIZE, runDir);
+		} catch (IOException e) {
+			logger.warn("Could not create report spill directory {} - keeping report in memory: {}", runDir, e.getMessage());
+			runDir = null;
+		}
+	}
+
+	/**
+	 * Records a test created in the live report.
+	 */
+	static synchronized void testCreated(ExtentTest test) {
+		if (ENABLED && runDir != null && test != null) {
+			live.put(test, ++createdTests);
+		}
+	}
+
+	/**
+	 * Records a finished test; writes a segment once enough tests have finished.
+	 * Called after all of the test's steps have been applied.
+	 */
+	static synchronized void testFinished(ExtentTest test) {
+		if (!ENABLED || runDir == null || test == null) {
+			return;
+		}
+		finished.add(test);
+		if (finished.size() >= SEGMENT_SIZE) {
+			spill();
+		}
+	}
+
+	/**
+	 * Spills the tests still in the report and merges all segments back, ordered by test start
+	 * time. Call after the event queue is drained and before {@code extent.flush()}.
+	 *
+	 * @param extent Live report.
+	 */
+	public static synchronized void mergeInto(ExtentReports extent) {
+		if (!ENABLED || runDir == null || segmentCount == 0) {
+			// Nothing left the heap - the live report is already complete and in order
+			return;
+		}
+		finished.clear();
+		finished.addAll(live.keySet());
+		spill();
+
+		long start = System.currentTimeMillis();
+		List<Path> segments = listSegments(runDir);
+		try {
+			int tests = mergeSegments(extent, runDir, segments);
+			logger.info("Merged {} report segments ({} tests) in {} ms", segments.size(), tests, System.currentTimeMillis() - start);
+		} catch (Exception e) {
+			logger.error("Failed to merge report segments from {}: {}", runDir, e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Loads the segments into the report as one archive, tests ordered by creation sequence.
+	 *
+	 * @return Number of tests merged.
+	 */
+	private static int mergeSegments(ExtentReports extent, Path dir, List<Path> segments) throws IOException {
+		List<Test> tests = new ArrayList<>();
+		for (Path segment : segments) {
+			try (Reader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+				List<Test> models = GSON.fromJson(reader, new TypeToken<List<Test>>() { }.getType());
+				if (models != null) {
+					tests.addAll(models);
+				}
+			} catch (Exception e) {
+				logger.error("Failed to read report segment {}: {}", segment, e.getMessage(), e);
+			}
+		}
+		// Stable sort: tests without a sequence keep their segment order, after the others
+		tests.sort(Comparator.comparingLong(ReportSpillManager::sequenceOf));
+		tests.forEach(test -> test.getInfoMap().remove(SEQUENCE_KEY));
+
+		Path combined = dir.resolve(MERGED_FILE);
+		try (Writer writer = Files.newBufferedWriter(combined, StandardCharsets.UTF_8)) {
+			GSON.toJson(tests, writer);
+		}
+		extent.createDomainFromJsonArchive(combined.toFile());
+		return tests.size();
+	}
+
+	/** Deletes this run's segments once the final report has been written. */
+	public static synchronized void cleanup() {
+		if (runDir != null) {
+			deleteRecursively(runDir);
+			runDir = null;
+		}
+		finished.clear();
+		live.clear();
+	}
+
+	private static void spill() {
+		if (finished.isEmpty()) {
+			return;
+		}
+		List<Test> models = new ArrayList<>(finished.size());
+		for (ExtentTest test : finished) {
+			Long sequence = live.get(test);
+			if (sequence != null) {
+				test.getModel().getInfoMap().put(SEQUENCE_KEY, sequence);
+			}
+			models.add(test.getModel());
+		}
+		Path segment = runDir.resolve(String.format("%s%05d.json", SEGMENT_PREFIX, ++segmentCount));
+		Path partial = runDir.resolve(segment.getFileName() + ".part");
+		try {
+			try (Writer writer = Files.newBufferedWriter(partial, StandardCharsets.UTF_8)) {
+				GSON.toJson(models, writer);
+			}
+			Files.move(partial, segment, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			ExtentReportManager.detachTests(finished);
+			finished.forEach(live::remove);
+			spilledTests += finished.size();
+			logger.debug("Spilled {} finished tests to {}", finished.size(), segment.getFileName());
+		} catch (Exception e) {
+			// Keep the tests in memory; the report stays complete, only heap is not released
+			segmentCount--;
+			logger.warn("Could not spill report segment {}: {}", segment.getFileName(), e.getMessage());
+		} finally {
+			finished.clear();
+		}
+	}
+
+	private static long sequenceOf(Test test) {
+		Object sequence = test.getInfoMap() != null ? test.getInfoMap().get(SEQUENCE_KEY) : null;
+		return sequence instanceof Number ? ((Number) sequence).longValue() : Long.MAX_VALUE;
+	}
+
+	/** Rebuilds reports from spill directories whose process ended without reaching suite end. */
+	private static void recoverAbandonedRuns() {
+		if (!Files.isDirectory(SPILL_ROOT)) {
+			return;
+		}
+		try (DirectoryStream<Path> runs = Files.newDirectoryStream(SPILL_ROOT)) {
+			for (Path run : runs) {
+				if (!Files.isDirectory(run) || run.getFileName().toString().equals("recovered") || isOwnerRunning(run)) {
+					continue;
+				}
+				List<Path> segments = listSegments(run);
+				if (!segments.isEmpty()) {
+					recover(run, segments);
+				}
+				deleteRecursively(run);
+			}
+		} catch (IOException e) {
+			logger.warn("Could not scan report spill directory {}: {}", SPILL_ROOT, e.getMessage());
+		}
+	}
+
+	/**
+	 * True while the process that created the run directory is alive. The marker holds the PID and
+	 * the process start time, so a reused PID is not mistaken for the owner.
+	 */
+	private static boolean isOwnerRunning(Path run) {
+		Path marker = run.resolve(OWNER_FILE);
+		try {
+			if (!Files.exists(marker)) {
+				return System.currentTimeMillis() - Files.getLastModifiedTime(run).toMillis() < UNOWNED_GRACE_MILLIS;
+			}
+			String[] owner = new String(Files.readAllBytes(marker), StandardCharsets.UTF_8).trim().split("\\s+");
+			Optional<ProcessHandle> process = ProcessHandle.of(Long.parseLong(owner[0]));
+			if (!process.isPresent() || !process.get().isAlive()) {
+				return false;
+			}
+			return owner.length < 2 || ownerMarker(process.get()).equals(owner[0] + " " + owner[1]);
+		} catch (IOException | RuntimeException e) {
+			// Unreadable marker: leave the directory alone rather than risk deleting a live run
+			logger.debug("Could not read spill owner of {}: {}", run, e.getMessage());
+			return true;
+		}
+	}
+
+	/** PID and start time of a process, e.g. "4242 1760800000000". */
+	private static String ownerMarker(ProcessHandle process) {
+		return process.pid() + " " + process.info().startInstant().map(Instant::toEpochMilli).orElse(0L);
+	}
+
+	private static void recover(Path run, List<Path> segments) {
+		Path target = SPILL_ROOT.resolve("recovered").resolve("ExtentReport_" + run.getFileName() + ".html");
+		try {
+			Files.createDirectories(target.getParent());
+			ExtentReports recovered = new ExtentReports();
+			ExtentSparkReporter spark = new ExtentSparkReporter(target.toString());
+			spark.config().setDocumentTitle("Automation Test Report (recovered)");
+			spark.config().setReportName("Recovered Test Execution Report - " + run.getFileName());
+			recovered.attachReporter(spark);
+			mergeSegments(recovered, run, segments);
+			recovered.flush();
+			logger.warn("♻️ Recovered report of an interrupted run ({} segments): {}", segments.size(), target);
+		} catch (Exception e) {
+			logger.error("Failed to recover report from {}: {}", run, e.getMessage(), e);
+		}
+	}
+
+	private static List<Path> listSegments(Path dir) {
+		try (Stream<Path> files = Files.list(dir)) {
+			return files.filter(p -> {
+				String name = p.getFileName().toString();
+				return name.startsWith(SEGMENT_PREFIX) && name.endsWith(".json");
+			}).sorted().collect(Collectors.toList());
+		} catch (IOException e) {
+			logger.warn("Could not list report segments in {}: {}", dir, e.getMessage());
+			return new ArrayList<>();
+		}
+	}
+
+	private static void deleteRecursively(Path dir) {
+		try (Stream<Path> paths = Files.walk(dir)) {
+			paths.sorted((a, b) -> b.getNameCount() - a.getNameCount()).forEach(p -> p.toFile().delete());
+		} catch (IOException e) {
+			logger.warn("Could not delete report spill directory {}: {}", dir, e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,309 @@
+package com.naveensdet.unifiedwebautomation.utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestResult;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * ResultsEventStream - live, append-only JSON Lines stream of run events for dashboards.
+ *
+ * Test threads only enqueue small event maps; a background writer serializes them in batches
+ * (every 'results.stream.flushMillis' or 'results.stream.batchSize' events) and flushes after each
+ * batch, so readers can tail the file while the suite runs. Events, one per line:
+ * <pre>
+ * run_start   - run, shard, browser
+ * test_start  - test, class, method, thread, browser, attempt, parameters
+ * keyword     - test, thread, action, element, status, durationMs
+ * test_finish - test, status, durationMs, thread, attempt, retried, failureCategory, message
+ * run_finish  - totals per status
+ * </pre>
+ * Enabled with 'results.stream.enabled'; written to reports/results-stream.jsonl by default
+ * (results-stream-&lt;shard&gt;.jsonl when report sharding is on).
+ */
+public final class ResultsEventStream {
+
+	private static final Logger logger = LoggerFactory.getLogger(ResultsEventStream.class);
+
+	private static final boolean ENABLED =
+			Boolean.parseBoolean(ConfigManager.getProperty("results.stream.enabled", "true"));
+	private static final long FLUSH_NANOS =
+			TimeUnit.MILLISECONDS.toNanos(Math.max(10, ConfigManager.getIntProperty("results.stream.flushMillis", 250)));
+	private static final int BATCH_SIZE = Math.max(1, ConfigManager.getIntProperty("results.stream.batchSize", 256));
+
+	private static final Queue<Map<String, Object>> QUEUE = new ConcurrentLinkedQueue<>();
+	private static final AtomicInteger PENDING = new AtomicInteger();
+	private static final AtomicLong WRITTEN = new AtomicLong();
+	private static final String ATTEMPT_ATTRIBUTE = "results.stream.attempt";
+
+	private static final Map<String, AtomicInteger> RETRIES = new ConcurrentHashMap<>();
+	private static final Map<String, AtomicInteger> TOTALS = new ConcurrentHashMap<>();
+	private static final ThreadLocal<String> currentTest = new ThreadLocal<>();
+	private static final ThreadLocal<long[]> actionStart = ThreadLocal.withInitial(() -> new long[1]);
+
+	private static volatile Thread writerThread;
+	private static volatile boolean running;
+	private static String browser;
+	private static Path file;
+
+	// Private constructor to prevent instantiation
+	private ResultsEventStream() {
+		throw new AssertionError("Utility class should not be instantiated");
+	}
+
+	/**
+	 * Opens the stream and starts the background writer. Call after the reports directory is prepared.
+	 */
+	public static synchronized void start() {
+		if (!ENABLED || running) {
+			return;
+		}
+		String name = ConfigManager.getProperty("results.stream.file", "results-stream.jsonl");
+		if (ReportShardWriter.isEnabled()) {
+			// Forks share the reports folder; one stream per shard keeps lines from interleaving
+			name = name.replaceAll("\\.jsonl$", "") + "-" + ReportShardWriter.getShardId() + ".jsonl";
+		}
+		file = Paths.get(System.getProperty("user.dir"), "reports", name);
+		browser = ConfigManager.getEnvSpecificProperty("browser", "chrome");
+		running = true;
+		writerThread = new Thread(ResultsEventStream::writeLoop, "results-stream-writer");
+		writerThread.setDaemon(true);
+		writerThread.start();
+
+		Map<String, Object> event = event("run_start");
+		event.put("run", TestIdentityGenerator.getRunId());
+		event.put("shard", ReportShardWriter.getShardId());
+		event.put("browser", browser);
+		enqueue(event);
+		logger.info("Live results stream: {}", file);
+	}
+
+	/** True while the stream accepts events. */
+	public static boolean isRunning() {
+		return running;
+	}
+
+	/** Records a test start; also remembers the test for keyword events on this thread. */
+	public static void testStarted(ITestResult result) {
+		if (!running) {
+			return;
+		}
+		String testId = testId(result);
+		currentTest.set(testId);
+		// Attempt = 1 + earlier results of this test that RetryListener sent back for another run
+		AtomicInteger retries = RETRIES.get(testId);
+		int attempt = retries != null ? retries.get() + 1 : 1;
+		result.setAttribute(ATTEMPT_ATTRIBUTE, attempt);
+
+		Map<String, Object> event = event("test_start");
+		event.put("test", testId);
+		event.put("class", result.getTestClass().getName());
+		event.put("method", result.getMethod().getMethodName());
+		event.put("thread", Thread.currentThread().getName());
+		event.put("browser", browser);
+		event.put("attempt", attempt);
+		if (result.getParameters().length > 0) {
+			event.put("parameters", Arrays.toString(result.getParameters()));
+		}
+		enqueue(event);
+	}
+
+	/** Records a test outcome with duration, retry information and failure category. */
+	public static void testFinished(ITestResult result) {
+		if (!running) {
+			return;
+		}
+		String testId = testId(result);
+		String status = statusName(result.getStatus());
+
+		Map<String, Object> event = event("test_finish");
+		event.put("test", testId);
+		event.put("status", status);
+		event.put("durationMs", result.getEndMillis() - result.getStartMillis());
+		event.put("thread", Thread.currentThread().getName());
+		event.put("browser", browser);
+		Object attempt = result.getAttribute(ATTEMPT_ATTRIBUTE);
+		event.put("attempt", attempt != null ? attempt : 1);
+		event.put("retried", result.wasRetried());
+		if (result.getThrowable() != null) {
+			event.put("failureCategory", categorize(result.getThrowable()));
+			// First line only - Selenium appends build/system info to every message
+			String message = String.valueOf(result.getThrowable().getMessage());
+			int newline = message.indexOf('\n');
+			event.put("message", newline >= 0 ? message.substring(0, newline) : message);
+		}
+		enqueue(event);
+		if (result.wasRetried()) {
+			RETRIES.computeIfAbsent(testId, k -> new AtomicInteger()).incrementAndGet();
+		}
+		TOTALS.computeIfAbsent(result.wasRetried() ? "RETRIED" : status, k -> new AtomicInteger()).incrementAndGet();
+		currentTest.remove();
+	}
+
+	/** Marks the start of a keyword action on this thread (for its duration). */
+	public static void actionStarted() {
+		if (running) {
+			actionStart.get()[0] = System.nanoTime();
+		}
+	}
+
+	/**
+	 * Records a finished keyword action with the time since {@link #actionStarted()} on this thread.
+	 */
+	public static void actionFinished(String action, String elementName, boolean passed) {
+		if (!running) {
+			return;
+		}
+		long[] start = actionStart.get();
+		Map<String, Object> event = event("keyword");
+		event.put("test", currentTest.get());
+		event.put("thread", Thread.currentThread().getName());
+		event.put("action", action);
+		event.put("element", elementName);
+		event.put("status", passed ? "PASS" : "FAIL");
+		if (start[0] != 0) {
+			event.put("durationMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start[0]));
+			start[0] = 0;
+		}
+		enqueue(event);
+	}
+
+	/**
+	 * Writes the run_finish event, drains the queue and closes the file.
+	 */
+	public static synchronized void finish() {
+		if (!running) {
+			return;
+		}
+		Map<String, Object> event = event("run_finish");
+		Map<String, Integer> totals = new LinkedHashMap<>();
+		TOTALS.forEach((status, count) -> totals.put(status, count.get()));
+		event.put("totals", totals);
+		enqueue(event);
+
+		running = false;
+		LockSupport.unpark(writerThread);
+		try {
+			writerThread.join(TimeUnit.SECONDS.toMillis(10));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		logger.info("Live results stream closed: {} events written to {}", WRITTEN.get(), file);
+	}
+
+	/**
+	 * Maps a failure to a coarse category for flakiness tooling.
+	 */
+	public static String categorize(Throwable throwable) {
+		for (Throwable t = throwable; t != null; t = t.getCause()) {
+			if (t instanceof AssertionError) {
+				return "assertion";
+			}
+			if (t instanceof TimeoutException) {
+				return "timeout";
+			}
+			if (t instanceof NoSuchElementException) {
+				return "element_not_found";
+			}
+			if (t instanceof StaleElementReferenceException) {
+				return "stale_element";
+			}
+			if (t instanceof WebDriverException && t.getCause() == null) {
+				return "driver";
+			}
+		}
+		return throwable instanceof FrameworkException ? "framework" : "error";
+	}
+
+	private static Map<String, Object> event(String type) {
+		Map<String, Object> event = new LinkedHashMap<>();
+		event.put("event", type);
+		event.put("time", System.currentTimeMillis());
+		return event;
+	}
+
+	private static void enqueue(Map<String, Object> event) {
+		QUEUE.offer(event);
+		if (PENDING.incrementAndGet() >= BATCH_SIZE) {
+			LockSupport.unpark(writerThread);
+		}
+	}
+
+	private static void writeLoop() {
+		try (BufferedWriter writer = Files.newBufferedWriter(createParent(file), StandardCharsets.UTF_8,
+				StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+				JsonGenerator generator = JsonDataService.getMapper().getFactory().createGenerator(writer)) {
+			generator.setRootValueSeparator(null);
+			while (true) {
+				boolean stopping = !running;
+				int batch = 0;
+				Map<String, Object> event;
+				while ((event = QUEUE.poll()) != null) {
+					PENDING.decrementAndGet();
+					generator.writeObject(event);
+					// Through the generator so the separator stays in order without flushing each record
+					generator.writeRaw('\n');
+					batch++;
+				}
+				if (batch > 0) {
+					// One flush per drained batch (the generator also flushes the writer)
+					generator.flush();
+					WRITTEN.addAndGet(batch);
+				}
+				if (stopping) {
+					return;
+				}
+				LockSupport.parkNanos(FLUSH_NANOS);
+			}
+		} catch (IOException e) {
+			logger.error("Live results stream stopped: {}", e.getMessage(), e);
+			running = false;
+		}
+	}
+
+	private static Path createParent(Path path) throws IOException {
+		Files.createDirectories(path.toAbsolutePath().getParent());
+		return path;
+	}
+
+	private static String testId(ITestResult result) {
+		String id = result.getTestClass().getName() + "." + result.getMethod().getMethodName();
+		return result.getParameters().length > 0 ? id + Arrays.toString(result.getParameters()) : id;
+	}
+
+	private static String statusName(int status) {
+		switch (status) {
+		case ITestResult.SUCCESS:
+			return "PASS";
+		case ITestResult.FAILURE:
+			return "FAIL";
+		case ITestResult.SKIP:
+			return "SKIP";
+		default:
+			return "UNKNOWN";
+		}
+	}
+}
@@ -0,0 +1,283 @@
+package com.naveensdet.unifiedwebautomation.utils;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * ScreencastRecorder - keeps the last few seconds of the browser screen in memory and writes them
+ * out only when a test fails.
+ *
+ * When 'screencast.enabled' is on, every Chrome/Edge session subscribes to the DevTools screencast
+ * (Page.startScreencast) with small JPEG frames ('screencast.maxWidth', 'screencast.quality').
+ * Frames are kept at most 'screencast.fps' per second in a fixed-size ring holding
+ * 'screencast.bufferSeconds' seconds, as the Base64 strings the browser sends, so nothing is
+ * decoded or written while tests pass. On failure the frames recorded since the test started are
+ * turned into an animated GIF on the {@link ScreenshotService} writer and linked in the report.
+ * Other browsers are not recorded.
+ */
+public final class ScreencastRecorder {
+
+	private static final Logger logger = LoggerFactory.getLogger(ScreencastRecorder.class);
+
+	private static final boolean ENABLED =
+			Boolean.parseBoolean(ConfigManager.getProperty("screencast.enabled", "false"));
+	private static final int BUFFER_SECONDS = Math.max(1, ConfigManager.getIntProperty("screencast.bufferSeconds", 10));
+	private static final int FPS = Math.max(1, Math.min(30, ConfigManager.getIntProperty("screencast.fps", 4)));
+	private static final int MAX_WIDTH = Math.max(160, ConfigManager.getIntProperty("screencast.maxWidth", 800));
+	private static final int QUALITY = Math.max(10, Math.min(100, ConfigManager.getIntProperty("screencast.quality", 50)));
+
+	private static final long FRAME_INTERVAL_MILLIS = 1000L / FPS;
+	private static final int CAPACITY = BUFFER_SECONDS * FPS;
+
+	private static final Event<Map<String, Object>> SCREENCAST_FRAME =
+			new Event<>("Page.screencastFrame", input -> input.read(Json.MAP_TYPE));
+
+	private static final Map<WebDriver, Session> SESSIONS = new ConcurrentHashMap<>();
+
+	// Private constructor to prevent instantiation
+	private ScreencastRecorder() {
+		throw new AssertionError("Utility class should not be instantiated");
+	}
+
+	/** Returns true when screencast recording is configured. */
+	public static boolean isEnabled() {
+		return ENABLED;
+	}
+
+	/**
+	 * Starts recording the browser's screen into its ring buffer. Does nothing when recording is
+	 * off or the browser has no DevTools connection.
+	 *
+	 * @param driver Newly created driver.
+	 */
+	public static void start(WebDriver driver) {
+		if (!ENABLED || !(driver instanceof HasDevTools) || SESSIONS.containsKey(driver)) {
+			return;
+		}
+		try {
+			DevTools devTools = ((HasDevTools) driver).getDevTools();
+			devTools.createSessionIfThereIsNotOne();
+			Session session = new Session(devTools);
+			devTools.addListener(SCREENCAST_FRAME, session::onFrame);
+
+			Map<String, Object> params = new LinkedHashMap<>();
+			params.put("format", "jpeg");
+			params.put("quality", QUALITY);
+			params.put("maxWidth", MAX_WIDTH);
+			params.put("maxHeight", MAX_WIDTH);
+			// The browser paints up to 60 frames per second; ask only for roughly what is kept
+			params.put("everyNthFrame", Math.max(1, 60 / FPS));
+			devTools.send(new Command<Void>("Page.startScreencast", params));
+
+			SESSIONS.put(driver, session);
+			logger.info("Screencast recording: last {} s at up to {} fps", BUFFER_SECONDS, FPS);
+		} catch (Exception e) {
+			logger.warn("Could not start screencast recording: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * Stops recording for a driver that is about to quit and drops its frames.
+	 *
+	 * @param driver Driver being closed.
+	 */
+	public static void stop(WebDriver driver) {
+		Session session = driver == null ? null : SESSIONS.remove(driver);
+		if (session == null) {
+			return;
+		}
+		try {
+			session.devTools.send(new Command<Void>("Page.stopScreencast", Collections.emptyMap()));
+			session.devTools.clearListeners();
+		} catch (Exception e) {
+			logger.debug("Could not stop screencast: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * Writes the frames recorded since the test started as an animated GIF and links it in the
+	 * report. The frames are copied on the calling thread; decoding and encoding run on the
+	 * screenshot writer.
+	 *
+	 * @param driver      Driver of the failed test.
+	 * @param testName    Test name, used in the file name.
+	 * @param sinceMillis Test start time; older frames are left out.
+	 * @return The GIF file, or null when nothing was recorded.
+	 */
+	public static Path persistFailureClip(WebDriver driver, String testName, long sinceMillis) {
+		Session session = driver == null ? null : SESSIONS.get(driver);
+		if (session == null) {
+			return null;
+		}
+		Frame[] frames = session.framesSince(sinceMillis);
+		if (frames.length == 0) {
+			return null;
+		}
+		String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS"));
+		String fileName = "SCREENCAST_" + testName.replaceAll("[^A-Za-z0-9._-]", "_") + "_" + timestamp + ".gif";
+		Path target = Paths.get(ConfigManager.getScreenshotDirectory(), fileName);
+		ScreenshotService.submit(target, () -> writeGif(frames, target));
+
+		double seconds = (frames[frames.length - 1].millis - frames[0].millis) / 1000.0;
+		ExtentReportManager.logInfo(String.format("🎞️ Screen before the failure (%d frames, %.1f s):<br>"
+				+ "<a href='./screenshots/%s' target='_blank'><img class='r-img' loading='lazy' style='max-width:480px'"
+				+ " src='./screenshots/%s'></a>", frames.length, seconds, fileName, fileName));
+		logger.info("Screencast of {} frames ({} s) saved for failed test: {}", frames.length, seconds, target);
+		return target;
+	}
+
+	/** Animated GIF of the frames, each shown for the time until the next frame arrived. */
+	private static Path writeGif(Frame[] frames, Path target) throws IOException {
+		ScreenshotService.ensureDirectory(target.toAbsolutePath().getParent());
+		ImageWriter writer = ImageIO.getImageWritersByFormatName("gif").next();
+		try (OutputStream file = Files.newOutputStream(target);
+				ImageOutputStream out = ImageIO.createImageOutputStream(file)) {
+			writer.setOutput(out);
+			writer.prepareWriteSequence(null);
+			for (int i = 0; i < frames.length; i++) {
+				BufferedImage image = ImageIO.read(new ByteArrayInputStream(Base64.getDecoder().decode(frames[i].jpeg)));
+				if (image == null) {
+					continue;
+				}
+				long shownMillis = i + 1 < frames.length ? frames[i + 1].millis - frames[i].millis : 1000;
+				writer.writeToSequence(new IIOImage(image, null, frameMetadata(writer, image, shownMillis, i == 0)), null);
+			}
+			writer.endWriteSequence();
+		} finally {
+			writer.dispose();
+		}
+		return target;
+	}
+
+	private static IIOMetadata frameMetadata(ImageWriter writer, BufferedImage image, long shownMillis, boolean first)
+			throws IOException {
+		IIOMetadata metadata = writer.getDefaultImageMetadata(ImageTypeSpecifier.createFromRenderedImage(image), null);
+		String format = metadata.getNativeMetadataFormatName();
+		IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(format);
+
+		IIOMetadataNode control = child(root, "GraphicControlExtension");
+		control.setAttribute("disposalMethod", "none");
+		control.setAttribute("userInputFlag", "FALSE");
+		control.setAttribute("transparentColorFlag", "FALSE");
+		control.setAttribute("transparentColorIndex", "0");
+		// GIF delays are in hundredths of a second
+		control.setAttribute("delayTime", String.valueOf(Math.max(2, Math.min(500, shownMillis / 10))));
+
+		if (first) {
+			// NETSCAPE2.0 extension: loop forever
+			IIOMetadataNode loop = new IIOMetadataNode("ApplicationExtension");
+			loop.setAttribute("applicationID", "NETSCAPE");
+			loop.setAttribute("authenticationCode", "2.0");
+			loop.setUserObject(new byte[] { 1, 0, 0 });
+			child(root, "ApplicationExtensions").appendChild(loop);
+		}
+		metadata.setFromTree(format, root);
+		return metadata;
+	}
+
+	private static IIOMetadataNode child(IIOMetadataNode root, String name) {
+		for (int i = 0; i < root.getLength(); i++) {
+			if (root.item(i).getNodeName().equalsIgnoreCase(name)) {
+				return (IIOMetadataNode) root.item(i);
+			}
+		}
+		IIOMetadataNode node = new IIOMetadataNode(name);
+		root.appendChild(node);
+		return node;
+	}
+
+	/**
+	 * Session - the ring buffer of one browser session.
+	 */
+	private static final class Session {
+
+		private final DevTools devTools;
+		private final Frame[] ring = new Frame[CAPACITY];
+		private int next;
+		private int size;
+		private long lastKeptMillis;
+
+		private Session(DevTools devTools) {
+			this.devTools = devTools;
+		}
+
+		/** Keeps the frame if the frame rate allows and always acknowledges it so the browser sends more. */
+		private void onFrame(Map<String, Object> frame) {
+			Object sessionId = frame.get("sessionId");
+			long now = System.currentTimeMillis();
+			synchronized (this) {
+				if (now - lastKeptMillis >= FRAME_INTERVAL_MILLIS && frame.get("data") instanceof String) {
+					ring[next] = new Frame((String) frame.get("data"), now);
+					next = (next + 1) % ring.length;
+					size = Math.min(size + 1, ring.length);
+					lastKeptMillis = now;
+				}
+			}
+			if (sessionId instanceof Number) {
+				try {
+					devTools.send(new Command<Void>("Page.screencastFrameAck",
+							Collections.singletonMap("sessionId", ((Number) sessionId).intValue())).doesNotSendResponse());
+				} catch (Exception e) {
+					logger.debug("Could not acknowledge screencast frame: {}", e.getMessage());
+				}
+			}
+		}
+
+		/** Frames recorded at or after the given time, oldest first. */
+		private synchronized Frame[] framesSince(long sinceMillis) {
+			int skip = 0;
+			int start = (next - size + ring.length) % ring.length;
+			while (skip < size && ring[(start + skip) % ring.length].millis < sinceMillis) {
+				skip++;
+			}
+			Frame[] frames = new Frame[size - skip];
+			for (int i = 0; i < frames.length; i++) {
+				frames[i] = ring[(start + skip + i) % ring.length];
+			}
+			return frames;
+		}
+	}
+
+	/**
+	 * Frame - one screencast frame as sent by the browser.
+	 */
+	private static final class Frame {
+
+		private final String jpeg;
+		private final long millis;
+
+		private Frame(String jpeg, long millis) {
+			this.jpeg = jpeg;
+			this.millis = millis;
+		}
+	}
+}
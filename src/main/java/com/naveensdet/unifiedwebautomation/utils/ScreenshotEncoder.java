@@ -0,0 +1,262 @@
+package com.naveensdet.unifiedwebautomation.utils;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Locale;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * ScreenshotEncoder - turns the PNG a browser returns into the configured screenshot file format.
+ *
+ * Configuration:
+ * <ul>
+ * <li>screenshot.format - PNG (default), JPEG or WEBP. WEBP needs an ImageIO WebP plugin on the
+ * classpath; without one JPEG is used.</li>
+ * <li>screenshot.quality - HIGH (0.9), MEDIUM (0.75), LOW (0.5) or a percentage such as 80;
+ * applies to JPEG and WEBP.</li>
+ * <li>screenshot.maxWidth - wider images are scaled down to this width (0 keeps the size).</li>
+ * <li>screenshot.grayscale - store images in grayscale (smaller files for CI runs).</li>
+ * </ul>
+ * With the defaults (PNG, full size, colour) images are written exactly as captured. Encoding
+ * normally runs on the {@link ScreenshotService} writer threads; it runs on the calling test thread
+ * when screenshot.async.enabled=false or when the writer queue is full (caller-runs back-pressure).
+ */
+public final class ScreenshotEncoder {
+
+	private static final Logger logger = LoggerFactory.getLogger(ScreenshotEncoder.class);
+
+	private static final String FORMAT = resolveFormat(ConfigManager.getProperty("screenshot.format", "PNG"));
+	private static final float QUALITY = parseQuality(ConfigManager.getProperty("screenshot.quality", "HIGH"));
+	private static final int MAX_WIDTH = Math.max(0, ConfigManager.getIntProperty("screenshot.maxWidth", 0));
+	private static final boolean GRAYSCALE =
+			Boolean.parseBoolean(ConfigManager.getProperty("screenshot.grayscale", "false"));
+
+	// Private constructor to prevent instantiation
+	private ScreenshotEncoder() {
+		throw new AssertionError("Utility class should not be instantiated");
+	}
+
+	/** True when captured PNGs are written unchanged. */
+	public static boolean isPassThrough() {
+		return "png".equals(FORMAT) && MAX_WIDTH == 0 && !GRAYSCALE;
+	}
+
+	/** File extension of encoded screenshots: png, jpg or webp. */
+	public static String getExtension() {
+		return FORMAT;
+	}
+
+	/**
+	 * File extension for the result of {@link #encode(byte[])} on the given image: the configured
+	 * one for PNG input, otherwise the extension of the (already encoded) input.
+	 */
+	public static String extensionFor(byte[] image) {
+		if (isPng(image)) {
+			return FORMAT;
+		}
+		if (image.length > 2 && (image[0] & 0xFF) == 0xFF && (image[1] & 0xFF) == 0xD8) {
+			return "jpg";
+		}
+		if (image.length > 12 && image[8] == 'W' && image[9] == 'E' && image[10] == 'B' && image[11] == 'P') {
+			return "webp";
+		}
+		return "png";
+	}
+
+	/**
+	 * The given screenshot path with its extension replaced by the configured one,
+	 * e.g. login.png becomes login.jpg when screenshot.format=JPEG. Unchanged under the defaults.
+	 */
+	public static Path fileFor(Path target) {
+		if (isPassThrough()) {
+			return target;
+		}
+		String name = target.getFileName().toString();
+		int dot = name.lastIndexOf('.');
+		String base = dot > 0 ? name.substring(0, dot) : name;
+		String current = dot > 0 ? name.substring(dot + 1).toLowerCase(Locale.ROOT) : "";
+		if (current.equals(FORMAT) || ("jpg".equals(FORMAT) && current.equals("jpeg"))) {
+			return target;
+		}
+		return target.resolveSibling(base + "." + FORMAT);
+	}
+
+	/**
+	 * True when an image written to the given path is encoded: the settings are not the defaults and
+	 * the path already has the configured extension. Any other path gets the capture as a PNG, so a
+	 * file the caller named keeps both its name and a matching content.
+	 */
+	public static boolean appliesTo(Path target) {
+		return !isPassThrough() && fileFor(target).equals(target);
+	}
+
+	/** True when {@link #encode(byte[])} would change the image, i.e. a PNG under non-default settings. */
+	static boolean needsEncoding(byte[] image) {
+		return !isPassThrough() && isPng(image);
+	}
+
+	/**
+	 * Encodes a captured image in the configured format, size and colour. Images that are not PNG
+	 * (already encoded) and captures under the default settings are returned unchanged.
+	 *
+	 * @param png Image bytes as captured.
+	 * @return Encoded image.
+	 * @throws IOException If the image cannot be decoded or encoded.
+	 */
+	public static byte[] encode(byte[] png) throws IOException {
+		if (isPassThrough() || !isPng(png)) {
+			return png;
+		}
+		BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+		if (source == null) {
+			throw new IOException("Screenshot is not a readable image");
+		}
+		return encode(source, Math.max(1024, png.length / 4));
+	}
+
+	/**
+	 * Encodes an image that is already decoded (e.g. a crop of a capture) in the configured format,
+	 * size and colour. Files for it should be named with {@link #fileFor(Path)}.
+	 *
+	 * @param image Image to encode.
+	 * @return Encoded image.
+	 * @throws IOException If the image cannot be encoded.
+	 */
+	public static byte[] encode(BufferedImage image) throws IOException {
+		return encode(image, 16 * 1024);
+	}
+
+	/**
+	 * Encodes a decoded image for the given file: in the configured format when
+	 * {@link #appliesTo(Path)}, otherwise as a plain PNG.
+	 *
+	 * @param image  Image to encode.
+	 * @param target File the image is written to.
+	 * @return Encoded image.
+	 * @throws IOException If the image cannot be encoded.
+	 */
+	public static byte[] encode(BufferedImage image, Path target) throws IOException {
+		if (appliesTo(target)) {
+			return encode(image);
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+		ImageIO.write(image, "png", out);
+		return out.toByteArray();
+	}
+
+	private static byte[] encode(BufferedImage source, int expectedSize) throws IOException {
+		BufferedImage image = isPassThrough() ? source : prepare(source);
+		ByteArrayOutputStream out = new ByteArrayOutputStream(expectedSize);
+		if ("png".equals(FORMAT)) {
+			ImageIO.write(image, "png", out);
+		} else {
+			writeLossy(image, out);
+		}
+		return out.toByteArray();
+	}
+
+	private static BufferedImage prepare(BufferedImage source) {
+		int width = source.getWidth();
+		int height = source.getHeight();
+		if (MAX_WIDTH > 0 && width > MAX_WIDTH) {
+			height = Math.max(1, (int) Math.round(height * (MAX_WIDTH / (double) width)));
+			width = MAX_WIDTH;
+		}
+		// JPEG has no alpha channel, so colour images are always redrawn onto an RGB canvas
+		int type = GRAYSCALE ? BufferedImage.TYPE_BYTE_GRAY
+				: "png".equals(FORMAT) ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+		if (width == source.getWidth() && height == source.getHeight() && source.getType() == type) {
+			return source;
+		}
+		BufferedImage target = new BufferedImage(width, height, type);
+		Graphics2D graphics = target.createGraphics();
+		try {
+			graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			graphics.drawImage(source, 0, 0, width, height, null);
+		} finally {
+			graphics.dispose();
+		}
+		return target;
+	}
+
+	private static void writeLossy(BufferedImage image, ByteArrayOutputStream out) throws IOException {
+		ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg".equals(FORMAT) ? "jpeg" : FORMAT).next();
+		try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+			writer.setOutput(stream);
+			ImageWriteParam param = writer.getDefaultWriteParam();
+			if (param.canWriteCompressed()) {
+				param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+				String[] types = param.getCompressionTypes();
+				if (types != null && types.length > 0 && param.getCompressionType() == null) {
+					// WebP plugins list "Lossy" first; JPEG has a single type
+					param.setCompressionType(types[0]);
+				}
+				param.setCompressionQuality(QUALITY);
+			}
+			writer.write(null, new IIOImage(image, null, null), param);
+		} finally {
+			writer.dispose();
+		}
+	}
+
+	private static boolean isPng(byte[] data) {
+		return data != null && data.length > 8 && (data[0] & 0xFF) == 0x89
+				&& data[1] == 'P' && data[2] == 'N' && data[3] == 'G';
+	}
+
+	private static String resolveFormat(String configured) {
+		String format = configured == null ? "png" : configured.trim().toLowerCase(Locale.ROOT);
+		switch (format) {
+		case "jpg":
+		case "jpeg":
+			return "jpg";
+		case "webp":
+			Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("webp");
+			if (writers.hasNext()) {
+				return "webp";
+			}
+			logger.warn("screenshot.format=WEBP but no ImageIO WebP writer is on the classpath - using JPEG");
+			return "jpg";
+		case "png":
+		case "":
+			return "png";
+		default:
+			logger.warn("Unknown screenshot.format '{}' - using PNG", configured);
+			return "png";
+		}
+	}
+
+	private static float parseQuality(String configured) {
+		String quality = configured == null ? "" : configured.trim().toUpperCase(Locale.ROOT);
+		switch (quality) {
+		case "HIGH":
+			return 0.9f;
+		case "MEDIUM":
+			return 0.75f;
+		case "LOW":
+			return 0.5f;
+		default:
+			try {
+				float value = Float.parseFloat(quality);
+				return Math.max(0.05f, Math.min(1f, value > 1 ? value / 100f : value));
+			} catch (NumberFormatException e) {
+				logger.warn("Invalid screenshot.quality '{}' - using HIGH", configured);
+				return 0.9f;
+			}
+		}
+	}
+}
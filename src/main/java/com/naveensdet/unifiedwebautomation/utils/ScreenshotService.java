@@ -0,0 +1,376 @@
+package com.naveensdet.unifiedwebautomation.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * ScreenshotService - keeps screenshot file work off the test thread.
+ *
+ * The test thread only asks the browser for the image (as the Base64 string the driver returns);
+ * decoding, encoding in the configured format ({@link ScreenshotEncoder}) and the disk write run on
+ * a small bounded pool of "screenshot-writer" threads. Images kept as captured are decoded chunk by
+ * chunk straight into the file, so a tall full-page capture never exists twice in memory. Callers
+ * get the target path back at once and can link it in the report; the file exists once the
+ * returned future completes. When the queue is full the test thread does the write itself, which
+ * bounds the memory held by pending images.
+ *
+ * Configuration: screenshot.async.enabled, screenshot.writer.threads, screenshot.writer.queueSize.
+ * {@link #awaitPendingWrites(long)} must be called before the reports folder is zipped.
+ */
+public final class ScreenshotService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ScreenshotService.class);
+
+	private static final boolean ASYNC =
+			Boolean.parseBoolean(ConfigManager.getProperty("screenshot.async.enabled", "true"));
+	private static final int THREADS = Math.max(1, ConfigManager.getIntProperty("screenshot.writer.threads", 2));
+	private static final int QUEUE_SIZE = Math.max(1, ConfigManager.getIntProperty("screenshot.writer.queueSize", 32));
+
+	// Every unfinished write per file; a second write to the same file must not hide the first
+	private static final Map<Path, Set<Future<?>>> PENDING = new ConcurrentHashMap<>();
+	private static final Set<Path> KNOWN_DIRECTORIES = ConcurrentHashMap.newKeySet();
+	private static final AtomicLong WRITTEN = new AtomicLong();
+	private static final AtomicLong FAILED = new AtomicLong();
+	private static final AtomicLong BYTES_WRITTEN = new AtomicLong();
+
+	// Base64 characters decoded per chunk when streaming a capture to disk (a multiple of 4)
+	private static final int DECODE_CHUNK_CHARS = 256 * 1024;
+	private static final ThreadLocal<DecodeBuffers> DECODE_BUFFERS = ThreadLocal.withInitial(DecodeBuffers::new);
+
+	private static final ThreadPoolExecutor WRITER = createWriter();
+
+	// Private constructor to prevent instantiation
+	private ScreenshotService() {
+		throw new AssertionError("Utility class should not be instantiated");
+	}
+
+	/** Returns true when screenshot writes are handed to the background writer. */
+	public static boolean isAsync() {
+		return ASYNC;
+	}
+
+	/**
+	 * Captures the current page as the driver's Base64 string. This is the only part of a
+	 * screenshot that has to run on the test thread.
+	 *
+	 * @param driver Driver to capture.
+	 * @return Base64-encoded PNG.
+	 * @throws FrameworkException If the driver cannot take screenshots.
+	 */
+	public static String capture(WebDriver driver) {
+		if (!(driver instanceof TakesScreenshot)) {
+			throw new FrameworkException("Driver does not support screenshots");
+		}
+		return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
+	}
+
+	/**
+	 * Captures the current page and writes it to the given file in the background.
+	 *
+	 * @param driver Driver to capture.
+	 * @param target File to write, used as given (see {@link #write(String, Path)}).
+	 * @return Future completing with the written path once the file is written.
+	 */
+	public static Future<Path> captureTo(WebDriver driver, Path target) {
+		return write(capture(driver), target);
+	}
+
+	/**
+	 * Decodes a Base64 PNG and writes it to the given file in the background. The file is written
+	 * exactly where the caller asked; it is encoded in the configured format only when its extension
+	 * already names that format (see {@link ScreenshotEncoder#appliesTo(Path)}), otherwise it gets
+	 * the PNG as captured.
+	 *
+	 * @param base64Png Image as returned by getScreenshotAs(OutputType.BASE64).
+	 * @param target    File to write.
+	 * @return Future completing with the written path once the file is written.
+	 */
+	public static Future<Path> write(String base64Png, Path target) {
+		if (base64Png == null || base64Png.isEmpty()) {
+			throw new FrameworkException("Screenshot data cannot be null or empty");
+		}
+		if (!ScreenshotEncoder.appliesTo(target)) {
+			// Written as captured: decode straight into the file, chunk by chunk
+			return submit(target, () -> writeBase64(base64Png, target));
+		}
+		return submit(target, () -> writeFile(ScreenshotEncoder.encode(Base64.getMimeDecoder().decode(base64Png)), target));
+	}
+
+	/**
+	 * Writes a captured PNG to the given file in the background, encoded as described for
+	 * {@link #write(String, Path)}.
+	 *
+	 * @param png    Captured image.
+	 * @param target File to write.
+	 * @return Future completing with the written path once the file is written.
+	 */
+	public static Future<Path> write(byte[] png, Path target) {
+		if (png == null || png.length == 0) {
+			throw new FrameworkException("Screenshot data cannot be null or empty");
+		}
+		if (!ScreenshotEncoder.appliesTo(target)) {
+			return submit(target, () -> writeFile(png, target));
+		}
+		return submit(target, () -> writeFile(ScreenshotEncoder.encode(png), target));
+	}
+
+	/**
+	 * The name the framework gives a screenshot it names itself: the same path, or with the
+	 * extension of the configured screenshot.format (e.g. .jpg). Paths passed in by callers are
+	 * written as given.
+	 */
+	public static Path fileFor(Path target) {
+		return ScreenshotEncoder.fileFor(target);
+	}
+
+	/**
+	 * Runs screenshot work (decode, crop, encode, write) for the given target file on the writer.
+	 * The task must leave the file at target; it is reported as pending until the task finishes.
+	 *
+	 * @param target File the task produces.
+	 * @param task   Work to run.
+	 * @return Future completing with the target path.
+	 */
+	public static Future<Path> submit(Path target, Callable<Path> task) {
+		if (!ASYNC) {
+			return runNow(target, task);
+		}
+		Path key = key(target);
+		FutureTask<Path> future = new FutureTask<Path>(() -> {
+			try {
+				return task.call();
+			} catch (Exception e) {
+				FAILED.incrementAndGet();
+				logger.warn("Could not write screenshot {}: {}", target, e.getMessage());
+				throw e;
+			}
+		}) {
+			// Also runs for a write cancelled before it started
+			@Override
+			protected void done() {
+				PENDING.computeIfPresent(key, (k, writes) -> {
+					writes.remove(this);
+					return writes.isEmpty() ? null : writes;
+				});
+			}
+		};
+		PENDING.compute(key, (k, writes) -> {
+			Set<Future<?>> pending = writes != null ? writes : ConcurrentHashMap.newKeySet();
+			pending.add(future);
+			return pending;
+		});
+		WRITER.execute(future);
+		return future;
+	}
+
+	/**
+	 * Counts work that will produce the file later (e.g. a zip still waiting for its parts) as a
+	 * pending write until it completes, so {@link #awaitPendingWrites(long)} waits for it too.
+	 */
+	static void track(Path target, CompletableFuture<?> work) {
+		Path key = key(target);
+		PENDING.compute(key, (k, writes) -> {
+			Set<Future<?>> pending = writes != null ? writes : ConcurrentHashMap.newKeySet();
+			pending.add(work);
+			return pending;
+		});
+		work.whenComplete((result, error) -> PENDING.computeIfPresent(key, (k, writes) -> {
+			writes.remove(work);
+			return writes.isEmpty() ? null : writes;
+		}));
+	}
+
+	/** True while a background write for the given file has not finished. */
+	public static boolean isPending(Path target) {
+		return target != null && PENDING.containsKey(key(target));
+	}
+
+	/**
+	 * Waits for every pending screenshot write.
+	 *
+	 * @param timeoutMillis Maximum time to wait.
+	 * @return true when all writes finished (successfully or not) in time.
+	 */
+	public static boolean awaitPendingWrites(long timeoutMillis) {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+		while (!PENDING.isEmpty()) {
+			List<Future<?>> writes = new ArrayList<>();
+			PENDING.values().forEach(writes::addAll);
+			for (Future<?> pending : writes) {
+				try {
+					pending.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+				} catch (TimeoutException e) {
+					logger.warn("Screenshot writes for {} files not finished within {} ms", PENDING.size(), timeoutMillis);
+					return false;
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return false;
+				} catch (Exception e) {
+					// Failure already logged by the write task
+				}
+			}
+		}
+		if (WRITTEN.get() > 0 || FAILED.get() > 0) {
+			logger.info("Screenshot writer: {} files ({} KB) written in background, {} failed",
+					WRITTEN.get(), BYTES_WRITTEN.get() / 1024, FAILED.get());
+		}
+		return true;
+	}
+
+	/**
+	 * Writes bytes to a file, creating its directory the first time it is seen.
+	 */
+	static Path writeFile(byte[] data, Path target) throws IOException {
+		ensureDirectory(target.toAbsolutePath().getParent());
+		Files.write(target, data);
+		WRITTEN.incrementAndGet();
+		BYTES_WRITTEN.addAndGet(data.length);
+		return target;
+	}
+
+	/**
+	 * Decodes a Base64 image into a file through the writer thread's reusable buffers, so a large
+	 * full-page capture is never held as a second complete byte[]. Line breaks (MIME Base64) are
+	 * skipped.
+	 */
+	static Path writeBase64(String base64, Path target) throws IOException {
+		ensureDirectory(target.toAbsolutePath().getParent());
+		DecodeBuffers buffers = DECODE_BUFFERS.get();
+		byte[] encoded = buffers.encoded;
+		long written = 0;
+		// Decoded into a part file first, so a failure half way never leaves a truncated image at target
+		Path part = partFile(target);
+		try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			int filled = 0;
+			for (int i = 0, length = base64.length(); i < length; i++) {
+				char c = base64.charAt(i);
+				if (c == '\r' || c == '\n' || c == ' ') {
+					continue;
+				}
+				encoded[filled++] = (byte) c;
+				if (filled == encoded.length) {
+					written += decodeChunk(encoded, buffers, channel);
+					filled = 0;
+				}
+			}
+			if (filled > 0) {
+				written += decodeChunk(Arrays.copyOf(encoded, filled), buffers, channel);
+			}
+		} catch (IllegalArgumentException e) {
+			Files.deleteIfExists(part);
+			throw new IOException("Screenshot is not valid Base64: " + e.getMessage(), e);
+		} catch (IOException e) {
+			Files.deleteIfExists(part);
+			throw e;
+		}
+		moveIntoPlace(part, target);
+		WRITTEN.incrementAndGet();
+		BYTES_WRITTEN.addAndGet(written);
+		return target;
+	}
+
+	private static int decodeChunk(byte[] encoded, DecodeBuffers buffers, FileChannel channel) throws IOException {
+		int length = Base64.getDecoder().decode(encoded, buffers.decoded);
+		ByteBuffer out = buffers.out;
+		out.clear().limit(length);
+		while (out.hasRemaining()) {
+			channel.write(out);
+		}
+		return length;
+	}
+
+	// Per-thread name so two writes of the same file never share a partial file
+	private static Path partFile(Path target) {
+		return target.resolveSibling(target.getFileName() + "." + Thread.currentThread().getId() + ".part");
+	}
+
+	private static void moveIntoPlace(Path part, Path target) throws IOException {
+		try {
+			Files.move(part, target, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(part, target, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			Files.deleteIfExists(part);
+			throw e;
+		}
+	}
+
+	/**
+	 * Creates a directory once per run instead of checking it on every screenshot.
+	 */
+	public static void ensureDirectory(Path directory) throws IOException {
+		if (directory != null && !KNOWN_DIRECTORIES.contains(directory)) {
+			Files.createDirectories(directory);
+			KNOWN_DIRECTORIES.add(directory);
+		}
+	}
+
+	private static Path key(Path target) {
+		return target.toAbsolutePath().normalize();
+	}
+
+	private static Future<Path> runNow(Path target, Callable<Path> task) {
+		CompletableFuture<Path> future = new CompletableFuture<>();
+		try {
+			future.complete(task.call());
+		} catch (Exception e) {
+			FAILED.incrementAndGet();
+			throw new FrameworkException("Could not write screenshot " + target, e);
+		}
+		return future;
+	}
+
+	/**
+	 * DecodeBuffers - one chunk of Base64 input and its decoded bytes, reused by a writer thread.
+	 */
+	private static final class DecodeBuffers {
+
+		private final byte[] encoded = new byte[DECODE_CHUNK_CHARS];
+		private final byte[] decoded = new byte[DECODE_CHUNK_CHARS / 4 * 3];
+		private final ByteBuffer out = ByteBuffer.wrap(decoded);
+	}
+
+	private static ThreadPoolExecutor createWriter() {
+		AtomicInteger threadNumber = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS, 30, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(QUEUE_SIZE), runnable -> {
+					Thread thread = new Thread(runnable, "screenshot-writer-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				},
+				// Queue full: the test thread writes the image itself instead of piling up memory
+				new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+}
@@ -0,0 +1,331 @@
+package com.naveensdet.unifiedwebautomation.utils;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import javax.imageio.ImageIO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * ScreenshotStore - content-addressed screenshot storage for the Extent report.
+ *
+ * Images are stored once per content under reports/screenshots/&lt;sha256&gt;.png (or .jpg/.webp
+ * with screenshot.format, see {@link ScreenshotEncoder}), so the same error
+ * page captured by several retries or tests costs one file. A small JPEG thumbnail
+ * (screenshots/thumbs/&lt;sha256&gt;.jpg, 'screenshot.thumbnail.width' pixels wide) is generated on a
+ * background thread; the report shows the thumbnail and opens the full image on click.
+ *
+ * Configuration: screenshot.store.enabled, screenshot.thumbnail.width.
+ * {@link ScreenshotService#awaitPendingWrites(long)} and then {@link #awaitThumbnails(long)} must be
+ * called before the reports folder is zipped.
+ */
+public final class ScreenshotStore {
+
+	private static final Logger logger = LoggerFactory.getLogger(ScreenshotStore.class);
+
+	private static final boolean ENABLED =
+			Boolean.parseBoolean(ConfigManager.getProperty("screenshot.store.enabled", "true"));
+	private static final int THUMBNAIL_WIDTH =
+			Math.max(32, ConfigManager.getIntProperty("screenshot.thumbnail.width", 320));
+	private static final Pattern HASH_NAME = Pattern.compile("[0-9a-f]{64}\\.(png|jpg|webp)");
+
+	private static final Map<String, Future<?>> THUMBNAILS = new ConcurrentHashMap<>();
+	private static final AtomicLong STORED = new AtomicLong();
+	private static final AtomicLong DEDUPLICATED = new AtomicLong();
+	private static final AtomicLong BYTES_SAVED = new AtomicLong();
+
+	private static final ExecutorService THUMBNAILER = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "screenshot-thumbnailer");
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MIN_PRIORITY);
+		return thread;
+	});
+
+	// Private constructor to prevent instantiation
+	private ScreenshotStore() {
+		throw new AssertionError("Utility class should not be instantiated");
+	}
+
+	/** Returns true when report screenshots are stored by content hash. */
+	public static boolean isEnabled() {
+		return ENABLED;
+	}
+
+	/** Directory holding the stored images (reports/screenshots). */
+	public static Path getStoreDirectory() {
+		return Paths.get(ConfigManager.getScreenshotDirectory());
+	}
+
+	/**
+	 * Stores a captured image, reusing the existing file when the same image was stored before.
+	 * PNG captures are written in the configured screenshot.format.
+	 *
+	 * @param png Captured image.
+	 * @return Stored image; its file is written by {@link ScreenshotService} and exists once
+	 *         {@link ScreenshotService#awaitPendingWrites(long)} returns.
+	 */
+	public static StoredScreenshot store(byte[] png) {
+		if (png == null || png.length == 0) {
+			throw new FrameworkException("Screenshot data cannot be null or empty");
+		}
+		String hash = sha256(png);
+		String extension = ScreenshotEncoder.extensionFor(png);
+		Path target = getStoreDirectory().resolve(hash + "." + extension);
+		// Checked on disk every time: the reports folder may have been cleaned by an earlier suite in this JVM
+		if (!ScreenshotService.isPending(target) && !Files.exists(target)) {
+			// The hash names the file, so the report link is known now; the write runs in the background
+			ScreenshotService.submit(target, () -> {
+				Path temp = partFile(target);
+				Files.write(temp, ScreenshotEncoder.encode(png));
+				moveIntoPlace(temp, target);
+				STORED.incrementAndGet();
+				scheduleThumbnail(hash, target);
+				return target;
+			});
+		} else {
+			countDuplicate(png.length);
+			// A first copy still being written schedules its own thumbnail when done
+			if (!ScreenshotService.isPending(target)) {
+				scheduleThumbnail(hash, target);
+			}
+		}
+		return new StoredScreenshot(hash, extension);
+	}
+
+	/**
+	 * Brings an already written screenshot file into the store without keeping a second copy of it.
+	 * A file in the store directory (named by the framework, e.g. FAILURE_*.png) is renamed to its
+	 * hash name, so the reports folder and its archive hold the image once. A file elsewhere was
+	 * named by the caller and stays where it is; the store gets a hard link to it. PNG files that the
+	 * configured screenshot.format would convert are encoded into the store instead.
+	 *
+	 * @param file Screenshot file written by a keyword or listener.
+	 * @return Stored image, or null when the file does not exist or cannot be linked (the caller
+	 *         then links the file by its own path).
+	 */
+	public static StoredScreenshot adopt(Path file) {
+		if (file == null || !Files.isRegularFile(file)) {
+			return null;
+		}
+		Path storeDir = getStoreDirectory().toAbsolutePath().normalize();
+		Path source = file.toAbsolutePath().normalize();
+		boolean inStore = storeDir.equals(source.getParent());
+		if (inStore && HASH_NAME.matcher(source.getFileName().toString()).matches()) {
+			String name = source.getFileName().toString();
+			String hash = name.substring(0, 64);
+			scheduleThumbnail(hash, source);
+			return new StoredScreenshot(hash, name.substring(65));
+		}
+		try {
+			byte[] image = Files.readAllBytes(source);
+			if (ScreenshotEncoder.needsEncoding(image)) {
+				StoredScreenshot stored = store(image);
+				if (inStore) {
+					Files.deleteIfExists(source);
+				}
+				return stored;
+			}
+			String hash = sha256(image);
+			String extension = ScreenshotEncoder.extensionFor(image);
+			Path target = getStoreDirectory().resolve(hash + "." + extension);
+			if (ScreenshotService.isPending(target) || Files.exists(target)) {
+				countDuplicate(image.length);
+				if (inStore) {
+					Files.deleteIfExists(source);
+				}
+			} else if (inStore) {
+				moveIntoPlace(source, target);
+				STORED.incrementAndGet();
+			} else if (link(source, target)) {
+				STORED.incrementAndGet();
+			} else {
+				return null;
+			}
+			if (!ScreenshotService.isPending(target)) {
+				scheduleThumbnail(hash, target);
+			}
+			return new StoredScreenshot(hash, extension);
+		} catch (IOException e) {
+			throw new FrameworkException("Failed to read screenshot " + file, e);
+		}
+	}
+
+	/**
+	 * Waits for pending thumbnails.
+	 *
+	 * @param timeoutMillis Maximum time to wait.
+	 * @return true when all thumbnails are written.
+	 */
+	public static boolean awaitThumbnails(long timeoutMillis) {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+		for (Future<?> pending : THUMBNAILS.values()) {
+			try {
+				pending.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+			} catch (java.util.concurrent.TimeoutException e) {
+				logger.warn("Screenshot thumbnails not finished within {} ms", timeoutMillis);
+				return false;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			} catch (Exception e) {
+				// Failure already logged by the thumbnail task; the report falls back to the full image
+			}
+		}
+		if (STORED.get() > 0) {
+			logger.info("Screenshot store: {} images, {} duplicates skipped ({} KB saved)",
+					STORED.get(), DEDUPLICATED.get(), BYTES_SAVED.get() / 1024);
+		}
+		return true;
+	}
+
+	/**
+	 * Hard-links the file under its hash name. Never copies: where links are not supported (other
+	 * file system, FAT, some network shares) the file is not stored and keeps its own name.
+	 */
+	private static boolean link(Path source, Path target) {
+		try {
+			Files.createLink(target, source);
+			return true;
+		} catch (FileAlreadyExistsException e) {
+			return true;
+		} catch (IOException | UnsupportedOperationException | SecurityException e) {
+			logger.debug("Could not link screenshot {} into the store: {}", source, e.getMessage());
+			return false;
+		}
+	}
+
+	private static void scheduleThumbnail(String hash, Path image) {
+		Path thumb = getStoreDirectory().resolve("thumbs").resolve(hash + ".jpg");
+		// A finished thumbnail whose file was deleted since (reports cleaned between suites) is made again
+		THUMBNAILS.compute(hash, (key, existing) -> existing != null && (!existing.isDone() || Files.exists(thumb))
+				? existing : THUMBNAILER.submit(() -> writeThumbnail(key, image)));
+	}
+
+	private static void writeThumbnail(String hash, Path image) {
+		Path thumb = getStoreDirectory().resolve("thumbs").resolve(hash + ".jpg");
+		try {
+			if (Files.exists(thumb)) {
+				return;
+			}
+			BufferedImage source = ImageIO.read(image.toFile());
+			if (source == null) {
+				logger.warn("Unsupported screenshot format, no thumbnail: {}", image);
+				return;
+			}
+			int width = Math.min(THUMBNAIL_WIDTH, source.getWidth());
+			int height = Math.max(1, (int) Math.round(source.getHeight() * (width / (double) source.getWidth())));
+
+			// JPEG has no alpha channel - draw onto an RGB canvas
+			BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+			Graphics2D graphics = scaled.createGraphics();
+			try {
+				graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+				graphics.drawImage(source, 0, 0, width, height, null);
+			} finally {
+				graphics.dispose();
+			}
+
+			Files.createDirectories(thumb.getParent());
+			Path temp = partFile(thumb);
+			ImageIO.write(scaled, "jpg", temp.toFile());
+			moveIntoPlace(temp, thumb);
+		} catch (Exception e) {
+			logger.warn("Could not create thumbnail for {}: {}", image, e.getMessage());
+		}
+	}
+
+	private static void countDuplicate(long size) {
+		DEDUPLICATED.incrementAndGet();
+		BYTES_SAVED.addAndGet(size);
+	}
+
+	// Per-thread name so concurrent writers of the same image never share a partial file
+	private static Path partFile(Path target) {
+		return target.resolveSibling(target.getFileName() + "." + Thread.currentThread().getId() + ".part");
+	}
+
+	private static void moveIntoPlace(Path temp, Path target) throws IOException {
+		try {
+			Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private static String sha256(byte[] data) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+			StringBuilder hex = new StringBuilder(digest.length * 2);
+			for (byte b : digest) {
+				hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return hex.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new FrameworkException("SHA-256 not available", e);
+		}
+	}
+
+	/**
+	 * StoredScreenshot - an image in the store, addressed by its content hash.
+	 */
+	public static final class StoredScreenshot {
+
+		private final String hash;
+		private final String extension;
+
+		private StoredScreenshot(String hash, String extension) {
+			this.hash = hash;
+			this.extension = extension;
+		}
+
+		public String getHash() {
+			return hash;
+		}
+
+		/** Absolute path of the full image. */
+		public Path getPath() {
+			return getStoreDirectory().resolve(hash + "." + extension);
+		}
+
+		/** Full image path relative to the report HTML. */
+		public String getReportPath() {
+			return "./screenshots/" + hash + "." + extension;
+		}
+
+		/** Thumbnail path relative to the report HTML. */
+		public String getThumbnailReportPath() {
+			return "./screenshots/thumbs/" + hash + ".jpg";
+		}
+
+		/**
+		 * Report markup: a lazily loaded thumbnail that opens the full image on click (and shows the
+		 * full image if the thumbnail is missing).
+		 */
+		public String toReportHtml() {
+			return "<a href='" + getReportPath() + "' target='_blank'>"
+					+ "<img class='r-img' loading='lazy' style='max-width:" + THUMBNAIL_WIDTH + "px'"
+					+ " src='" + getThumbnailReportPath() + "'"
+					+ " onerror=\"this.onerror=null;this.src='" + getReportPath() + "'\"></a>";
+		}
+	}
+}
@@ -18,24 +18,25 @@ public final class ScreenshotUtility {
 	/**
 	 * Generates a unique screenshot file path using action name and timestamp.
 	 * @param actionName Descriptive name for the screenshot action
-	 * @return Full file path where screenshot should be saved
+	 * @return Full file path where screenshot should be saved (extension per screenshot.format)
 	 */
 	public static String generateScreenshotPath(String actionName) {
 		String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
 		String screenshotDir = ConfigManager.getScreenshotDirectory();
-		return Paths.get(screenshotDir, actionName + "_" + timestamp + ".png").toString();
+		return ScreenshotService.fileFor(Paths.get(screenshotDir, actionName + "_" + timestamp + ".png")).toString();
 	}
 
 	/**
 	 * Generates screenshot path with test case name for better organization.
 	 * @param actionName Descriptive name for the screenshot action
 	 * @param testCaseName Name of the test case
-	 * @return Full file path where screenshot should be saved
+	 * @return Full file path where screenshot should be saved (extension per screenshot.format)
 	 */
 	public static String generateScreenshotPath(String actionName, String testCaseName) {
 		String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
 		String screenshotDir = ConfigManager.getScreenshotDirectory();
-		return Paths.get(screenshotDir, testCaseName + "_" + actionName + "_" + timestamp + ".png").toString();
+		return ScreenshotService.fileFor(
+				Paths.get(screenshotDir, testCaseName + "_" + actionName + "_" + timestamp + ".png")).toString();
 	}
 
 	/**
@@ -43,12 +44,13 @@ public final class ScreenshotUtility {
 	 * @param actionName Descriptive name for the screenshot action
 	 * @param testCaseName Name of the test case
 	 * @param failureReason Brief description of failure
-	 * @return Full file path where screenshot should be saved
+	 * @return Full file path where screenshot should be saved (extension per screenshot.format)
 	 */
 	public static String generateFailureScreenshotPath(String actionName, String testCaseName, String failureReason) {
 		String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
 		String screenshotDir = ConfigManager.getScreenshotDirectory();
 		String sanitizedReason = failureReason.replaceAll("[^a-zA-Z0-9]", "_");
-		return Paths.get(screenshotDir, "FAILURE_" + testCaseName + "_" + actionName + "_" + sanitizedReason + "_" + timestamp + ".png").toString();
+		return ScreenshotService.fileFor(Paths.get(screenshotDir,
+				"FAILURE_" + testCaseName + "_" + actionName + "_" + sanitizedReason + "_" + timestamp + ".png")).toString();
 	}
 }
@@ -0,0 +1,167 @@
+package com.naveensdet.unifiedwebautomation.utils;
+
+import java.util.function.Supplier;
+
+/**
+ * StepEvent - one test step, published once on {@link StepEventBus} and shared by every sink.
+ *
+ * The display message is formatted on first use and cached, so a step costs no string building
+ * when no sink needs its text. An optional screenshot is captured on first access and the same
+ * bytes are handed to every sink that attaches it.
+ */
+public final class StepEvent {
+
+	/** What the step records. */
+	public enum Kind {
+		ACTION_START, ACTION_PASS, ACTION_FAIL, INFO, PASS, FAIL, WARNING, SKIP
+	}
+
+	private final Kind kind;
+	private final Class<?> source;
+	private final String action;
+	private final String element;
+	private final String text;
+	private final Throwable error;
+	private final long timestampMillis;
+	private final String threadName;
+
+	private volatile String message;
+	private Supplier<byte[]> screenshotSource;
+	private byte[] screenshot;
+
+	private StepEvent(Kind kind, Class<?> source, String action, String element, String text, Throwable error) {
+		this.kind = kind;
+		this.source = source;
+		this.action = action;
+		this.element = element;
+		this.text = text;
+		this.error = error;
+		this.timestampMillis = System.currentTimeMillis();
+		this.threadName = Thread.currentThread().getName();
+	}
+
+	/** A keyword action is about to run on an element. */
+	public static StepEvent actionStarted(Class<?> source, String action, String element) {
+		return new StepEvent(Kind.ACTION_START, source, action, element, null, null);
+	}
+
+	/** A keyword action completed. */
+	public static StepEvent actionPassed(Class<?> source, String action, String element) {
+		return new StepEvent(Kind.ACTION_PASS, source, action, element, null, null);
+	}
+
+	/** A keyword action failed with an error description. */
+	public static StepEvent actionFailed(Class<?> source, String action, String element, String error) {
+		return new StepEvent(Kind.ACTION_FAIL, source, action, element, error, null);
+	}
+
+	/** A keyword action failed with an exception (logged with its stack trace). */
+	public static StepEvent actionFailed(Class<?> source, String action, String element, Throwable error) {
+		return new StepEvent(Kind.ACTION_FAIL, source, action, element,
+				error != null ? error.getMessage() : null, error);
+	}
+
+	/** A free-text step (INFO, PASS, FAIL, WARNING or SKIP). */
+	public static StepEvent message(Class<?> source, Kind kind, String text) {
+		return new StepEvent(kind, source, null, null, text, null);
+	}
+
+	/**
+	 * Attaches a screenshot that is captured at most once, when the first sink asks for it.
+	 *
+	 * @param capture Screenshot capture, e.g. the driver's getScreenshotAs(OutputType.BYTES).
+	 * @return This event.
+	 */
+	public synchronized StepEvent withScreenshot(Supplier<byte[]> capture) {
+		this.screenshotSource = capture;
+		return this;
+	}
+
+	/**
+	 * Display message, formatted once, e.g. "✅ Successfully click on Login button".
+	 */
+	public String getMessage() {
+		String formatted = message;
+		if (formatted == null) {
+			formatted = format();
+			message = formatted;
+		}
+		return formatted;
+	}
+
+	private String format() {
+		switch (kind) {
+		case ACTION_START:
+			return "🔄 " + action + " on " + element;
+		case ACTION_PASS:
+			return "✅ Successfully " + action.toLowerCase() + " on " + element;
+		case ACTION_FAIL:
+			return "❌ Failed to " + action.toLowerCase() + " on " + element + (text != null ? ": " + text : "");
+		default:
+			return text != null ? text : kind + " message was null";
+		}
+	}
+
+	/**
+	 * True when a screenshot is attached and either not captured yet or captured successfully, so it
+	 * stays true for every sink after the first one has taken the bytes.
+	 */
+	public synchronized boolean hasScreenshot() {
+		return screenshot != null || screenshotSource != null;
+	}
+
+	/**
+	 * Screenshot bytes, captured on the first call and shared afterwards; null when none is attached
+	 * or the capture failed.
+	 */
+	public synchronized byte[] getScreenshot() {
+		if (screenshot == null && screenshotSource != null) {
+			Supplier<byte[]> capture = screenshotSource;
+			screenshotSource = null;
+			screenshot = capture.get();
+			if (screenshot == null) {
+				return null;
+			}
+		}
+		return screenshot;
+	}
+
+	/** True for failures (ACTION_FAIL and FAIL). */
+	public boolean isFailure() {
+		return kind == Kind.ACTION_FAIL || kind == Kind.FAIL;
+	}
+
+	public Kind getKind() {
+		return kind;
+	}
+
+	/** Class that published the step (used as the SLF4J logger name). */
+	public Class<?> getSource() {
+		return source;
+	}
+
+	public String getAction() {
+		return action;
+	}
+
+	public String getElement() {
+		return element;
+	}
+
+	/** Free text or error description; null for plain action steps. */
+	public String getText() {
+		return text;
+	}
+
+	public Throwable getError() {
+		return error;
+	}
+
+	public long getTimestampMillis() {
+		return timestampMillis;
+	}
+
+	public String getThreadName() {
+		return threadName;
+	}
+}
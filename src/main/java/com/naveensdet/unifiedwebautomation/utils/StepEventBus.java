@@ -0,0 +1,90 @@
+package com.naveensdet.unifiedwebautomation.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * StepEventBus - publishes each test step once and fans it out to the registered {@link StepSink}s.
+ *
+ * The built-in sinks are chosen with 'steps.sinks' (default "slf4j,extent,allure,jsonl"); more can
+ * be added with {@link #register(StepSink)}. Sinks run on the publishing thread in registration
+ * order. A failing sink is skipped, so reporting problems never fail a test; its first failure is
+ * logged as a warning (later ones at debug) so a broken sink does not go unnoticed.
+ */
+public final class StepEventBus {
+
+	private static final Logger logger = LoggerFactory.getLogger(StepEventBus.class);
+
+	private static final List<StepSink> SINKS = new CopyOnWriteArrayList<>(configuredSinks());
+	private static final Set<StepSink> FAILED_SINKS = ConcurrentHashMap.newKeySet();
+
+	// Private constructor to prevent instantiation
+	private StepEventBus() {
+		throw new AssertionError("Utility class should not be instantiated");
+	}
+
+	/**
+	 * Publishes a step to every enabled sink.
+	 *
+	 * @param event Step to publish.
+	 */
+	public static void publish(StepEvent event) {
+		if (event == null) {
+			return;
+		}
+		for (StepSink sink : SINKS) {
+			try {
+				if (sink.isEnabled(event)) {
+					sink.accept(event);
+				}
+			} catch (Exception e) {
+				if (FAILED_SINKS.add(sink)) {
+					logger.warn("Step sink '{}' failed - steps may be missing from it: {}", sink.getName(), e.getMessage(), e);
+				} else {
+					logger.debug("Step sink '{}' failed: {}", sink.getName(), e.getMessage());
+				}
+			}
+		}
+	}
+
+	/** Adds a sink (e.g. a custom dashboard feed). */
+	public static void register(StepSink sink) {
+		if (sink == null) {
+			throw new FrameworkException("Step sink cannot be null");
+		}
+		SINKS.add(sink);
+	}
+
+	/** Removes all sinks with the given name. */
+	public static void unregister(String name) {
+		SINKS.removeIf(sink -> sink.getName().equalsIgnoreCase(name));
+	}
+
+	/** Registered sinks in call order. */
+	public static List<StepSink> getSinks() {
+		return Collections.unmodifiableList(new ArrayList<>(SINKS));
+	}
+
+	private static List<StepSink> configuredSinks() {
+		List<StepSink> sinks = new ArrayList<>();
+		for (String name : ConfigManager.getProperty("steps.sinks", "slf4j,extent,allure,jsonl").split(",")) {
+			if (name.trim().isEmpty()) {
+				continue;
+			}
+			StepSink sink = StepSinks.byName(name);
+			if (sink != null) {
+				sinks.add(sink);
+			} else {
+				logger.warn("Unknown step sink '{}' in steps.sinks - ignored", name.trim());
+			}
+		}
+		return sinks;
+	}
+}
@@ -0,0 +1,20 @@
+package com.naveensdet.unifiedwebautomation.utils;
+
+/**
+ * StepSink - destination for {@link StepEvent}s published on {@link StepEventBus}.
+ *
+ * Sinks are called on the publishing (test) thread and should hand heavy work to their own
+ * background writer. {@link #isEnabled(StepEvent)} is checked first, so a sink that is switched
+ * off or has nowhere to write never triggers message formatting or screenshot capture.
+ */
+public interface StepSink {
+
+	/** Short name used in the 'steps.sinks' configuration, e.g. "extent". */
+	String getName();
+
+	/** True when this sink wants the event. */
+	boolean isEnabled(StepEvent event);
+
+	/** Handles the event. Exceptions are logged by the bus and do not reach the test. */
+	void accept(StepEvent event);
+}
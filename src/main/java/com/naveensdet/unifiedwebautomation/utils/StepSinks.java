@@ -0,0 +1,238 @@
+package com.naveensdet.unifiedwebautomation.utils;
+
+import java.io.ByteArrayInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.aventstack.extentreports.Status;
+
+import io.qameta.allure.Allure;
+
+/**
+ * StepSinks - the built-in {@link StepSink}s: slf4j, extent, allure and jsonl.
+ */
+public final class StepSinks {
+
+	// Private constructor to prevent instantiation
+	private StepSinks() {
+		throw new AssertionError("Utility class should not be instantiated");
+	}
+
+	/**
+	 * Returns the built-in sink with the given name, or null when there is none.
+	 */
+	public static StepSink byName(String name) {
+		switch (name.trim().toLowerCase()) {
+		case "slf4j":
+			return new Slf4jSink();
+		case "extent":
+			return new ExtentSink();
+		case "allure":
+			return new AllureSink();
+		case "jsonl":
+			return new JsonlSink();
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Slf4jSink - logs steps under the publishing class's logger; nothing is formatted when that
+	 * logger's level is off.
+	 */
+	public static final class Slf4jSink implements StepSink {
+
+		@Override
+		public String getName() {
+			return "slf4j";
+		}
+
+		@Override
+		public boolean isEnabled(StepEvent event) {
+			Logger logger = LoggerFactory.getLogger(event.getSource());
+			switch (event.getKind()) {
+			case ACTION_FAIL:
+			case FAIL:
+				return logger.isErrorEnabled();
+			case WARNING:
+				return logger.isWarnEnabled();
+			default:
+				return logger.isInfoEnabled();
+			}
+		}
+
+		@Override
+		public void accept(StepEvent event) {
+			Logger logger = LoggerFactory.getLogger(event.getSource());
+			switch (event.getKind()) {
+			case ACTION_FAIL:
+				// The message is already final text, so it is passed without a "{}" template
+				// to spare logback a formatting pass on the keyword hot path
+				if (event.getError() != null) {
+					logger.error(event.getMessage(), event.getError());
+				} else {
+					logger.error(event.getMessage());
+				}
+				break;
+			case PASS:
+				logger.info("PASS: {}", event.getMessage());
+				break;
+			case FAIL:
+				logger.error("FAIL: {}", event.getMessage());
+				break;
+			case WARNING:
+				logger.warn("WARNING: {}", event.getMessage());
+				break;
+			case SKIP:
+				logger.info("SKIP: {}", event.getMessage());
+				break;
+			default:
+				logger.info(event.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * ExtentSink - reports steps on the current thread's Extent test (keyword start/success steps
+	 * go through the 'report.steps.mode' buffer); skipped when no test is active.
+	 */
+	public static final class ExtentSink implements StepSink {
+
+		@Override
+		public String getName() {
+			return "extent";
+		}
+
+		@Override
+		public boolean isEnabled(StepEvent event) {
+			return ExtentReportManager.getCurrentTest() != null;
+		}
+
+		@Override
+		public void accept(StepEvent event) {
+			switch (event.getKind()) {
+			case ACTION_START:
+				ExtentReportManager.logStep(Status.INFO, event.getMessage());
+				break;
+			case ACTION_PASS:
+				ExtentReportManager.logStep(Status.PASS, event.getMessage());
+				break;
+			case ACTION_FAIL:
+			case FAIL:
+				if (event.hasScreenshot()) {
+					byte[] png = event.getScreenshot();
+					ExtentReportManager.logWithScreenshot(Status.FAIL, event.getMessage(), png);
+					FailureEvidence.attachedToExtent(png);
+				} else {
+					ExtentReportManager.logFail(event.getMessage());
+				}
+				break;
+			case PASS:
+				ExtentReportManager.logPass(event.getMessage());
+				break;
+			case WARNING:
+				ExtentReportManager.logWarning(event.getMessage());
+				break;
+			case SKIP:
+				ExtentReportManager.logSkip(event.getMessage());
+				break;
+			default:
+				if (event.hasScreenshot()) {
+					ExtentReportManager.logWithScreenshot(Status.INFO, event.getMessage(), event.getScreenshot());
+				} else {
+					ExtentReportManager.logInfo(event.getMessage());
+				}
+			}
+		}
+	}
+
+	/**
+	 * AllureSink - records finished actions, pass/fail steps and screenshots as Allure steps and
+	 * attachments; skipped outside an Allure test case.
+	 */
+	public static final class AllureSink implements StepSink {
+
+		@Override
+		public String getName() {
+			return "allure";
+		}
+
+		@Override
+		public boolean isEnabled(StepEvent event) {
+			switch (event.getKind()) {
+			case ACTION_START:
+			case INFO:
+				if (!event.hasScreenshot()) {
+					return false;
+				}
+				break;
+			default:
+				break;
+			}
+			return Allure.getLifecycle().getCurrentTestCase().isPresent();
+		}
+
+		@Override
+		public void accept(StepEvent event) {
+			if (event.getKind() != StepEvent.Kind.ACTION_START && event.getKind() != StepEvent.Kind.INFO) {
+				Allure.step(event.getMessage(), toAllureStatus(event.getKind()));
+			}
+			if (event.hasScreenshot()) {
+				byte[] png = event.getScreenshot();
+				if (png != null) {
+					Allure.addAttachment(event.isFailure() ? "Failure screenshot" : "Screenshot", "image/png",
+							new ByteArrayInputStream(png), "png");
+					FailureEvidence.attachedToAllure(png);
+				}
+			}
+		}
+
+		private static io.qameta.allure.model.Status toAllureStatus(StepEvent.Kind kind) {
+			switch (kind) {
+			case ACTION_FAIL:
+			case FAIL:
+				return io.qameta.allure.model.Status.FAILED;
+			case WARNING:
+				return io.qameta.allure.model.Status.BROKEN;
+			case SKIP:
+				return io.qameta.allure.model.Status.SKIPPED;
+			default:
+				return io.qameta.allure.model.Status.PASSED;
+			}
+		}
+	}
+
+	/**
+	 * JsonlSink - feeds keyword timings to the live {@link ResultsEventStream}.
+	 */
+	public static final class JsonlSink implements StepSink {
+
+		@Override
+		public String getName() {
+			return "jsonl";
+		}
+
+		@Override
+		public boolean isEnabled(StepEvent event) {
+			switch (event.getKind()) {
+			case ACTION_START:
+			case ACTION_PASS:
+			case ACTION_FAIL:
+				return ResultsEventStream.isRunning();
+			default:
+				return false;
+			}
+		}
+
+		@Override
+		public void accept(StepEvent event) {
+			if (event.getKind() == StepEvent.Kind.ACTION_START) {
+				ResultsEventStream.actionStarted();
+			} else {
+				ResultsEventStream.actionFinished(event.getAction(), event.getElement(),
+						event.getKind() == StepEvent.Kind.ACTION_PASS);
+			}
+		}
+	}
+}
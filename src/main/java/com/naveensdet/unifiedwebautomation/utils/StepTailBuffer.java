@@ -0,0 +1,117 @@
+package com.naveensdet.unifiedwebautomation.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.aventstack.extentreports.Status;
+
+/**
+ * StepTailBuffer - fixed-size ring of the most recent keyword steps of one test.
+ *
+ * Used by {@link ExtentReportManager} in 'tail' step mode: routine start/success steps are kept
+ * here instead of the report. A passing test gets a one-line summary; a failing or skipped test
+ * gets the buffered tail with timings. Not thread-safe - one instance per test thread.
+ */
+public final class StepTailBuffer {
+
+	private final Step[] ring;
+	private final long testStartMillis;
+	private int next;
+	private int size;
+	private long total;
+	private long passed;
+
+	/**
+	 * @param capacity Number of most recent steps kept.
+	 */
+	public StepTailBuffer(int capacity) {
+		this.ring = new Step[Math.max(1, capacity)];
+		this.testStartMillis = System.currentTimeMillis();
+	}
+
+	/** Records a step, overwriting the oldest one when full. */
+	public void add(Status status, String message) {
+		ring[next] = new Step(status, message, System.currentTimeMillis());
+		next = (next + 1) % ring.length;
+		if (size < ring.length) {
+			size++;
+		}
+		total++;
+		if (status == Status.PASS) {
+			passed++;
+		}
+	}
+
+	/** True when no steps are buffered. */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/** Steps recorded since the buffer was created or last drained (including overwritten ones). */
+	public long getTotal() {
+		return total;
+	}
+
+	/** PASS steps recorded since the buffer was created or last drained. */
+	public long getPassed() {
+		return passed;
+	}
+
+	/** Milliseconds since the test started. */
+	public long elapsedMillis() {
+		return System.currentTimeMillis() - testStartMillis;
+	}
+
+	/**
+	 * Returns the buffered steps, oldest first, and empties the buffer.
+	 */
+	public List<Step> drain() {
+		List<Step> steps = new ArrayList<>(size);
+		int start = (next - size + ring.length) % ring.length;
+		for (int i = 0; i < size; i++) {
+			int index = (start + i) % ring.length;
+			steps.add(ring[index]);
+			ring[index] = null;
+		}
+		size = 0;
+		next = 0;
+		total = 0;
+		passed = 0;
+		return steps;
+	}
+
+	/**
+	 * Formats a buffered step with its offset from the test start, e.g. "[+1532 ms] 🔄 Click on Login".
+	 */
+	public String format(Step step) {
+		return "[+" + (step.timestampMillis - testStartMillis) + " ms] " + step.message;
+	}
+
+	/**
+	 * Step - one immutable buffered step.
+	 */
+	public static final class Step {
+
+		private final Status status;
+		private final String message;
+		private final long timestampMillis;
+
+		private Step(Status status, String message, long timestampMillis) {
+			this.status = status;
+			this.message = message;
+			this.timestampMillis = timestampMillis;
+		}
+
+		public Status getStatus() {
+			return status;
+		}
+
+		public String getMessage() {
+			return message;
+		}
+
+		public long getTimestampMillis() {
+			return timestampMillis;
+		}
+	}
+}
@@ -0,0 +1,151 @@
+package com.naveensdet.unifiedwebautomation.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * StreamingExcelWriter - writes large .xlsx files through SXSSF with a bounded row window.
+ *
+ * Only the last {@code rowWindow} rows are kept in memory; older rows are flushed to compressed
+ * temp files which are removed on {@link #close()}. Rows can be appended from several test threads
+ * while the run is in progress; the workbook is written to a temp file next to the target and
+ * moved into place on close, so a half-written file never replaces a good one.
+ */
+public class StreamingExcelWriter implements Closeable {
+
+	private static final Logger logger = LoggerFactory.getLogger(StreamingExcelWriter.class);
+
+	/** Default number of rows held in memory before flushing to disk. */
+	public static final int DEFAULT_ROW_WINDOW = 100;
+
+	private final Path target;
+	private final String sheetName;
+	private final List<String> headers;
+	private final SXSSFWorkbook workbook;
+	private final SXSSFSheet sheet;
+	private int nextRow;
+	private boolean closed;
+
+	/**
+	 * @param filePath  Target .xlsx path (overwritten on close).
+	 * @param sheetName Name of the sheet to create.
+	 * @param headers   Column headers, in output order.
+	 * @param rowWindow Rows kept in memory; values below 1 use {@link #DEFAULT_ROW_WINDOW}.
+	 */
+	public StreamingExcelWriter(String filePath, String sheetName, List<String> headers, int rowWindow) {
+		if (filePath == null || filePath.trim().isEmpty()) {
+			throw new FrameworkException("Excel File Path cannot be null or empty");
+		}
+		if (sheetName == null || sheetName.trim().isEmpty()) {
+			throw new FrameworkException("Sheet Name cannot be null or empty");
+		}
+		if (headers == null || headers.isEmpty()) {
+			throw new FrameworkException("Excel headers cannot be null or empty");
+		}
+
+		this.target = Paths.get(filePath);
+		this.sheetName = sheetName;
+		this.headers = Collections.unmodifiableList(new ArrayList<>(headers));
+		this.workbook = new SXSSFWorkbook(rowWindow > 0 ? rowWindow : DEFAULT_ROW_WINDOW);
+		this.workbook.setCompressTempFiles(true);
+		this.sheet = workbook.createSheet(sheetName);
+
+		Row headerRow = sheet.createRow(nextRow++);
+		for (int i = 0; i < this.headers.size(); i++) {
+			headerRow.createCell(i).setCellValue(this.headers.get(i));
+		}
+	}
+
+	/**
+	 * Appends one row; values are matched to headers by key, missing keys are left blank.
+	 * Safe to call from multiple threads.
+	 */
+	public synchronized void appendRow(Map<String, String> rowData) {
+		if (closed) {
+			throw new FrameworkException("Excel writer for '" + target + "' is already closed");
+		}
+		if (rowData == null) {
+			return;
+		}
+		Row row = sheet.createRow(nextRow++);
+		for (int i = 0; i < headers.size(); i++) {
+			String value = rowData.get(headers.get(i));
+			if (value != null) {
+				Cell cell = row.createCell(i);
+				cell.setCellValue(value);
+			}
+		}
+	}
+
+	/**
+	 * Appends every row supplied by the iterator.
+	 *
+	 * @return Number of rows appended.
+	 */
+	public long appendRows(Iterator<Map<String, String>> rows) {
+		long count = 0;
+		while (rows.hasNext()) {
+			appendRow(rows.next());
+			count++;
+		}
+		return count;
+	}
+
+	/** Number of data rows appended so far. */
+	public synchronized int getRowCount() {
+		return nextRow - 1;
+	}
+
+	/** Target file path. */
+	public Path getTarget() {
+		return target;
+	}
+
+	/**
+	 * Writes the workbook to the target file and deletes SXSSF temp files.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+
+		File parent = target.toAbsolutePath().getParent().toFile();
+		if (!parent.exists()) {
+			parent.mkdirs();
+		}
+		Path partial = target.resolveSibling(target.getFileName() + ".part");
+		try {
+			try (OutputStream out = Files.newOutputStream(partial)) {
+				workbook.write(out);
+			}
+			Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+			logger.info("Wrote {} rows to Excel sheet '{}' in file {}", nextRow - 1, sheetName, target);
+		} finally {
+			if (!workbook.dispose()) {
+				logger.warn("Could not delete all SXSSF temp files for {}", target);
+			}
+			workbook.close();
+			Files.deleteIfExists(partial);
+		}
+	}
+}
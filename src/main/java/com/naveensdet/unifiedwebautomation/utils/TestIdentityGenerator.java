@@ -0,0 +1,207 @@
+package com.naveensdet.unifiedwebautomation.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * TestIdentityGenerator - lock-free source of unique test identities (emails, names, phone numbers).
+ *
+ * Values are derived from a run id, the calling thread and a global {@link AtomicLong} sequence,
+ * so parallel threads and retries never register the same user. Each thread holds one "current"
+ * identity for the running test (cleared in teardown), which keeps e.g. the email entered at signup
+ * identical to the one verified later in the same test.
+ *
+ * Test data cells or literal inputs can use placeholders, resolved by {@link #resolve(String)}:
+ * <pre>
+ * {{email}} {{name}} {{firstName}} {{lastName}} {{phone}} - current test identity
+ * {{runId}} {{thread}} {{seq}}                            - raw parts ({{seq}} is fresh on every use)
+ * e.g. "qa+{{runId}}-{{seq}}@example.com"
+ * </pre>
+ */
+public final class TestIdentityGenerator {
+
+	private static final Logger logger = LoggerFactory.getLogger(TestIdentityGenerator.class);
+
+	private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{\\s*(\\w+)\\s*}}");
+	private static final AtomicLong SEQUENCE = new AtomicLong();
+	private static final ThreadLocal<Identity> CURRENT = new ThreadLocal<>();
+
+	private static final String RUN_ID = initRunId();
+	// Spreads runs over the phone range; the int hash times a small prime cannot overflow a long
+	private static final long PHONE_OFFSET = Math.floorMod(RUN_ID.hashCode() * 7919L, 1_000_000_000L);
+
+	// Private constructor to prevent instantiation
+	private TestIdentityGenerator() {
+		throw new AssertionError("Utility class should not be instantiated");
+	}
+
+	/** Short id of this run ('identity.runId' in config, otherwise derived from the start time). */
+	public static String getRunId() {
+		return RUN_ID;
+	}
+
+	/** Next value of the run-wide sequence. */
+	public static long nextSequence() {
+		return SEQUENCE.incrementAndGet();
+	}
+
+	/** Returns a fresh unique email address, e.g. {@code qa.lx3k9a.t12.42@example.com}. */
+	public static String uniqueEmail() {
+		return buildEmail(nextSequence());
+	}
+
+	/** Returns a fresh unique alphabetic name, e.g. {@code TestUserBq}. */
+	public static String uniqueName() {
+		return buildFirstName(nextSequence());
+	}
+
+	/** Returns a fresh unique 10-digit phone number. */
+	public static String uniquePhone() {
+		return buildPhone(nextSequence());
+	}
+
+	/**
+	 * Returns the identity of the test running on this thread, creating it on first use.
+	 */
+	public static Identity currentIdentity() {
+		Identity identity = CURRENT.get();
+		if (identity == null) {
+			identity = new Identity(nextSequence());
+			CURRENT.set(identity);
+			logger.debug("Generated test identity {} on Thread-{}", identity.getEmail(), Thread.currentThread().getId());
+		}
+		return identity;
+	}
+
+	/** Drops this thread's identity so the next test (or retry) gets a new one. */
+	public static void clearIdentity() {
+		CURRENT.remove();
+	}
+
+	/**
+	 * Replaces identity placeholders in a value. Values without "{{" are returned unchanged, and so
+	 * are unknown placeholders, since literal inputs may legitimately contain "{{...}}".
+	 */
+	public static String resolve(String template) {
+		if (template == null || template.indexOf("{{") < 0) {
+			return template;
+		}
+		Matcher matcher = PLACEHOLDER.matcher(template);
+		StringBuilder sb = new StringBuilder(template.length() + 32);
+		while (matcher.find()) {
+			String value = valueOf(matcher.group(1));
+			if (value == null) {
+				logger.debug("Leaving unknown placeholder {} unchanged", matcher.group());
+			}
+			matcher.appendReplacement(sb, Matcher.quoteReplacement(value != null ? value : matcher.group()));
+		}
+		matcher.appendTail(sb);
+		return sb.toString();
+	}
+
+	private static String valueOf(String token) {
+		switch (token) {
+		case "email":
+			return currentIdentity().getEmail();
+		case "name":
+			return currentIdentity().getName();
+		case "firstName":
+			return currentIdentity().getFirstName();
+		case "lastName":
+			return currentIdentity().getLastName();
+		case "phone":
+			return currentIdentity().getPhone();
+		case "runId":
+			return RUN_ID;
+		case "thread":
+			return String.valueOf(Thread.currentThread().getId());
+		case "seq":
+			return String.valueOf(nextSequence());
+		default:
+			return null;
+		}
+	}
+
+	private static String buildEmail(long seq) {
+		String prefix = ConfigManager.getProperty("identity.emailPrefix", "qa");
+		String domain = ConfigManager.getProperty("identity.emailDomain", "example.com");
+		return prefix + "." + RUN_ID + ".t" + Thread.currentThread().getId() + "." + seq + "@" + domain;
+	}
+
+	private static String buildFirstName(long seq) {
+		return "TestUser" + toLetters(seq);
+	}
+
+	private static String buildPhone(long seq) {
+		return "9" + String.format("%09d", Math.floorMod(PHONE_OFFSET + seq, 1_000_000_000L));
+	}
+
+	/** Encodes a number in base 26 using letters only (capitalized), for name fields that reject digits. */
+	private static String toLetters(long value) {
+		StringBuilder sb = new StringBuilder();
+		do {
+			sb.append((char) ('a' + (value % 26)));
+			value /= 26;
+		} while (value > 0);
+		sb.reverse();
+		sb.setCharAt(0, Character.toUpperCase(sb.charAt(0)));
+		return sb.toString();
+	}
+
+	private static String initRunId() {
+		String configured = ConfigManager.getProperty("identity.runId", "");
+		if (configured != null && configured.trim().matches("[0-9A-Za-z]{1,10}")) {
+			return configured.trim().toLowerCase();
+		}
+		return Long.toString(System.currentTimeMillis() / 1000L, 36);
+	}
+
+	/**
+	 * Identity - one generated user; all fields derive from the same sequence number.
+	 */
+	public static final class Identity {
+
+		private final long sequence;
+		private final String email;
+		private final String firstName;
+		private final String lastName;
+		private final String phone;
+
+		private Identity(long sequence) {
+			this.sequence = sequence;
+			this.email = buildEmail(sequence);
+			this.firstName = buildFirstName(sequence);
+			this.lastName = "Run" + toLetters(Long.parseLong(RUN_ID, 36) % 100_000L);
+			this.phone = buildPhone(sequence);
+		}
+
+		public long getSequence() {
+			return sequence;
+		}
+
+		public String getEmail() {
+			return email;
+		}
+
+		/** Display name, "firstName lastName". */
+		public String getName() {
+			return firstName + " " + lastName;
+		}
+
+		public String getFirstName() {
+			return firstName;
+		}
+
+		public String getLastName() {
+			return lastName;
+		}
+
+		public String getPhone() {
+			return phone;
+		}
+	}
+}
@@ -0,0 +1,390 @@
+package com.naveensdet.unifiedwebautomation.utils;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import javax.imageio.ImageIO;
+
+/**
+ * VisualDiff - compares a screenshot against a baseline image, tile by tile.
+ *
+ * Both images are split into square tiles ('visual.tileSize' px). Each tile gets a 64-bit hash of
+ * its pixels with the channel bits below the tolerance dropped, so two tiles with equal hashes
+ * differ by at most the tolerance in every pixel and are skipped without a pixel diff; only tiles
+ * whose hash changed (or that overlap an ignore region) are compared pixel by pixel. The baseline's
+ * pixels and tile hashes are kept in a {@link Snapshot}, so an unchanged page costs one pass over
+ * the new screenshot. Tile rows are compared in parallel on the common fork-join pool and the
+ * per-pixel loops allocate nothing; a diff image is only drawn when a caller asks for it.
+ */
+public final class VisualDiff {
+
+	private static final int TILE_SIZE = Math.max(16, ConfigManager.getIntProperty("visual.tileSize", 64));
+	private static final boolean PARALLEL =
+			Boolean.parseBoolean(ConfigManager.getProperty("visual.parallel", "true"));
+
+	// Below this many pixels the fork-join hand-off costs more than it saves
+	private static final int PARALLEL_MIN_PIXELS = 256 * 256;
+
+	private static final int DIFF_COLOUR = 0xFF0000;
+	private static final int IGNORED_COLOUR = 0x3060C0;
+
+	// Private constructor to prevent instantiation
+	private VisualDiff() {
+		throw new AssertionError("Utility class should not be instantiated");
+	}
+
+	/**
+	 * Compares a screenshot with a baseline, in parallel when 'visual.parallel' is on.
+	 *
+	 * @param baseline      Baseline snapshot (its tolerance applies).
+	 * @param actual        Screenshot to check.
+	 * @param ignoreRegions Areas left out of the comparison, in image pixels; may be null.
+	 * @return Comparison result.
+	 */
+	public static Result compare(Snapshot baseline, BufferedImage actual, List<Rectangle> ignoreRegions) {
+		return compare(baseline, actual, ignoreRegions, PARALLEL);
+	}
+
+	/**
+	 * Compares a screenshot with a baseline.
+	 *
+	 * @param baseline      Baseline snapshot (its tolerance applies).
+	 * @param actual        Screenshot to check.
+	 * @param ignoreRegions Areas left out of the comparison, in image pixels; may be null.
+	 * @param parallel      Compare tile rows on the common fork-join pool.
+	 * @return Comparison result.
+	 */
+	public static Result compare(Snapshot baseline, BufferedImage actual, List<Rectangle> ignoreRegions, boolean parallel) {
+		if (baseline == null || actual == null) {
+			throw new FrameworkException("Baseline and actual image are required for a visual comparison");
+		}
+		int width = actual.getWidth();
+		int height = actual.getHeight();
+		int[] pixels = pixels(actual);
+		if (width != baseline.width || height != baseline.height) {
+			return new Result(baseline, pixels, width, height, new int[0], 0, 0, true, toArray(ignoreRegions, width, height));
+		}
+
+		int[] ignore = toArray(ignoreRegions, width, height);
+		int[] tileDiffs = new int[baseline.tileHashes.length];
+		IntStream rows = IntStream.range(0, baseline.tileRows);
+		if (parallel && baseline.tileRows > 1 && (long) width * height >= PARALLEL_MIN_PIXELS) {
+			rows = rows.parallel();
+		}
+		rows.forEach(row -> compareRow(baseline, pixels, ignore, row, tileDiffs));
+
+		long mismatched = 0;
+		int changedTiles = 0;
+		for (int diff : tileDiffs) {
+			if (diff != 0) {
+				mismatched += diff;
+				changedTiles++;
+			}
+		}
+		return new Result(baseline, pixels, width, height, tileDiffs, mismatched, changedTiles, false, ignore);
+	}
+
+	private static void compareRow(Snapshot baseline, int[] actual, int[] ignore, int row, int[] tileDiffs) {
+		int y0 = row * TILE_SIZE;
+		int y1 = Math.min(baseline.height, y0 + TILE_SIZE);
+		for (int column = 0; column < baseline.tileColumns; column++) {
+			int x0 = column * TILE_SIZE;
+			int x1 = Math.min(baseline.width, x0 + TILE_SIZE);
+			int tile = row * baseline.tileColumns + column;
+			boolean ignored = overlaps(ignore, x0, y0, x1, y1);
+			if (!ignored && tileHash(actual, baseline.width, x0, y0, x1, y1, baseline.mask) == baseline.tileHashes[tile]) {
+				continue;
+			}
+			tileDiffs[tile] = diffTile(baseline.pixels, actual, baseline.width, x0, y0, x1, y1,
+					baseline.tolerance, ignored ? ignore : null);
+		}
+	}
+
+	/** Number of pixels in the tile where any colour channel differs by more than the tolerance. */
+	private static int diffTile(int[] expected, int[] actual, int width, int x0, int y0, int x1, int y1,
+			int tolerance, int[] ignore) {
+		int count = 0;
+		for (int y = y0; y < y1; y++) {
+			int offset = y * width;
+			for (int x = x0; x < x1; x++) {
+				int a = expected[offset + x];
+				int b = actual[offset + x];
+				if (((a ^ b) & 0xFFFFFF) == 0 || !exceeds(a, b, tolerance)) {
+					continue;
+				}
+				if (ignore == null || !inside(ignore, x, y)) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	private static boolean exceeds(int a, int b, int tolerance) {
+		return Math.abs(((a >> 16) & 0xFF) - ((b >> 16) & 0xFF)) > tolerance
+				|| Math.abs(((a >> 8) & 0xFF) - ((b >> 8) & 0xFF)) > tolerance
+				|| Math.abs((a & 0xFF) - (b & 0xFF)) > tolerance;
+	}
+
+	/**
+	 * FNV-style hash of a tile with the low bits of every channel masked off. Pixels that land in the
+	 * same bucket differ by at most the tolerance, so equal hashes mean the tile is within tolerance.
+	 */
+	private static long tileHash(int[] pixels, int width, int x0, int y0, int x1, int y1, int mask) {
+		long hash = 0xcbf29ce484222325L;
+		for (int y = y0; y < y1; y++) {
+			int offset = y * width;
+			for (int x = x0; x < x1; x++) {
+				hash = (hash ^ (pixels[offset + x] & mask)) * 0x100000001b3L;
+			}
+		}
+		return hash ^ (hash >>> 29);
+	}
+
+	private static boolean overlaps(int[] ignore, int x0, int y0, int x1, int y1) {
+		for (int i = 0; i < ignore.length; i += 4) {
+			if (ignore[i] < x1 && ignore[i + 2] > x0 && ignore[i + 1] < y1 && ignore[i + 3] > y0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean inside(int[] ignore, int x, int y) {
+		for (int i = 0; i < ignore.length; i += 4) {
+			if (x >= ignore[i] && x < ignore[i + 2] && y >= ignore[i + 1] && y < ignore[i + 3]) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/** Ignore regions clipped to the image as a flat x0, y0, x1, y1 array. */
+	private static int[] toArray(List<Rectangle> regions, int width, int height) {
+		List<Rectangle> list = regions == null ? Collections.<Rectangle>emptyList() : regions;
+		int[] bounds = new int[list.size() * 4];
+		int n = 0;
+		for (Rectangle region : list) {
+			Rectangle clipped = region.intersection(new Rectangle(0, 0, width, height));
+			if (!clipped.isEmpty()) {
+				bounds[n++] = clipped.x;
+				bounds[n++] = clipped.y;
+				bounds[n++] = clipped.x + clipped.width;
+				bounds[n++] = clipped.y + clipped.height;
+			}
+		}
+		return n == bounds.length ? bounds : Arrays.copyOf(bounds, n);
+	}
+
+	/**
+	 * RGB pixels of an image. INT_RGB/INT_ARGB images are read in place; other types are converted
+	 * once.
+	 */
+	private static int[] pixels(BufferedImage image) {
+		int type = image.getType();
+		if ((type == BufferedImage.TYPE_INT_RGB || type == BufferedImage.TYPE_INT_ARGB)
+				&& image.getRaster().getDataBuffer() instanceof DataBufferInt
+				&& image.getRaster().getParent() == null) {
+			return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+		}
+		int width = image.getWidth();
+		int height = image.getHeight();
+		return image.getRGB(0, 0, width, height, new int[width * height], 0, width);
+	}
+
+	/** Channel mask keeping the bits above the tolerance, e.g. tolerance 8 keeps the top 5 bits. */
+	private static int maskFor(int tolerance) {
+		int dropped = 0;
+		while (dropped < 8 && (1 << (dropped + 1)) - 1 <= tolerance) {
+			dropped++;
+		}
+		int channel = (0xFF << dropped) & 0xFF;
+		return (channel << 16) | (channel << 8) | channel;
+	}
+
+	/**
+	 * Snapshot - a baseline image prepared for comparison: its pixels and per-tile hashes.
+	 */
+	public static final class Snapshot {
+
+		private final int width;
+		private final int height;
+		private final int tileColumns;
+		private final int tileRows;
+		private final int tolerance;
+		private final int mask;
+		private final int[] pixels;
+		private final long[] tileHashes;
+
+		private Snapshot(BufferedImage image, int tolerance) {
+			this.width = image.getWidth();
+			this.height = image.getHeight();
+			this.tileColumns = (width + TILE_SIZE - 1) / TILE_SIZE;
+			this.tileRows = (height + TILE_SIZE - 1) / TILE_SIZE;
+			this.tolerance = Math.max(0, Math.min(255, tolerance));
+			this.mask = maskFor(this.tolerance);
+			this.pixels = pixels(image);
+			this.tileHashes = new long[tileColumns * tileRows];
+			for (int row = 0; row < tileRows; row++) {
+				for (int column = 0; column < tileColumns; column++) {
+					tileHashes[row * tileColumns + column] = tileHash(pixels, width, column * TILE_SIZE, row * TILE_SIZE,
+							Math.min(width, (column + 1) * TILE_SIZE), Math.min(height, (row + 1) * TILE_SIZE), mask);
+				}
+			}
+		}
+
+		/**
+		 * Prepares a baseline image.
+		 *
+		 * @param image     Baseline image; INT_RGB/INT_ARGB images are used in place and must not change.
+		 * @param tolerance Largest per-channel difference (0-255) still counted as equal.
+		 */
+		public static Snapshot of(BufferedImage image, int tolerance) {
+			if (image == null) {
+				throw new FrameworkException("Baseline image cannot be null");
+			}
+			return new Snapshot(image, tolerance);
+		}
+
+		public int getWidth() {
+			return width;
+		}
+
+		public int getHeight() {
+			return height;
+		}
+
+		public int getTolerance() {
+			return tolerance;
+		}
+	}
+
+	/**
+	 * Result - outcome of one comparison.
+	 */
+	public static final class Result {
+
+		private final Snapshot baseline;
+		private final int[] actual;
+		private final int width;
+		private final int height;
+		private final int[] tileDiffs;
+		private final long mismatchedPixels;
+		private final int changedTiles;
+		private final boolean sizeMismatch;
+		private final int[] ignore;
+
+		private Result(Snapshot baseline, int[] actual, int width, int height, int[] tileDiffs,
+				long mismatchedPixels, int changedTiles, boolean sizeMismatch, int[] ignore) {
+			this.baseline = baseline;
+			this.actual = actual;
+			this.width = width;
+			this.height = height;
+			this.tileDiffs = tileDiffs;
+			this.mismatchedPixels = mismatchedPixels;
+			this.changedTiles = changedTiles;
+			this.sizeMismatch = sizeMismatch;
+			this.ignore = ignore;
+		}
+
+		/** True when the screenshot and the baseline have different dimensions. */
+		public boolean isSizeMismatch() {
+			return sizeMismatch;
+		}
+
+		public long getMismatchedPixels() {
+			return mismatchedPixels;
+		}
+
+		/** Mismatched pixels as a fraction of the image (1.0 when the sizes differ). */
+		public double getMismatchRatio() {
+			return sizeMismatch ? 1.0 : (double) mismatchedPixels / ((long) width * height);
+		}
+
+		public int getChangedTiles() {
+			return changedTiles;
+		}
+
+		public int getTotalTiles() {
+			return baseline.tileHashes.length;
+		}
+
+		/**
+		 * True when the screenshot matches: same size and at most the given fraction of pixels differ.
+		 */
+		public boolean matches(double maxMismatchRatio) {
+			return !sizeMismatch && getMismatchRatio() <= maxMismatchRatio;
+		}
+
+		/** One-line summary for logs and reports. */
+		public String describe() {
+			if (sizeMismatch) {
+				return String.format("size %dx%d differs from baseline %dx%d", width, height, baseline.width, baseline.height);
+			}
+			return String.format("%,d pixels differ (%.3f%%) in %d of %d tiles", mismatchedPixels,
+					getMismatchRatio() * 100, changedTiles, getTotalTiles());
+		}
+
+		/**
+		 * Draws the diff image: the screenshot faded to grey, differing pixels in red and ignored
+		 * regions tinted blue. For a size mismatch this is the screenshot itself.
+		 *
+		 * @return PNG bytes.
+		 */
+		public byte[] toDiffPng() {
+			BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+			int[] out = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+			if (sizeMismatch) {
+				System.arraycopy(actual, 0, out, 0, out.length);
+			} else {
+				for (int i = 0; i < out.length; i++) {
+					int p = actual[i];
+					int grey = (((p >> 16) & 0xFF) + ((p >> 8) & 0xFF) + (p & 0xFF)) / 9 + 170;
+					out[i] = (grey << 16) | (grey << 8) | grey;
+				}
+				for (int i = 0; i < ignore.length; i += 4) {
+					for (int y = ignore[i + 1]; y < ignore[i + 3]; y++) {
+						for (int x = ignore[i]; x < ignore[i + 2]; x++) {
+							out[y * width + x] = (out[y * width + x] >> 1 & 0x7F7F7F) + (IGNORED_COLOUR >> 1 & 0x7F7F7F);
+						}
+					}
+				}
+				markDifferences(out);
+			}
+			try {
+				ByteArrayOutputStream png = new ByteArrayOutputStream();
+				ImageIO.write(image, "png", png);
+				return png.toByteArray();
+			} catch (IOException e) {
+				throw new FrameworkException("Could not encode visual diff image", e);
+			}
+		}
+
+		private void markDifferences(int[] out) {
+			for (int tile = 0; tile < tileDiffs.length; tile++) {
+				if (tileDiffs[tile] == 0) {
+					continue;
+				}
+				int x0 = (tile % baseline.tileColumns) * TILE_SIZE;
+				int y0 = (tile / baseline.tileColumns) * TILE_SIZE;
+				int x1 = Math.min(width, x0 + TILE_SIZE);
+				int y1 = Math.min(height, y0 + TILE_SIZE);
+				for (int y = y0; y < y1; y++) {
+					for (int x = x0; x < x1; x++) {
+						int i = y * width + x;
+						if (exceeds(baseline.pixels[i], actual[i], baseline.tolerance) && !inside(ignore, x, y)) {
+							out[i] = DIFF_COLOUR;
+						}
+					}
+				}
+			}
+		}
+	}
+}
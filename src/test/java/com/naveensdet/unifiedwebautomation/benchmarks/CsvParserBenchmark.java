@@ -0,0 +1,100 @@
+package com.naveensdet.unifiedwebautomation.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.naveensdet.unifiedwebautomation.utils.CsvParser;
+
+/**
+ * CsvParserBenchmark - throughput check for CsvParser against the old readLine()/split(",") approach.
+ *
+ * Generates an exported-results style CSV (quoted fields with embedded commas and quotes) of the
+ * requested size, parses it with both readers and prints MB/s. Run with:
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.mainClass=com.naveensdet.unifiedwebautomation.benchmarks.CsvParserBenchmark \
+ *     -Dexec.classpathScope=test -Dcsv.benchmark.sizeMb=1024
+ * </pre>
+ */
+public class CsvParserBenchmark {
+
+	public static void main(String[] args) throws IOException {
+		long sizeMb = Long.getLong("csv.benchmark.sizeMb", 1024L);
+		Path file = Files.createTempFile("csv-benchmark-", ".csv");
+
+		try {
+			long rows = generate(file, sizeMb * 1024 * 1024);
+			double mb = Files.size(file) / (1024.0 * 1024.0);
+			System.out.printf("Generated %,d rows (%.1f MB) at %s%n", rows, mb, file);
+
+			// Warm-up pass so both readers run JIT-compiled code
+			parseWithCsvParser(file);
+			parseWithSplit(file);
+
+			long start = System.nanoTime();
+			long parsed = parseWithCsvParser(file);
+			double csvSeconds = (System.nanoTime() - start) / 1e9;
+
+			start = System.nanoTime();
+			long split = parseWithSplit(file);
+			double splitSeconds = (System.nanoTime() - start) / 1e9;
+
+			System.out.printf("CsvParser : %,d rows in %.2f s (%.1f MB/s)%n", parsed, csvSeconds, mb / csvSeconds);
+			System.out.printf("split(\",\"): %,d rows in %.2f s (%.1f MB/s) - breaks on quoted commas%n",
+					split, splitSeconds, mb / splitSeconds);
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	private static long generate(Path file, long targetBytes) throws IOException {
+		long rows = 0;
+		long written = 0;
+		try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			String header = "TestCaseName,Status,Browser,DurationMs,Message\n";
+			writer.write(header);
+			written += header.length();
+			while (written < targetBytes) {
+				String line = "testCase_" + rows + ",PASS,chrome," + (rows % 5000)
+						+ ",\"Registered user, id " + rows + " with \"\"quoted\"\" name\"\n";
+				writer.write(line);
+				written += line.length();
+				rows++;
+			}
+		}
+		return rows;
+	}
+
+	private static long parseWithCsvParser(Path file) throws IOException {
+		long checksum = 0;
+		try (CsvParser parser = CsvParser.open(file, ',')) {
+			parser.readHeader();
+			String[] record;
+			long count = 0;
+			while ((record = parser.readRecord()) != null) {
+				checksum += record[4].length();
+				count++;
+			}
+			return checksum >= 0 ? count : -1;
+		}
+	}
+
+	private static long parseWithSplit(Path file) throws IOException {
+		long checksum = 0;
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			reader.readLine();
+			String line;
+			long count = 0;
+			while ((line = reader.readLine()) != null) {
+				String[] values = line.split(",");
+				checksum += values[values.length - 1].length();
+				count++;
+			}
+			return checksum >= 0 ? count : -1;
+		}
+	}
+}
@@ -0,0 +1,137 @@
+package com.naveensdet.unifiedwebautomation.benchmarks;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.slf4j.LoggerFactory;
+
+import com.naveensdet.unifiedwebautomation.base.BaseClass;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+
+/**
+ * KeywordLoggingBenchmark - logging cost of one keyword call (an action start/success pair) on the
+ * test thread.
+ *
+ * Compares the old path (message concatenated up front, then logger.info through a synchronous file
+ * appender) with BaseClass.logActionStart/logActionSuccess through a synchronous and an async
+ * appender, and with the framework logger switched off. Prints ns and allocated bytes per call. Run with:
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.mainClass=com.naveensdet.unifiedwebautomation.benchmarks.KeywordLoggingBenchmark \
+ *     -Dexec.classpathScope=test -Dlogging.benchmark.calls=200000
+ * </pre>
+ */
+public class KeywordLoggingBenchmark {
+
+	private static final String LOGGER_NAME = BaseClass.class.getName();
+	private static final String PATTERN = "%d{yyyy-MM-dd HH:mm:ss} [%thread] [%X{testId}] [%X{browser}] %-5level %logger{36} - %msg%n";
+
+	public static void main(String[] args) throws IOException {
+		int calls = Integer.getInteger("logging.benchmark.calls", 200_000);
+		Path logFile = Files.createTempFile("logging-benchmark-", ".log");
+		LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+		Logger logger = context.getLogger(LOGGER_NAME);
+		logger.setAdditive(false);
+
+		try {
+			System.out.printf("%,d keyword calls per scenario, log file %s%n", calls, logFile);
+
+			use(logger, syncFile(context, logFile), Level.INFO);
+			run("eager concat, sync appender ", calls, () -> eagerKeyword(logger, "Click", "Login button"));
+			run("step bus,     sync appender ", calls, () -> busKeyword("Click", "Login button"));
+
+			use(logger, asyncFile(context, logFile), Level.INFO);
+			run("eager concat, async appender", calls, () -> eagerKeyword(logger, "Click", "Login button"));
+			run("step bus,     async appender", calls, () -> busKeyword("Click", "Login button"));
+
+			use(logger, asyncFile(context, logFile), Level.WARN);
+			run("eager concat, INFO disabled ", calls, () -> eagerKeyword(logger, "Click", "Login button"));
+			run("step bus,     INFO disabled ", calls, () -> busKeyword("Click", "Login button"));
+		} finally {
+			logger.detachAndStopAllAppenders();
+			Files.deleteIfExists(logFile);
+		}
+	}
+
+	/** What keyword methods did before: both messages built and passed pre-formatted. */
+	private static void eagerKeyword(org.slf4j.Logger logger, String action, String element) {
+		String message = "🔄 " + action + " on " + element;
+		logger.info(message);
+		message = "✅ Successfully " + action.toLowerCase() + " on " + element;
+		logger.info(message);
+	}
+
+	private static void busKeyword(String action, String element) {
+		BaseClass.logActionStart(action, element);
+		BaseClass.logActionSuccess(action, element);
+	}
+
+	private static void run(String name, int calls, Runnable keyword) {
+		// Warm-up pass so every scenario runs JIT-compiled code
+		for (int i = 0; i < calls; i++) {
+			keyword.run();
+		}
+
+		long threadId = Thread.currentThread().getId();
+		long bytesBefore = allocatedBytes(threadId);
+		long start = System.nanoTime();
+		for (int i = 0; i < calls; i++) {
+			keyword.run();
+		}
+		long nanos = System.nanoTime() - start;
+		long bytes = allocatedBytes(threadId) - bytesBefore;
+
+		System.out.printf("%s: %,8.0f ns/call %,8d B/call%n", name, (double) nanos / calls, bytes / calls);
+	}
+
+	private static long allocatedBytes(long threadId) {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(threadId);
+		}
+		return 0L;
+	}
+
+	private static void use(Logger logger, Appender<ILoggingEvent> appender, Level level) {
+		logger.detachAndStopAllAppenders();
+		logger.addAppender(appender);
+		logger.setLevel(level);
+	}
+
+	private static FileAppender<ILoggingEvent> syncFile(LoggerContext context, Path file) {
+		PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+		encoder.setContext(context);
+		encoder.setPattern(PATTERN);
+		encoder.start();
+
+		FileAppender<ILoggingEvent> appender = new FileAppender<>();
+		appender.setContext(context);
+		appender.setFile(file.toString());
+		appender.setEncoder(encoder);
+		appender.start();
+		return appender;
+	}
+
+	private static AsyncAppender asyncFile(LoggerContext context, Path file) {
+		FileAppender<ILoggingEvent> target = syncFile(context, file);
+		target.setImmediateFlush(false);
+
+		AsyncAppender appender = new AsyncAppender();
+		appender.setContext(context);
+		appender.setQueueSize(8192);
+		appender.setDiscardingThreshold(0);
+		appender.addAppender(target);
+		appender.start();
+		return appender;
+	}
+}
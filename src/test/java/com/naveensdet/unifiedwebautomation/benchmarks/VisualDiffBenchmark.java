@@ -0,0 +1,121 @@
+package com.naveensdet.unifiedwebautomation.benchmarks;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import com.naveensdet.unifiedwebautomation.utils.VisualDiff;
+
+/**
+ * VisualDiffBenchmark - comparisons per minute of a 1920x1080 screenshot against its baseline.
+ *
+ * Draws a synthetic page (header, text blocks, images) and compares against it: an identical
+ * capture, one with anti-aliasing noise within the tolerance, one with a changed price label, and
+ * the same with the label in an ignore region. Each runs on one thread and, for the changed page,
+ * on the common fork-join pool. Decoding the PNG screenshot is not included. Run with:
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.mainClass=com.naveensdet.unifiedwebautomation.benchmarks.VisualDiffBenchmark \
+ *     -Dexec.classpathScope=test -Dvisual.benchmark.seconds=5
+ * </pre>
+ */
+public class VisualDiffBenchmark {
+
+	private static final int WIDTH = 1920;
+	private static final int HEIGHT = 1080;
+	private static final int TOLERANCE = 8;
+
+	public static void main(String[] args) {
+		long seconds = Long.getLong("visual.benchmark.seconds", 5L);
+
+		BufferedImage baselineImage = page("$19.99");
+		VisualDiff.Snapshot baseline = VisualDiff.Snapshot.of(baselineImage, TOLERANCE);
+		BufferedImage identical = page("$19.99");
+		BufferedImage noisy = withNoise(page("$19.99"), 3);
+		BufferedImage changed = page("$24.99");
+		List<Rectangle> priceRegion = Collections.singletonList(new Rectangle(1500, 400, 300, 80));
+
+		System.out.printf("%dx%d, tolerance %d, %d s per scenario, %d CPUs%n", WIDTH, HEIGHT, TOLERANCE,
+				seconds, Runtime.getRuntime().availableProcessors());
+		run("identical           1 thread", seconds, baseline, identical, null, false);
+		run("noise within tol.   1 thread", seconds, baseline, noisy, null, false);
+		run("changed price       1 thread", seconds, baseline, changed, null, false);
+		run("changed, ignored    1 thread", seconds, baseline, changed, priceRegion, false);
+		run("changed price       parallel", seconds, baseline, changed, null, true);
+
+		long start = System.nanoTime();
+		byte[] diff = VisualDiff.compare(baseline, changed, null, false).toDiffPng();
+		System.out.printf("diff image (only on failure): %,d bytes in %.1f ms%n", diff.length, (System.nanoTime() - start) / 1e6);
+	}
+
+	private static void run(String name, long seconds, VisualDiff.Snapshot baseline, BufferedImage actual,
+			List<Rectangle> ignore, boolean parallel) {
+		// Warm-up pass so every scenario runs JIT-compiled code
+		for (int i = 0; i < 50; i++) {
+			VisualDiff.compare(baseline, actual, ignore, parallel);
+		}
+
+		long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+		long start = System.nanoTime();
+		long comparisons = 0;
+		VisualDiff.Result result = null;
+		while (System.nanoTime() < deadline) {
+			result = VisualDiff.compare(baseline, actual, ignore, parallel);
+			comparisons++;
+		}
+		double elapsed = (System.nanoTime() - start) / 1e9;
+		System.out.printf("%s: %,8.0f comparisons/min %6.2f ms each - %s%n", name, comparisons * 60 / elapsed,
+				elapsed * 1000 / comparisons, result.describe());
+	}
+
+	/** A page-like image: header bar, paragraphs of text, image blocks and a price label. */
+	private static BufferedImage page(String price) {
+		BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = image.createGraphics();
+		try {
+			g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+			g.setColor(Color.WHITE);
+			g.fillRect(0, 0, WIDTH, HEIGHT);
+			g.setColor(new Color(0x1F3A5F));
+			g.fillRect(0, 0, WIDTH, 80);
+			g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 16));
+			g.setColor(new Color(0x333333));
+			for (int line = 0; line < 40; line++) {
+				g.drawString("Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor " + line,
+						60, 140 + line * 22);
+			}
+			Random random = new Random(42);
+			for (int block = 0; block < 6; block++) {
+				g.setColor(new Color(random.nextInt(0xFFFFFF)));
+				g.fillRect(900 + (block % 3) * 180, 140 + (block / 3) * 180, 160, 160);
+			}
+			g.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 48));
+			g.setColor(new Color(0xC0392B));
+			g.drawString(price, 1520, 460);
+		} finally {
+			g.dispose();
+		}
+		return image;
+	}
+
+	private static BufferedImage withNoise(BufferedImage image, int amplitude) {
+		Random random = new Random(7);
+		for (int i = 0; i < 20_000; i++) {
+			int x = random.nextInt(WIDTH);
+			int y = random.nextInt(HEIGHT);
+			int rgb = image.getRGB(x, y);
+			int shift = random.nextInt(2 * amplitude + 1) - amplitude;
+			int r = Math.max(0, Math.min(255, ((rgb >> 16) & 0xFF) + shift));
+			int gr = Math.max(0, Math.min(255, ((rgb >> 8) & 0xFF) + shift));
+			int b = Math.max(0, Math.min(255, (rgb & 0xFF) + shift));
+			image.setRGB(x, y, (r << 16) | (gr << 8) | b);
+		}
+		return image;
+	}
+}